@@ -0,0 +1,7 @@
+-- One database per service, owned by the shared application role.
+-- Tables and indexes are created by each service's Flyway migrations.
+CREATE DATABASE blockbid_user OWNER blockbid;
+CREATE DATABASE blockbid_item OWNER blockbid;
+CREATE DATABASE blockbid_auction OWNER blockbid;
+CREATE DATABASE blockbid_payment OWNER blockbid;
+CREATE DATABASE blockbid_blockchain OWNER blockbid;
@@ -1,14 +1,21 @@
 package com.blockbid.apigateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebClientConfig {
 
+    // Proxied bodies are buffered; bulk endpoints (e.g. proof verification) exceed the 256 KB default
+    @Value("${gateway.proxy.max-in-memory-bytes:4194304}")
+    private int maxInMemoryBytes;
+
+    // A customizer rather than a WebClient.Builder bean, so Boot's builder keeps its
+    // observation support (trace propagation and http.client.requests timing)
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClientCustomizer proxyBufferLimitCustomizer() {
+        return builder -> builder.codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxInMemoryBytes));
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,25 @@
 package com.blockbid.apigateway.controller;
 
+import com.blockbid.apigateway.security.JwtAuthenticationFilter;
+import com.blockbid.apigateway.security.VerifiedToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,6 +29,9 @@ public class ApiProxyController {
 
     @Autowired
     private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
     
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -25,10 +40,18 @@ public class ApiProxyController {
     public ResponseEntity<?> proxyUserService(HttpServletRequest request, 
                                              @RequestBody(required = false) Map<String, Object> body,
                                              @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        // /internal/** is for service-to-service calls only; the servlet path is decoded and
+        // normalized, so encoded or dot-segment variants of the prefix are caught too
+        String servletPath = request.getServletPath();
+        if (servletPath.equals("/api/users/internal") || servletPath.startsWith("/api/users/internal/")) {
+            return ResponseEntity.notFound().build();
+        }
         String path = request.getRequestURI().replace("/api/users", "");
         if (path.isEmpty()) path = "/";
+        path = withQueryString(path, request);
         
-        return proxyRequest("http://user-service:8081" + path, request.getMethod(), body, null);
+        return proxyRequest("http://user-service:8081" + path, request.getMethod(), body, null,
+                            JwtAuthenticationFilter.getVerifiedToken(request), forwardedFor(request));
     }
 
     // Item Service Proxy  
@@ -38,8 +61,10 @@ public class ApiProxyController {
                                              @RequestHeader(value = "Authorization", required = false) String authHeader) {
         String path = request.getRequestURI().replace("/api/items", "");
         if (path.isEmpty()) path = "/";
+        path = withQueryString(path, request);
         
-        return proxyRequest("http://item-service:8082" + path, request.getMethod(), body, authHeader);
+        return proxyRequest("http://item-service:8082" + path, request.getMethod(), body, authHeader,
+                            JwtAuthenticationFilter.getVerifiedToken(request), forwardedFor(request));
     }
 
     // Auction Service Proxy
@@ -49,8 +74,10 @@ public class ApiProxyController {
                                                 @RequestHeader(value = "Authorization", required = false) String authHeader) {
         String path = request.getRequestURI().replace("/api/auctions", "");
         if (path.isEmpty()) path = "/";
+        path = withQueryString(path, request);
         
-        return proxyRequest("http://auction-service:8083" + path, request.getMethod(), body, authHeader);
+        return proxyRequest("http://auction-service:8083" + path, request.getMethod(), body, authHeader,
+                            JwtAuthenticationFilter.getVerifiedToken(request), forwardedFor(request));
     }
 
     // Payment Service Proxy
@@ -60,8 +87,10 @@ public class ApiProxyController {
                                                 @RequestHeader(value = "Authorization", required = false) String authHeader) {
         String path = request.getRequestURI().replace("/api/payments", "");
         if (path.isEmpty()) path = "/";
+        path = withQueryString(path, request);
         
-        return proxyRequest("http://payment-service:8084" + path, request.getMethod(), body, authHeader);
+        return proxyRequest("http://payment-service:8084" + path, request.getMethod(), body, authHeader,
+                            JwtAuthenticationFilter.getVerifiedToken(request), forwardedFor(request));
     }
 
     // Blockchain Service Proxy
@@ -71,12 +100,69 @@ public class ApiProxyController {
                                                    @RequestHeader(value = "Authorization", required = false) String authHeader) {
         String path = request.getRequestURI().replace("/api/blockchain", "");
         if (path.isEmpty()) path = "/";
+        path = withQueryString(path, request);
         
-        return proxyRequest("http://blockchain-service:8085" + path, request.getMethod(), body, authHeader);
+        return proxyRequest("http://blockchain-service:8085" + path, request.getMethod(), body, authHeader,
+                            JwtAuthenticationFilter.getVerifiedToken(request), forwardedFor(request));
+    }
+
+    // NDJSON history is piped through chunk by chunk instead of being buffered like other responses
+    @GetMapping("/api/blockchain/auctions/{itemId}/history/stream")
+    public ResponseEntity<StreamingResponseBody> streamAuctionHistory(@PathVariable Long itemId,
+                                                                      HttpServletRequest request,
+                                                                      @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        WebClient.RequestHeadersSpec<?> spec = webClientBuilder.build().get()
+            .uri(URI.create("http://blockchain-service:8085/auctions/" + itemId + "/history/stream"));
+        spec = withForwardedHeaders(spec, authHeader, JwtAuthenticationFilter.getVerifiedToken(request), forwardedFor(request));
+        Flux<DataBuffer> chunks = spec.retrieve().bodyToFlux(DataBuffer.class).contextWrite(observationContext());
+        
+        StreamingResponseBody body = out -> DataBufferUtils.write(chunks, out)
+            .map(DataBufferUtils::release)
+            .blockLast();
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    // WebClient takes its parent observation from the Reactor context, not from the request thread,
+    // so the downstream call joins the trace of the incoming request only if it is passed explicitly
+    private Context observationContext() {
+        Observation current = observationRegistry.getCurrentObservation();
+        return current != null ? Context.of(ObservationThreadLocalAccessor.KEY, current) : Context.empty();
+    }
+
+    // Keep the original (already encoded) query string, e.g. ?ids=1,2,3
+    private String withQueryString(String path, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? path + "?" + query : path;
+    }
+
+    // Append the caller's address so downstream services see the real client
+    private String forwardedFor(HttpServletRequest request) {
+        String existing = request.getHeader("X-Forwarded-For");
+        return existing != null && !existing.isBlank()
+            ? existing + ", " + request.getRemoteAddr()
+            : request.getRemoteAddr();
+    }
+
+    // Forward the caller's token plus the identity the gateway already verified
+    private WebClient.RequestHeadersSpec<?> withForwardedHeaders(WebClient.RequestHeadersSpec<?> spec,
+                                                                String authHeader, VerifiedToken identity,
+                                                                String forwardedFor) {
+        if (forwardedFor != null) {
+            spec = spec.header("X-Forwarded-For", forwardedFor);
+        }
+        if (authHeader != null) {
+            spec = spec.header("Authorization", authHeader);
+        }
+        if (identity != null) {
+            spec = spec.header(JwtAuthenticationFilter.USER_ID_HEADER, String.valueOf(identity.userId()))
+                       .header(JwtAuthenticationFilter.USERNAME_HEADER, identity.username());
+        }
+        return spec;
     }
 
     // ===== SINGLE proxyRequest METHOD =====
-    private ResponseEntity<?> proxyRequest(String url, String method, Map<String, Object> body, String authHeader) {
+    private ResponseEntity<?> proxyRequest(String url, String method, Map<String, Object> body, String authHeader,
+                                         VerifiedToken identity, String forwardedFor) {
         try {
             WebClient webClient = webClientBuilder.build();
             
@@ -84,60 +170,52 @@ public class ApiProxyController {
             
             switch (method.toUpperCase()) {
 	            case "GET":
-	                WebClient.RequestHeadersSpec<?> getSpec = webClient.get().uri(url);
-	                if (authHeader != null) {
-	                    getSpec = getSpec.header("Authorization", authHeader);
-	                }
+	                WebClient.RequestHeadersSpec<?> getSpec = webClient.get().uri(URI.create(url));
+	                getSpec = withForwardedHeaders(getSpec, authHeader, identity, forwardedFor);
 	                response = getSpec
 	                    .retrieve()
 	                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
 	                        clientResponse -> clientResponse.bodyToMono(String.class)
-	                            .map(errorBody -> new RuntimeException(errorBody)))
+	                            .map(errorBody -> new DownstreamErrorException(clientResponse.statusCode().value(), errorBody)))
 	                    .toEntity(Object.class);
 	                break;
                     
 	            case "POST":
 	                WebClient.RequestHeadersSpec<?> postSpec = webClient.post()
-	                    .uri(url)
+	                    .uri(URI.create(url))
 	                    .bodyValue(body != null ? body : new HashMap<>());
-	                if (authHeader != null) {
-	                    postSpec = postSpec.header("Authorization", authHeader);
-	                }
+	                postSpec = withForwardedHeaders(postSpec, authHeader, identity, forwardedFor);
 	                response = postSpec
 	                    .retrieve()
 	                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
 	                        clientResponse -> clientResponse.bodyToMono(String.class)
-	                            .map(errorBody -> new RuntimeException(errorBody)))
+	                            .map(errorBody -> new DownstreamErrorException(clientResponse.statusCode().value(), errorBody)))
 	                    .toEntity(Object.class);
 	                break;
                     
                 case "PUT":
                 	WebClient.RequestHeadersSpec<?> putSpec = webClient.put()
-	                    .uri(url)
+	                    .uri(URI.create(url))
 	                    .bodyValue(body != null ? body : new HashMap<>());
-	                if (authHeader != null) {
-	                    putSpec = putSpec.header("Authorization", authHeader);
-	                }
+	                putSpec = withForwardedHeaders(putSpec, authHeader, identity, forwardedFor);
 	                response = putSpec
 	                    .retrieve()
 	                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
 	                        clientResponse -> clientResponse.bodyToMono(String.class)
-	                            .map(errorBody -> new RuntimeException(errorBody)))
+	                            .map(errorBody -> new DownstreamErrorException(clientResponse.statusCode().value(), errorBody)))
 	                    .toEntity(Object.class);
 	                break;
                     
                 case "DELETE":
                 	WebClient.RequestHeadersSpec<?> deleteSpec = webClient.put()
-	                    .uri(url)
+	                    .uri(URI.create(url))
 	                    .bodyValue(body != null ? body : new HashMap<>());
-	                if (authHeader != null) {
-	                    deleteSpec = deleteSpec.header("Authorization", authHeader);
-	                }
+	                deleteSpec = withForwardedHeaders(deleteSpec, authHeader, identity, forwardedFor);
 	                response = deleteSpec
 	                    .retrieve()
 	                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
 	                        clientResponse -> clientResponse.bodyToMono(String.class)
-	                            .map(errorBody -> new RuntimeException(errorBody)))
+	                            .map(errorBody -> new DownstreamErrorException(clientResponse.statusCode().value(), errorBody)))
 	                    .toEntity(Object.class);
 	                break;
                     
@@ -147,16 +225,23 @@ public class ApiProxyController {
                     return ResponseEntity.badRequest().body(error);
             }
             
-            return response.block();
+            return response.contextWrite(observationContext()).block();
             
         } catch (Exception e) {
             // Try to parse downstream service error
             String errorMessage = e.getMessage();
             
+            // Rate limiting and overload keep their status so clients can back off
+            int status = 400;
+            if (e instanceof DownstreamErrorException downstream
+                    && (downstream.getStatus() == 429 || downstream.getStatus() == 503)) {
+                status = downstream.getStatus();
+            }
+            
             try {
                 // If error is JSON, pass it through
                 Object parsedError = objectMapper.readValue(errorMessage, Object.class);
-                return ResponseEntity.badRequest().body(parsedError);
+                return ResponseEntity.status(status).body(parsedError);
             } catch (Exception parseError) {
                 // If not JSON, create structured error
                 Map<String, String> error = new HashMap<>();
@@ -177,4 +262,19 @@ public class ApiProxyController {
             }
         }
     }
+
+    // Downstream error body together with its HTTP status
+    private static class DownstreamErrorException extends RuntimeException {
+        
+        private final int status;
+        
+        DownstreamErrorException(int status, String body) {
+            super(body);
+            this.status = status;
+        }
+        
+        int getStatus() {
+            return status;
+        }
+    }
 }
\ No newline at end of file
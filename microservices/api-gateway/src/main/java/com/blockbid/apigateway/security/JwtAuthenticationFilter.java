@@ -0,0 +1,66 @@
+package com.blockbid.apigateway.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Verifies the bearer token of every proxied API call once, at the gateway.
+ *
+ * Requests without a token pass through unchanged (the downstream services
+ * decide whether they need an identity). Requests carrying an invalid or
+ * expired token are rejected with 401 before any downstream call is made.
+ * A verified identity is stored as a request attribute so the proxy can
+ * forward it as trusted headers.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".VERIFIED_TOKEN";
+
+    // Trusted identity headers set by the gateway for downstream services
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USERNAME_HEADER = "X-Username";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String authHeader = request.getHeader("Authorization");
+
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            VerifiedToken verified = jwtVerifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+            if (verified == null) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"message\":\"Invalid or expired token\"}");
+                return;
+            }
+            request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    public static VerifiedToken getVerifiedToken(HttpServletRequest request) {
+        return (VerifiedToken) request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE);
+    }
+}
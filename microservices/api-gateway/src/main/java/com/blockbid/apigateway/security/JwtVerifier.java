@@ -0,0 +1,129 @@
+package com.blockbid.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies user-service JWTs at the edge.
+ *
+ * The HMAC key and parser are built once at startup, and every successfully
+ * verified token is cached by the SHA-256 of its compact form until the token
+ * itself expires, so repeat requests with the same bearer token skip the
+ * signature check and claims parsing entirely.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifier.class);
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtVerifier(@Value("${app.jwtSecret}") String jwtSecret,
+                       @Value("${gateway.auth.token-cache.max-size:100000}") long maxCachedTokens) {
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Returns the verified identity for the token, or null if the token is
+     * malformed, tampered with or expired.
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        String key = hashToken(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached;
+        }
+
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                // Tokens without an expiry are never issued by user-service
+                return null;
+            }
+
+            VerifiedToken verified = new VerifiedToken(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                expiration.getTime()
+            );
+            verifiedTokens.put(key, verified);
+            return verified;
+
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public long cachedTokenCount() {
+        return verifiedTokens.estimatedSize();
+    }
+
+    // Key the cache by digest so raw bearer tokens are not retained in memory
+    private static String hashToken(String token) {
+        MessageDigest digest = SHA256.get();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Evicts each cached entry exactly when the underlying token expires.
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.blockbid.apigateway.security;
+
+/**
+ * Identity extracted from a JWT whose signature and expiry have been checked
+ * by the gateway.
+ */
+public record VerifiedToken(Long userId, String username, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -1,7 +1,11 @@
 package com.blockbid.apigateway.websocket;
 
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
@@ -17,11 +21,19 @@ public class WebSocketProxyHandler extends TextWebSocketHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(WebSocketProxyHandler.class);
     private static final String AUCTION_SERVICE_WS_URL = "ws://auction-service:8083";
+    private static final String TRACEPARENT_FIELD = "\"traceparent\":\"";
 
     // Map client sessions to backend sessions
     private final Map<WebSocketSession, WebSocketSession> sessionMap = new ConcurrentHashMap<>();
     private final StandardWebSocketClient webSocketClient = new StandardWebSocketClient();
 
+    // Absent when tracing is disabled
+    @Autowired(required = false)
+    private Tracer tracer;
+
+    @Autowired(required = false)
+    private Propagator propagator;
+
     @Override
     public void afterConnectionEstablished(WebSocketSession clientSession) throws Exception {
         logger.info("Client connected: {}", clientSession.getId());
@@ -107,6 +119,32 @@ public class WebSocketProxyHandler extends TextWebSocketHandler {
         return null;
     }
 
+    /**
+     * Span for forwarding one backend message, continuing the trace whose
+     * context auction-service put in the message (traceparent field); null
+     * for messages without one. Found by string search so forwarding does
+     * not parse every message.
+     */
+    private Span startForwardSpan(String payload) {
+        if (tracer == null || propagator == null) {
+            return null;
+        }
+        int start = payload.indexOf(TRACEPARENT_FIELD);
+        if (start < 0) {
+            return null;
+        }
+        start += TRACEPARENT_FIELD.length();
+        int end = payload.indexOf('"', start);
+        if (end < 0) {
+            return null;
+        }
+        String traceparent = payload.substring(start, end);
+        return propagator.extract(traceparent, (carrier, key) -> "traceparent".equals(key) ? carrier : null)
+            .name("websocket forward")
+            .kind(Span.Kind.CONSUMER)
+            .start();
+    }
+
     /**
      * Handler for backend WebSocket connection (auction-service)
      */
@@ -123,7 +161,14 @@ public class WebSocketProxyHandler extends TextWebSocketHandler {
             // Forward messages from backend to client
             if (clientSession.isOpen()) {
                 logger.debug("Forwarding message from backend to client: {}", message.getPayload());
-                clientSession.sendMessage(message);
+                Span span = startForwardSpan(message.getPayload());
+                try {
+                    clientSession.sendMessage(message);
+                } finally {
+                    if (span != null) {
+                        span.end();
+                    }
+                }
             }
         }
 
@@ -292,6 +292,32 @@ document.getElementById('signup-form').addEventListener('submit', async (e) => {
     }
 });
 
+// ===== USERNAME AVAILABILITY =====
+// Early feedback only; the signup request is still the final check
+const signupUsernameInput = document.getElementById('signup-username');
+if (signupUsernameInput) {
+    signupUsernameInput.addEventListener('blur', async () => {
+        const username = signupUsernameInput.value.trim();
+        if (!window.authValidators.validateUsername(username).valid) {
+            return;
+        }
+        
+        try {
+            const response = await fetch(`/api/users/signup/check-username?username=${encodeURIComponent(username)}`);
+            if (!response.ok) {
+                return;
+            }
+            
+            const data = await response.json();
+            if (data.available === false && signupUsernameInput.value.trim() === username) {
+                window.authValidators.showFieldError('signup-username', 'Username is already taken');
+            }
+        } catch (error) {
+            // Ignore; availability is re-checked on submit
+        }
+    });
+}
+
 // ===== UTILITY FUNCTIONS =====
 function showMessage(text, type) {
     const messageDiv = document.getElementById('message');
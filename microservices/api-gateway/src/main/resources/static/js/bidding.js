@@ -88,8 +88,6 @@ async function loadItemDetails() {
         
         if (response.ok) {
             currentItem = await response.json();
-			console.log('Current item:', currentItem); // DEBUG - check if sellerId exists
-			console.log('Seller ID:', currentItem.sellerId); // DEBUG
 			fetchSellerDetails(currentItem.sellerId);
             displayItemDetails(currentItem);
             setupBiddingSection(currentItem);
@@ -147,7 +145,6 @@ function displayItemDetails(item) {
 }
 
 async function fetchSellerDetails(sellerId) {
-    console.log('Fetching seller details for ID:', sellerId); // DEBUG
     
     if (!sellerId) {
         console.error('No seller ID provided');
@@ -156,23 +153,19 @@ async function fetchSellerDetails(sellerId) {
     }
     
     try {
-        const url = `/api/users/${sellerId}`;
-        console.log('Fetching from:', url); // DEBUG
+        const url = `/api/users/users/${sellerId}`;
         
         const response = await fetch(url, {
             headers: { 'Authorization': `Bearer ${token}` }
         });
         
-        console.log('Response status:', response.status); // DEBUG
         
         if (response.ok) {
             const seller = await response.json();
-            console.log('Seller data:', seller); // DEBUG
             
             const sellerNameElement = document.getElementById('seller-name');
             if (sellerNameElement) {
                 sellerNameElement.textContent = `${seller.firstName} ${seller.lastName}`;
-                console.log('Seller name set to:', `${seller.firstName} ${seller.lastName}`); // DEBUG
             } else {
                 console.error('seller-name element not found in DOM');
             }
@@ -346,7 +339,6 @@ async function placeBid(amount) {
         placeBidBtn.disabled = true;
         placeBidBtn.textContent = 'Placing Bid...';
         
-        console.log('Placing bid:', { itemId, amount, bidderId: userId }); // Debug log
         
         const response = await fetch(`/api/auctions/${itemId}/bid`, {
             method: 'POST',
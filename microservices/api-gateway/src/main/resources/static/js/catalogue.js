@@ -89,30 +89,22 @@ window.addEventListener('DOMContentLoaded', () => {
 
 // ===== SEARCH FUNCTIONALITY =====
 document.getElementById('search-btn').addEventListener('click', () => {
-    console.log('=== SEARCH BUTTON CLICKED ===');
     clearSearchError();
     
     const keyword = document.getElementById('search-input').value.trim();
-    console.log('Raw input value:', document.getElementById('search-input').value);
-    console.log('Trimmed keyword:', keyword);
-    console.log('Keyword length:', keyword.length);
     
     if (!keyword) {
-        console.log('Empty search - loading all items');
         loadItems();
         return;
     }
     
     const validation = validateSearchKeyword(keyword);
-    console.log('Validation result:', validation);
     
     if (!validation.valid) {
-        console.log('Validation failed:', validation.error);
         showSearchError(validation.error);
         return;
     }
     
-    console.log('Starting search with keyword:', keyword);
     searchItems(keyword);
 });
 
@@ -154,14 +146,10 @@ document.getElementById('sort-by').addEventListener('change', (e) => {
 
 // ===== LOAD ALL ITEMS =====
 async function loadItems() {
-    console.log('=== LOAD ALL ITEMS DEBUG START ===');
-    console.log('Token exists:', !!token);
-    
     showLoading(true);
     
     try {
         const url = '/api/items';
-        console.log('Loading from URL:', url);
         
         const response = await fetch(url, {
             headers: {
@@ -169,13 +157,8 @@ async function loadItems() {
             }
         });
         
-        console.log('Response status:', response.status);
-        console.log('Response ok:', response.ok);
-        
         if (response.ok) {
             allItems = await response.json();
-            console.log('Items loaded:', allItems.length);
-            console.log('First item:', allItems[0]);
             filterItems();
         } else if (response.status === 401) {
             console.error('Authentication failed - clearing storage and redirecting');
@@ -193,22 +176,15 @@ async function loadItems() {
         showNoResults();
     } finally {
         showLoading(false);
-        console.log('=== LOAD ALL ITEMS DEBUG END ===');
     }
 }
 
 // ===== SEARCH ITEMS =====
 async function searchItems(keyword) {
-    console.log('=== SEARCH DEBUG START ===');
-    console.log('Search keyword:', keyword);
-    console.log('Token exists:', !!token);
-    console.log('Token value:', token ? token.substring(0, 20) + '...' : 'NO TOKEN');
-    
     showLoading(true);
     
     try {
         const url = `/api/items/search?keyword=${encodeURIComponent(keyword)}`;
-        console.log('Search URL:', url);
         
         const response = await fetch(url, {
             headers: {
@@ -216,19 +192,10 @@ async function searchItems(keyword) {
             }
         });
         
-        console.log('Response status:', response.status);
-        console.log('Response ok:', response.ok);
-        console.log('Response headers:', response.headers);
-        
         if (response.ok) {
             const items = await response.json();
-            console.log('Items received:', items.length);
-            console.log('First item:', items[0]);
-            
             allItems = items;
             filterItems();
-            
-            console.log('Search successful - displaying', items.length, 'items');
         } else {
             console.error('Search failed with status:', response.status);
             const errorText = await response.text();
@@ -241,7 +208,6 @@ async function searchItems(keyword) {
         showNoResults();
     } finally {
         showLoading(false);
-        console.log('=== SEARCH DEBUG END ===');
     }
 }
 
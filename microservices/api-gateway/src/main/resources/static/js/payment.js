@@ -108,7 +108,7 @@ function displayOrderSummary(order) {
 // ===== LOAD USER ADDRESS =====
 async function loadUserAddress() {
 	try {
-	        const response = await fetch(`/api/users/${userId}`, {
+	        const response = await fetch(`/api/users/users/${userId}`, {
 	            headers: { 'Authorization': `Bearer ${token}` }
 	        });
 
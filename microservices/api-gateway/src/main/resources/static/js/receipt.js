@@ -94,7 +94,6 @@ async function loadReceipt() {
 }
 
 function displayReceipt(receiptData) {
-    console.log('Receipt data:', receiptData); // Debug
     
     // Order details
     document.getElementById('order-number').textContent = receiptData.id || 'N/A';
@@ -360,8 +359,8 @@ async function loadBlockchainVerification(itemId) {
     try {
         console.log('Loading blockchain verification for item:', itemId);
 
-        // Get auction history from blockchain
-        const response = await fetch(`/api/blockchain/auctions/${itemId}/history`, {
+        // Get compact auction summary from blockchain (full history is loaded on demand)
+        const response = await fetch(`/api/blockchain/auctions/${itemId}/summary`, {
             headers: { 'Authorization': `Bearer ${token}` }
         });
 
@@ -402,6 +401,11 @@ async function loadBlockchainVerification(itemId) {
                 data.smartContract = contractData;
             }
 
+            // Fetch the inclusion proof of the payment transaction
+            if (data.paymentTransaction && data.paymentTransaction.blockNumber) {
+                data.paymentProof = await fetchInclusionProof(data.paymentTransaction.transactionHash);
+            }
+
             // Show blockchain section even if no transactions yet
             blockchainVerification = data;
             displayBlockchainVerification(data);
@@ -422,9 +426,9 @@ function displayBlockchainVerification(data) {
         return;
     }
     
-    // Find the payment transaction
-    const paymentTx = data.transactions.find(tx => tx.transactionType === 'PAYMENT');
-    const bidTxs = data.transactions.filter(tx => tx.transactionType === 'BID');
+    // Payment transaction and bid count come from the summary
+    const paymentTx = data.paymentTransaction;
+    const bidTxCount = data.bidTransactions || 0;
     
     const blockchainSection = document.createElement('div');
     blockchainSection.className = 'blockchain-section';
@@ -519,7 +523,7 @@ function displayBlockchainVerification(data) {
             <div style="display: grid; grid-template-columns: 1fr 1fr 1fr; gap: 15px;">
                 <div>
                     <div style="color: #888; font-size: 13px;">Total Bids</div>
-                    <div style="color: #fff; font-size: 20px; font-weight: bold;">${data.actualTotalBids !== undefined ? data.actualTotalBids : bidTxs.length}</div>
+                    <div style="color: #fff; font-size: 20px; font-weight: bold;">${data.actualTotalBids !== undefined ? data.actualTotalBids : bidTxCount}</div>
                 </div>
                 <div>
                     <div style="color: #888; font-size: 13px;">Blockchain Txs</div>
@@ -562,11 +566,36 @@ function displayBlockchainVerification(data) {
     receiptSection.parentNode.insertBefore(blockchainSection, receiptSection.nextSibling);
 }
 
-function viewCompleteBlockchainHistory() {
+async function viewCompleteBlockchainHistory() {
     if (!blockchainVerification) {
         alert('Loading blockchain data...');
         return;
     }
+
+    // Full history is only downloaded when the user asks for it, page by page until nextCursor runs out
+    if (!blockchainVerification.transactions) {
+        try {
+            const transactions = [];
+            let cursor = null;
+            do {
+                const query = cursor === null ? '?limit=500' : `?limit=500&cursor=${cursor}`;
+                const response = await fetch(`/api/blockchain/auctions/${blockchainVerification.itemId}/history${query}`, {
+                    headers: { 'Authorization': `Bearer ${token}` }
+                });
+                if (!response.ok) {
+                    alert('Blockchain history is not available right now');
+                    return;
+                }
+                const page = await response.json();
+                transactions.push(...page.transactions);
+                cursor = page.nextCursor;
+            } while (cursor !== null && cursor !== undefined);
+            blockchainVerification.transactions = transactions;
+        } catch (error) {
+            alert('Blockchain history is not available right now');
+            return;
+        }
+    }
     
     // Create modal to show complete history
     const modal = document.createElement('div');
@@ -642,21 +671,92 @@ function viewCompleteBlockchainHistory() {
     document.body.appendChild(modal);
 }
 
-function verifyBlockchainTransaction() {
-    if (!blockchainVerification || !blockchainVerification.transactions.length) {
+async function verifyBlockchainTransaction() {
+    if (!blockchainVerification || !blockchainVerification.paymentTransaction) {
         alert('No transactions to verify');
         return;
     }
     
-    const paymentTx = blockchainVerification.transactions.find(tx => tx.transactionType === 'PAYMENT');
-    const tx = paymentTx || blockchainVerification.transactions[0];
+    const tx = blockchainVerification.paymentTransaction;
+    const proof = blockchainVerification.paymentProof;
+    if (!proof) {
+        alert(`Transaction ${tx.transactionHash} is recorded but not yet included in a block. Please try again shortly.`);
+        return;
+    }
+    
+    const valid = await verifyInclusionProof(proof);
     
     alert(
-        `Transaction Verified ✓\n\n` +
+        (valid ? `Transaction Verified ✓\n\n` : `Verification FAILED ✗\n\n`) +
         `Hash: ${tx.transactionHash}\n` +
-        `Block: #${tx.blockNumber}\n` +
-        `Status: ${tx.status}\n` +
-        `Confirmations: ${tx.confirmations || 1}\n\n` +
-        `This transaction is cryptographically verified and permanently recorded on the blockchain.`
+        `Block: #${proof.blockNumber}\n` +
+        `Merkle Root: ${proof.merkleRoot}\n` +
+        `Proof Length: ${proof.siblings.length} hashes (position ${proof.leafIndex} of ${proof.transactionCount})\n\n` +
+        (valid
+            ? `The Merkle proof recomputes to the block's root, so this transaction is included in block #${proof.blockNumber}.`
+            : `The Merkle proof does not match the block's root.`)
     );
-}
\ No newline at end of file
+}
+
+// ===== MERKLE PROOFS =====
+async function fetchInclusionProof(txHash) {
+    try {
+        const response = await fetch(`/api/blockchain/transactions/${txHash}/proof`, {
+            headers: { 'Authorization': `Bearer ${token}` }
+        });
+        return response.ok ? await response.json() : null;
+    } catch (error) {
+        return null;
+    }
+}
+
+// Recompute the root in the browser when WebCrypto is available, otherwise ask the bulk verifier
+async function verifyInclusionProof(proof) {
+    if (window.crypto && window.crypto.subtle) {
+        let current = hexToBytes(proof.transactionHash);
+        let index = proof.leafIndex;
+        for (const sibling of proof.siblings) {
+            const siblingBytes = hexToBytes(sibling);
+            const pair = new Uint8Array(current.length + siblingBytes.length);
+            if (index % 2 === 0) {
+                pair.set(current, 0);
+                pair.set(siblingBytes, current.length);
+            } else {
+                pair.set(siblingBytes, 0);
+                pair.set(current, siblingBytes.length);
+            }
+            current = new Uint8Array(await window.crypto.subtle.digest('SHA-256', pair));
+            index = Math.floor(index / 2);
+        }
+        return bytesToHex(current) === proof.merkleRoot.toLowerCase();
+    }
+    
+    try {
+        const response = await fetch('/api/blockchain/proofs/verify', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+                'Authorization': `Bearer ${token}`
+            },
+            body: JSON.stringify({ proofs: [proof] })
+        });
+        if (!response.ok) return false;
+        const result = await response.json();
+        return result.verified === 1;
+    } catch (error) {
+        return false;
+    }
+}
+
+function hexToBytes(hex) {
+    const digits = hex.startsWith('0x') ? hex.slice(2) : hex;
+    const bytes = new Uint8Array(digits.length / 2);
+    for (let i = 0; i < bytes.length; i++) {
+        bytes[i] = parseInt(digits.substr(i * 2, 2), 16);
+    }
+    return bytes;
+}
+
+function bytesToHex(bytes) {
+    return '0x' + Array.from(bytes, b => b.toString(16).padStart(2, '0')).join('');
+}
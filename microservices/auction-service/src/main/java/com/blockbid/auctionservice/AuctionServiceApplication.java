@@ -2,6 +2,7 @@ package com.blockbid.auctionservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.client.RestTemplate;
 
@@ -13,7 +14,8 @@ public class AuctionServiceApplication {
     }
     
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        // Built from Boot's builder so outgoing calls carry the trace context and are timed (http.client.requests)
+        return builder.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.blockbid.auctionservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.ExecutorService;
+
+import static com.blockbid.common.config.VirtualThreadConfig.newVirtualThreadExecutor;
+
+/**
+ * WebSocket broadcasts in virtual-thread mode (see the common
+ * VirtualThreadConfig): one virtual thread per subscriber send, so a slow
+ * subscriber delays neither the bidder's request nor the other subscribers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadWebSocketConfig {
+    
+    // Picked up by AuctionWebSocketHandler to fan broadcasts out to subscribers concurrently
+    @Bean(name = "webSocketSendExecutor", destroyMethod = "shutdown")
+    public ExecutorService webSocketSendExecutor() {
+        return newVirtualThreadExecutor("ws-send-");
+    }
+}
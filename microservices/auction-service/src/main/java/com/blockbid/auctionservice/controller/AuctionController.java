@@ -4,6 +4,12 @@ import com.blockbid.auctionservice.entity.Auction;
 import com.blockbid.auctionservice.entity.Bid;
 import com.blockbid.auctionservice.service.AuctionService;
 import com.blockbid.auctionservice.validation.BidValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,22 +17,52 @@ import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @RestController
 @RequestMapping("/")
 @CrossOrigin(origins = "*")
 public class AuctionController {
 	
+    private static final Logger logger = LoggerFactory.getLogger(AuctionController.class);
+    
 	@Autowired
     private RestTemplate restTemplate;
     
     @Autowired
     private AuctionService auctionService;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // End-to-end bid handling inside auction-service, split by outcome
+    private Timer bidAcceptedLatency;
+    private Timer bidRejectedLatency;
+    private Counter bidsAccepted;
+    
+    @PostConstruct
+    void initMetrics() {
+        bidAcceptedLatency = Timer.builder("auction.bid.latency")
+                .tag("outcome", "accepted")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        bidRejectedLatency = Timer.builder("auction.bid.latency")
+                .tag("outcome", "rejected")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        bidsAccepted = Counter.builder("auction.bid.accepted")
+                .description("Bids accepted")
+                .register(meterRegistry);
+    }
+    
     // Create auction (called by Item Service when item is created)
     @PostMapping("/")
     public ResponseEntity<?> createAuction(@RequestBody Map<String, Object> request) {
@@ -62,10 +98,25 @@ public class AuctionController {
     // Place bid (UC3 - Core bidding functionality)
     @PostMapping("/{itemId}/bid")
     public ResponseEntity<?> placeBid(@PathVariable Long itemId, @RequestBody Map<String, Object> request) {
+        long start = System.nanoTime();
+        ResponseEntity<?> response = handleBid(itemId, request, start);
+        
+        long elapsed = System.nanoTime() - start;
+        if (response.getStatusCode().is2xxSuccessful()) {
+            bidAcceptedLatency.record(elapsed, TimeUnit.NANOSECONDS);
+            bidsAccepted.increment();
+        } else {
+            bidRejectedLatency.record(elapsed, TimeUnit.NANOSECONDS);
+            // Tagged by status: 400 for validation and outbid, 404 for unknown auctions
+            meterRegistry.counter("auction.bid.rejected", "status", String.valueOf(response.getStatusCode().value()))
+                    .increment();
+        }
+        return response;
+    }
+    
+    private ResponseEntity<?> handleBid(Long itemId, Map<String, Object> request, long start) {
         try {
-        	System.out.println("=== PLACE BID REQUEST ===");
-            System.out.println("Item ID: " + itemId);
-            System.out.println("Request body: " + request);
+            logger.debug("Bid request {} {}", kv("itemId", itemId), kv("body", request));
             // Get current auction to check current price
             Optional<Auction> auctionOpt = auctionService.getAuctionByItemId(itemId);
             if (auctionOpt.isEmpty()) {
@@ -75,7 +126,8 @@ public class AuctionController {
             }
             
             Auction auction = auctionOpt.get();
-            System.out.println("Auction found - Status: " + auction.getStatus() + ", Current Price: " + auction.getCurrentPrice());
+            logger.debug("Auction {} {} {}", kv("itemId", itemId), kv("status", auction.getStatus()),
+                    kv("currentPrice", auction.getCurrentPrice()));
             
             // Check if auction is still active
             if (!"ACTIVE".equals(auction.getStatus())) {
@@ -87,7 +139,7 @@ public class AuctionController {
             // Validate bid
             Map<String, String> validationErrors = BidValidator.validateBid(request, auction.getCurrentPrice());
             if (!validationErrors.isEmpty()) {
-            	System.out.println("ERROR: Validation failed - " + validationErrors);
+                logger.debug("Bid rejected {} {}", kv("itemId", itemId), kv("errors", validationErrors));
                 return ResponseEntity.badRequest().body(validationErrors);
             }
             
@@ -95,16 +147,13 @@ public class AuctionController {
             try {
                 Object bidderIdObj = request.get("bidderId");
                 if (bidderIdObj == null) {
-                	System.out.println("ERROR: bidderId is null");
                     Map<String, String> error = new HashMap<>();
                     error.put("field", "bidderId");
                     error.put("message", "Bidder ID is required");
                     return ResponseEntity.badRequest().body(error);
                 }
                 bidderId = Long.valueOf(bidderIdObj.toString());
-                System.out.println("Bidder ID parsed: " + bidderId);
             } catch (NumberFormatException e) {
-            	System.out.println("ERROR: Invalid bidderId format - " + e.getMessage());
                 Map<String, String> error = new HashMap<>();
                 error.put("field", "bidderId");
                 error.put("message", "Invalid bidder ID format");
@@ -115,7 +164,6 @@ public class AuctionController {
             try {
                 Object amountObj = request.get("amount");
                 if (amountObj == null) {
-                	System.out.println("ERROR: amount is null");
                     Map<String, String> error = new HashMap<>();
                     error.put("field", "amount");
                     error.put("message", "Bid amount is required");
@@ -128,18 +176,17 @@ public class AuctionController {
                 } else {
                     bidAmount = Double.valueOf(amountObj.toString());
                 }
-                System.out.println("Bid amount parsed: " + bidAmount);
             } catch (NumberFormatException e) {
-            	System.out.println("ERROR: Invalid amount format - " + e.getMessage());
                 Map<String, String> error = new HashMap<>();
                 error.put("field", "amount");
                 error.put("message", "Invalid bid amount format");
                 return ResponseEntity.badRequest().body(error);
             }
             
-            System.out.println("Calling placeBid service with: itemId=" + itemId + ", bidderId=" + bidderId + ", amount=" + bidAmount);
             Bid bid = auctionService.placeBid(itemId, bidderId, bidAmount);
-            System.out.println("Bid placed successfully - Bid ID: " + bid.getId());
+            logger.info("Bid placed {} {} {} {} {}", kv("itemId", itemId), kv("bidderId", bidderId),
+                    kv("amount", bidAmount), kv("bidId", bid.getId()),
+                    kv("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Bid placed successfully");
@@ -151,7 +198,8 @@ public class AuctionController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-        	System.out.println("ERROR in placeBid: " + e.getMessage());
+            logger.debug("Bid rejected {} {} {}", kv("itemId", itemId), kv("reason", e.getMessage()),
+                    kv("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
             Map<String, String> error = new HashMap<>();
             
             // Handle specific errors
@@ -203,6 +251,13 @@ public class AuctionController {
     	try {
             List<Bid> bids = auctionService.getBidHistory(itemId);
             
+            // One bulk user-service call for all distinct bidders
+            Set<Long> bidderIds = new LinkedHashSet<>();
+            for (Bid bid : bids) {
+                bidderIds.add(bid.getBidderId());
+            }
+            Map<Long, String> bidderNames = auctionService.fetchBidderNames(bidderIds);
+            
             // Enhance bids with bidder information
             List<Map<String, Object>> enhancedBids = new ArrayList<>();
             
@@ -215,17 +270,8 @@ public class AuctionController {
                 bidMap.put("bidTime", bid.getBidTime());
                 bidMap.put("status", bid.getStatus());
                 
-                // Try to fetch bidder name from user service
-                try {
-                    String userServiceUrl = "http://user-service:8081/internal/users/" + bid.getBidderId();
-                    Map<String, Object> user = restTemplate.getForObject(userServiceUrl, Map.class);
-                    if (user != null && user.get("username") != null) {
-                        bidMap.put("bidderName", user.get("username"));
-                    }
-                } catch (Exception e) {
-                    // If user service call fails, just use the ID
-                    bidMap.put("bidderName", "User #" + bid.getBidderId());
-                }
+                // If user service call failed, just use the ID
+                bidMap.put("bidderName", bidderNames.getOrDefault(bid.getBidderId(), "User #" + bid.getBidderId()));
                 
                 enhancedBids.add(bidMap);
             }
@@ -333,7 +379,7 @@ public class AuctionController {
                         enhancedAuctions.add(auctionData);
                     }
                 } catch (Exception e) {
-                    System.err.println("Failed to fetch item details for itemId " + auction.getItemId() + ": " + e.getMessage());
+                    logger.warn("Failed to fetch item details {}: {}", kv("itemId", auction.getItemId()), e.getMessage());
                     // Include auction anyway with minimal data
                     Map<String, Object> auctionData = new HashMap<>();
                     auctionData.put("itemId", auction.getItemId());
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class Auction {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auctions_seq")
+    @SequenceGenerator(name = "auctions_seq", sequenceName = "auctions_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -44,6 +45,10 @@ public class Auction {
     @Column
     private Integer totalBids = 0;
     
+    // Optimistic lock: concurrent bid updates of this row fail instead of overwriting each other
+    @Version
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         if (startTime == null) {
@@ -102,6 +107,9 @@ public class Auction {
     public Integer getTotalBids() { return totalBids; }
     public void setTotalBids(Integer totalBids) { this.totalBids = totalBids; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     // Helper methods
     public boolean isActive() {
         return "ACTIVE".equals(status) && LocalDateTime.now().isBefore(endTime);
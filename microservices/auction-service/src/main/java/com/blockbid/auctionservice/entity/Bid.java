@@ -8,8 +8,10 @@ import java.time.LocalDateTime;
 @Table(name = "bids")
 public class Bid {
     
+    // Pooled sequence (V3 migration): the id is known before the INSERT, which is deferred to the flush
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bids_seq")
+    @SequenceGenerator(name = "bids_seq", sequenceName = "bids_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -2,9 +2,11 @@ package com.blockbid.auctionservice.repository;
 
 import com.blockbid.auctionservice.entity.Bid;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,4 +44,15 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     default Optional<Bid> findUserHighestBidForItem(Long itemId, Long bidderId) {
         return findFirstByItemIdAndBidderIdOrderByAmountDescBidTimeDesc(itemId, bidderId);
     }
-}
\ No newline at end of file
+    
+    // Status flip of the previous winner, keyed by Auction.winningBidId
+    @Modifying
+    @Query("UPDATE Bid b SET b.status = 'OUTBID' WHERE b.id = :id")
+    int markOutbid(@Param("id") Long id);
+    
+    // Attach the blockchain transaction hash without loading the bid
+    @Modifying
+    @Transactional
+    @Query("UPDATE Bid b SET b.transactionHash = :hash WHERE b.id = :id")
+    int updateTransactionHash(@Param("id") Long id, @Param("hash") String hash);
+}
@@ -5,20 +5,36 @@ import com.blockbid.auctionservice.entity.Bid;
 import com.blockbid.auctionservice.repository.AuctionRepository;
 import com.blockbid.auctionservice.repository.BidRepository;
 import com.blockbid.auctionservice.websocket.AuctionWebSocketHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Service
 public class AuctionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuctionService.class);
+
     @Autowired
     private AuctionRepository auctionRepository;
 
@@ -31,9 +47,43 @@ public class AuctionService {
     @Autowired
     private AuctionWebSocketHandler webSocketHandler;
 
+    @Autowired
+    private BidPlacement bidPlacement;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.bid.retry.max-attempts:5}")
+    private int bidMaxAttempts;
+
+    @Value("${app.bid.retry.backoff-base-ms:5}")
+    private long bidBackoffBaseMs;
+
+    @Value("${app.bid.retry.backoff-max-ms:100}")
+    private long bidBackoffMaxMs;
+
+    // Contention on the auction row: conflicts per attempt, bids that gave up, attempts per accepted bid
+    private Counter bidConflicts;
+    private Counter bidRetriesExhausted;
+    private DistributionSummary bidAttempts;
+
     private static final String ITEM_SERVICE_URL = "http://item-service:8082";
     private static final String USER_SERVICE_URL = "http://user-service:8081";
     private static final String BLOCKCHAIN_SERVICE_URL = "http://blockchain-service:8085";
+    private static final int USER_BULK_LOOKUP_SIZE = 100;
+    
+    @PostConstruct
+    void initBidMetrics() {
+        bidConflicts = Counter.builder("auction.bid.conflicts")
+                .description("Bid attempts rolled back by an optimistic-lock conflict")
+                .register(meterRegistry);
+        bidRetriesExhausted = Counter.builder("auction.bid.retries.exhausted")
+                .description("Bids rejected after exhausting their retries")
+                .register(meterRegistry);
+        bidAttempts = DistributionSummary.builder("auction.bid.attempts")
+                .description("Attempts needed per accepted bid")
+                .register(meterRegistry);
+    }
     
     // Create new auction
     public Auction createAuction(Auction auction) throws Exception {
@@ -73,84 +123,33 @@ public class AuctionService {
             auction.setTotalBids(0);
         }
         
-        System.out.println("Creating auction - Starting Price: " + auction.getStartingPrice() + ", Current Price: " + auction.getCurrentPrice());
-        
         Auction savedAuction = auctionRepository.save(auction);
         
-        System.out.println("Auction saved - ID: " + savedAuction.getId() + ", Current Price: " + savedAuction.getCurrentPrice());
+        logger.info("Auction created {} {} {}", kv("auctionId", savedAuction.getId()),
+            kv("itemId", savedAuction.getItemId()), kv("startingPrice", savedAuction.getStartingPrice()));
         
         return savedAuction;
     }
     
-    // Place a bid (UC3 - Core bidding functionality)
-    @Transactional
+    // Place a bid (UC3 - Core bidding functionality). The bid is committed before the item,
+    // blockchain and WebSocket calls, so a retried attempt never repeats them.
     public Bid placeBid(Long itemId, Long bidderId, Double bidAmount) throws Exception {
-        // Find the auction
-        Optional<Auction> auctionOptional = auctionRepository.findByItemId(itemId);
-        if (auctionOptional.isEmpty()) {
-            throw new Exception("Auction not found for this item");
-        }
-        
-        Auction auction = auctionOptional.get();
-        
-        // Check if auction is active
-        if (!auction.isActive()) {
-            throw new Exception("Auction is not active");
-        }
-        
-        // Check if bidder is not the seller
-        if (bidderId.equals(auction.getSellerId())) {
-            throw new Exception("Seller cannot bid on their own item");
-        }
-        
-        // Validate bid amount
-        if (bidAmount <= auction.getCurrentPrice()) {
-            throw new Exception("Bid must be higher than current price of $" + auction.getCurrentPrice());
-        }
-        
-        // Check reserve price if set
-        if (auction.getReservePrice() != null && bidAmount < auction.getReservePrice()) {
-            // Allow bid but note it doesn't meet reserve
-        }
-        
-        // Mark previous highest bidder as outbid
-        if (auction.getHighestBidderId() != null) {
-            Optional<Bid> previousHighestBid = bidRepository.findHighestBidForItem(itemId);
-            if (previousHighestBid.isPresent()) {
-                Bid prevBid = previousHighestBid.get();
-                prevBid.setStatus("OUTBID");
-                bidRepository.save(prevBid);
-            }
-        }
-        
-        // Create new bid
-        Bid newBid = new Bid(itemId, bidderId, bidAmount);
-        newBid.setStatus("WINNING");
-        Bid savedBid = bidRepository.save(newBid);
-        
-        // Update auction
-        auction.setCurrentPrice(bidAmount);
-        auction.setHighestBidderId(bidderId);
-        auction.setWinningBidId(savedBid.getId());
-        auction.setTotalBids(auction.getTotalBids() + 1);
-        auctionRepository.save(auction);
+        BidPlacement.Result placed = placeWithRetry(itemId, bidderId, bidAmount);
+        Bid savedBid = placed.bid();
         
         try {
             Map<String, Object> updateRequest = new HashMap<>();
             updateRequest.put("price", bidAmount);
             updateRequest.put("bidderId", bidderId);
 
-            System.out.println("→ Updating item " + itemId + " with new price: $" + bidAmount);
-
             restTemplate.put(
                 ITEM_SERVICE_URL + "/" + itemId + "/bid",
                 updateRequest
             );
-
-            System.out.println("✓ Item price updated successfully");
+            logger.debug("Item price updated {} {}", kv("itemId", itemId), kv("amount", bidAmount));
 
         } catch (Exception e) {
-            System.err.println("✗ WARNING: Failed to update item price: " + e.getMessage());
+            logger.warn("Failed to update item price {}: {}", kv("itemId", itemId), e.getMessage());
             // Don't fail the bid if item update fails - bid is already saved
         }
 
@@ -161,8 +160,6 @@ public class AuctionService {
             blockchainRequest.put("bidderId", bidderId);
             blockchainRequest.put("bidAmount", bidAmount);
 
-            System.out.println("→ Recording bid on blockchain");
-
             @SuppressWarnings("unchecked")
             Map<String, Object> blockchainResponse = restTemplate.postForObject(
                 BLOCKCHAIN_SERVICE_URL + "/transactions/bid",
@@ -173,12 +170,13 @@ public class AuctionService {
             // Store blockchain transaction hash in bid
             if (blockchainResponse != null && blockchainResponse.get("transactionHash") != null) {
                 savedBid.setTransactionHash(blockchainResponse.get("transactionHash").toString());
-                bidRepository.save(savedBid);
-                System.out.println("✓ Bid recorded on blockchain: " + blockchainResponse.get("transactionHash"));
+                bidRepository.updateTransactionHash(savedBid.getId(), savedBid.getTransactionHash());
+                logger.debug("Bid recorded on blockchain {} {}", kv("bidId", savedBid.getId()),
+                    kv("transactionHash", savedBid.getTransactionHash()));
             }
 
         } catch (Exception e) {
-            System.err.println("✗ WARNING: Failed to record bid on blockchain: " + e.getMessage());
+            logger.warn("Failed to record bid on blockchain {}: {}", kv("bidId", savedBid.getId()), e.getMessage());
             // Don't fail the bid if blockchain recording fails
         }
 
@@ -192,19 +190,43 @@ public class AuctionService {
             bidData.put("bidderName", bidderName);
             bidData.put("amount", bidAmount);
             bidData.put("bidTime", savedBid.getBidTime());
-            bidData.put("totalBids", auction.getTotalBids());
+            bidData.put("totalBids", placed.totalBids());
 
             webSocketHandler.broadcastNewBid(itemId, bidData);
-            System.out.println("✓ WebSocket broadcast sent for new bid");
+            logger.debug("Bid broadcast {}", kv("itemId", itemId));
 
         } catch (Exception e) {
-            System.err.println("✗ WARNING: Failed to broadcast WebSocket update: " + e.getMessage());
+            logger.warn("Failed to broadcast bid {}: {}", kv("itemId", itemId), e.getMessage());
             // Don't fail the bid if WebSocket broadcast fails
         }
 
         return savedBid;
     }
     
+    // Retries the bid transaction after an optimistic-lock conflict; validation failures are final
+    private BidPlacement.Result placeWithRetry(Long itemId, Long bidderId, Double bidAmount) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                BidPlacement.Result placed = bidPlacement.apply(itemId, bidderId, bidAmount);
+                bidAttempts.record(attempt);
+                return placed;
+            } catch (OptimisticLockingFailureException e) {
+                bidConflicts.increment();
+                if (attempt >= bidMaxAttempts) {
+                    bidRetriesExhausted.increment();
+                    throw new Exception("Too many concurrent bids on this auction, please try again");
+                }
+                Thread.sleep(backoffMillis(attempt));
+            }
+        }
+    }
+    
+    // Full jitter: uniform in [0, min(max, base * 2^(attempt - 1))] so retrying bidders spread out
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(bidBackoffMaxMs, bidBackoffBaseMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+    
     // Get auction by item ID
     public Optional<Auction> getAuctionByItemId(Long itemId) {
         return auctionRepository.findByItemId(itemId);
@@ -257,17 +279,13 @@ public class AuctionService {
         }
         
         try {
-            System.out.println("→ Ending auction for item " + itemId);
-            
             restTemplate.put(
                 ITEM_SERVICE_URL + "/" + itemId + "/end",
                 null
             );
             
-            System.out.println("✓ Item status updated to ENDED");
-            
         } catch (Exception e) {
-            System.err.println("✗ WARNING: Failed to update item status: " + e.getMessage());
+            logger.warn("Failed to mark item ended {}: {}", kv("itemId", itemId), e.getMessage());
             // Continue anyway - auction is already marked as ended
         }
 
@@ -278,8 +296,6 @@ public class AuctionService {
             blockchainRequest.put("winnerId", auction.getHighestBidderId());
             blockchainRequest.put("winningBid", auction.getCurrentPrice());
 
-            System.out.println("→ Recording auction end on blockchain");
-
             @SuppressWarnings("unchecked")
             Map<String, Object> blockchainResponse = restTemplate.postForObject(
                 BLOCKCHAIN_SERVICE_URL + "/transactions/auction-end",
@@ -287,10 +303,12 @@ public class AuctionService {
                 Map.class
             );
 
-            System.out.println("✓ Auction end recorded on blockchain: " + blockchainResponse);
+            logger.info("Auction end recorded {} {} {} {}", kv("itemId", itemId),
+                kv("winnerId", auction.getHighestBidderId()), kv("winningBid", auction.getCurrentPrice()),
+                kv("transactionHash", blockchainResponse != null ? blockchainResponse.get("transactionHash") : null));
 
         } catch (Exception e) {
-            System.err.println("✗ WARNING: Failed to record auction end on blockchain: " + e.getMessage());
+            logger.warn("Failed to record auction end on blockchain {}: {}", kv("itemId", itemId), e.getMessage());
             // Don't fail the auction end if blockchain recording fails
         }
 
@@ -318,7 +336,7 @@ public class AuctionService {
             try {
                 endAuction(auction.getItemId());
             } catch (Exception e) {
-                System.err.println("Error ending auction for item " + auction.getItemId() + ": " + e.getMessage());
+                logger.error("Error ending auction {}", kv("itemId", auction.getItemId()), e);
             }
         }
     }
@@ -348,8 +366,33 @@ public class AuctionService {
                 return user.get("username").toString();
             }
         } catch (Exception e) {
-            System.err.println("Failed to fetch bidder name: " + e.getMessage());
+            logger.warn("Failed to fetch bidder name {}: {}", kv("bidderId", bidderId), e.getMessage());
         }
         return "User #" + bidderId;
     }
+    
+    // Fetch usernames for many bidders via the bulk endpoint (max 100 ids per call)
+    public Map<Long, String> fetchBidderNames(Collection<Long> bidderIds) {
+        Map<Long, String> names = new HashMap<>();
+        List<Long> ids = new ArrayList<>(bidderIds);
+        
+        for (int start = 0; start < ids.size(); start += USER_BULK_LOOKUP_SIZE) {
+            List<Long> chunk = ids.subList(start, Math.min(start + USER_BULK_LOOKUP_SIZE, ids.size()));
+            String idParam = chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+            try {
+                String userServiceUrl = USER_SERVICE_URL + "/internal/users?ids=" + idParam;
+                Map<String, Object>[] users = restTemplate.getForObject(userServiceUrl, Map[].class);
+                if (users != null) {
+                    for (Map<String, Object> user : users) {
+                        if (user.get("id") != null && user.get("username") != null) {
+                            names.put(Long.valueOf(user.get("id").toString()), user.get("username").toString());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to fetch bidder names: {}", e.getMessage());
+            }
+        }
+        return names;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.blockbid.auctionservice.service;
+
+import com.blockbid.auctionservice.entity.Auction;
+import com.blockbid.auctionservice.entity.Bid;
+import com.blockbid.auctionservice.repository.AuctionRepository;
+import com.blockbid.auctionservice.repository.BidRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * The database part of placing a bid, one transaction per attempt.
+ *
+ * Every attempt reads the auction afresh, so the bid is validated against
+ * the current price. The auction row is versioned: if another bid committed
+ * after it was read, the flush fails with an optimistic locking exception,
+ * the attempt (bid insert and OUTBID update included) rolls back and
+ * AuctionService retries it.
+ */
+@Component
+public class BidPlacement {
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    public record Result(Bid bid, int totalBids) {}
+
+    @Transactional
+    public Result apply(Long itemId, Long bidderId, Double bidAmount) throws Exception {
+        // Find the auction
+        Optional<Auction> auctionOptional = auctionRepository.findByItemId(itemId);
+        if (auctionOptional.isEmpty()) {
+            throw new Exception("Auction not found for this item");
+        }
+
+        Auction auction = auctionOptional.get();
+
+        // Check if auction is active
+        if (!auction.isActive()) {
+            throw new Exception("Auction is not active");
+        }
+
+        // Check if bidder is not the seller
+        if (bidderId.equals(auction.getSellerId())) {
+            throw new Exception("Seller cannot bid on their own item");
+        }
+
+        // Validate bid amount
+        if (bidAmount <= auction.getCurrentPrice()) {
+            throw new Exception("Bid must be higher than current price of $" + auction.getCurrentPrice());
+        }
+
+        // Mark previous highest bidder as outbid: the auction already holds the winning bid's id
+        if (auction.getWinningBidId() != null) {
+            bidRepository.markOutbid(auction.getWinningBidId());
+        } else if (auction.getHighestBidderId() != null) {
+            // Auctions whose winning bid id was never recorded
+            bidRepository.findHighestBidForItem(itemId)
+                .ifPresent(prevBid -> bidRepository.markOutbid(prevBid.getId()));
+        }
+
+        // Create new bid
+        Bid newBid = new Bid(itemId, bidderId, bidAmount);
+        newBid.setStatus("WINNING");
+        Bid savedBid = bidRepository.save(newBid);
+
+        // Update auction; flushed here so a version conflict surfaces from this call, not at commit
+        auction.setCurrentPrice(bidAmount);
+        auction.setHighestBidderId(bidderId);
+        auction.setWinningBidId(savedBid.getId());
+        auction.setTotalBids(auction.getTotalBids() + 1);
+        auctionRepository.saveAndFlush(auction);
+
+        return new Result(savedBid, auction.getTotalBids());
+    }
+}
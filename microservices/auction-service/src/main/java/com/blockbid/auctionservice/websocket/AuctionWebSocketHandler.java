@@ -1,33 +1,94 @@
 package com.blockbid.auctionservice.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class AuctionWebSocketHandler extends TextWebSocketHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(AuctionWebSocketHandler.class);
 
+    // A subscriber that cannot take a message within this time, or falls this far behind, is closed
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
     // Map of itemId -> Set of WebSocket sessions
     private final Map<Long, CopyOnWriteArraySet<WebSocketSession>> itemSessions = new ConcurrentHashMap<>();
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Session id -> thread-safe decorator; every send goes through it
+    private final Map<String, WebSocketSession> sessionsById = new ConcurrentHashMap<>();
+
+    // Only present in virtual-thread mode; otherwise broadcasts send inline on the caller's thread
+    @Autowired(required = false)
+    @Qualifier("webSocketSendExecutor")
+    private ExecutorService sendExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Absent when tracing is disabled; messages then go out without trace context
+    @Autowired(required = false)
+    private Tracer tracer;
+
+    @Autowired(required = false)
+    private Propagator propagator;
+
+    // Boot's mapper, so java.time values go out as ISO strings like the REST responses
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Timer newBidFanout;
+    private Timer auctionEndedFanout;
+    private DistributionSummary newBidRecipients;
+
+    @PostConstruct
+    void initMetrics() {
+        // Time to hand one message to every subscriber: the full send inline, the dispatch in virtual-thread mode
+        newBidFanout = Timer.builder("auction.broadcast.fanout")
+                .tag("type", "NEW_BID")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        auctionEndedFanout = Timer.builder("auction.broadcast.fanout")
+                .tag("type", "AUCTION_ENDED")
+                .register(meterRegistry);
+        newBidRecipients = DistributionSummary.builder("auction.broadcast.recipients")
+                .description("Subscribers a new bid was sent to")
+                .tag("type", "NEW_BID")
+                .register(meterRegistry);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         logger.info("WebSocket connection established: {}", session.getId());
-        session.sendMessage(new TextMessage("{\"type\":\"CONNECTION_ESTABLISHED\",\"message\":\"Connected to auction updates\"}"));
+        WebSocketSession concurrentSession =
+            new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES);
+        sessionsById.put(session.getId(), concurrentSession);
+        concurrentSession.sendMessage(new TextMessage("{\"type\":\"CONNECTION_ESTABLISHED\",\"message\":\"Connected to auction updates\"}"));
     }
 
     @Override
@@ -49,7 +110,7 @@ public class AuctionWebSocketHandler extends TextWebSocketHandler {
                     "itemId", itemId,
                     "message", "Subscribed to item " + itemId + " updates"
                 );
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+                concurrent(session).sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
             }
 
         } catch (Exception e) {
@@ -63,7 +124,10 @@ public class AuctionWebSocketHandler extends TextWebSocketHandler {
         logger.info("WebSocket connection closed: {} - Status: {}", session.getId(), status);
 
         // Remove session from all item subscriptions
-        itemSessions.values().forEach(sessions -> sessions.remove(session));
+        WebSocketSession concurrentSession = sessionsById.remove(session.getId());
+        if (concurrentSession != null) {
+            itemSessions.values().forEach(sessions -> sessions.remove(concurrentSession));
+        }
 
         // Clean up empty sets
         itemSessions.entrySet().removeIf(entry -> entry.getValue().isEmpty());
@@ -79,7 +143,7 @@ public class AuctionWebSocketHandler extends TextWebSocketHandler {
      * Subscribe a WebSocket session to updates for a specific item
      */
     private void subscribe(WebSocketSession session, Long itemId) {
-        itemSessions.computeIfAbsent(itemId, k -> new CopyOnWriteArraySet<>()).add(session);
+        itemSessions.computeIfAbsent(itemId, k -> new CopyOnWriteArraySet<>()).add(concurrent(session));
         logger.info("Session {} subscribed to item {}", session.getId(), itemId);
     }
 
@@ -95,26 +159,19 @@ public class AuctionWebSocketHandler extends TextWebSocketHandler {
         }
 
         try {
-            Map<String, Object> message = Map.of(
-                "type", "NEW_BID",
-                "data", bidData
-            );
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "NEW_BID");
+            message.put("data", bidData);
+            addTraceContext(message);
 
             String messageJson = objectMapper.writeValueAsString(message);
             TextMessage textMessage = new TextMessage(messageJson);
 
-            logger.info("Broadcasting new bid for item {} to {} sessions", itemId, sessions.size());
-
-            for (WebSocketSession session : sessions) {
-                if (session.isOpen()) {
-                    try {
-                        session.sendMessage(textMessage);
-                    } catch (IOException e) {
-                        logger.error("Error sending message to session {}", session.getId(), e);
-                        sessions.remove(session);
-                    }
-                }
-            }
+            logger.debug("Broadcasting new bid for item {} to {} sessions", itemId, sessions.size());
+            long start = System.nanoTime();
+            sendToAll(sessions, textMessage);
+            newBidFanout.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            newBidRecipients.record(sessions.size());
 
         } catch (Exception e) {
             logger.error("Error broadcasting new bid", e);
@@ -132,29 +189,72 @@ public class AuctionWebSocketHandler extends TextWebSocketHandler {
         }
 
         try {
-            Map<String, Object> message = Map.of(
-                "type", "AUCTION_ENDED",
-                "data", auctionData
-            );
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "AUCTION_ENDED");
+            message.put("data", auctionData);
+            addTraceContext(message);
 
             String messageJson = objectMapper.writeValueAsString(message);
             TextMessage textMessage = new TextMessage(messageJson);
+            long start = System.nanoTime();
+            sendToAll(sessions, textMessage);
+            auctionEndedFanout.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-            for (WebSocketSession session : sessions) {
-                if (session.isOpen()) {
-                    try {
-                        session.sendMessage(textMessage);
-                    } catch (IOException e) {
-                        logger.error("Error sending auction ended message to session {}", session.getId(), e);
-                    }
+        } catch (Exception e) {
+            logger.error("Error broadcasting auction ended", e);
+        }
+    }
+
+    /**
+     * Send a message to every open session, one task per session when a send
+     * executor is configured so a slow subscriber does not hold up the rest
+     */
+    private void sendToAll(CopyOnWriteArraySet<WebSocketSession> sessions, TextMessage textMessage) {
+        for (WebSocketSession session : sessions) {
+            if (!session.isOpen()) {
+                continue;
+            }
+            if (sendExecutor != null) {
+                try {
+                    sendExecutor.execute(() -> send(sessions, session, textMessage));
+                    continue;
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: fall back to sending inline
                 }
             }
+            send(sessions, session, textMessage);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Error broadcasting auction ended", e);
+    private void send(CopyOnWriteArraySet<WebSocketSession> sessions, WebSocketSession session, TextMessage textMessage) {
+        try {
+            session.sendMessage(textMessage);
+        } catch (IOException | RuntimeException e) {
+            // The decorator closes sessions that exceed the send time or buffer limit
+            logger.error("Error sending message to session {}", session.getId(), e);
+            sessions.remove(session);
         }
     }
 
+    /**
+     * Adds the current trace context (W3C traceparent) as top-level message
+     * fields, so the gateway can continue the originating request's trace
+     * when it forwards the message to browsers
+     */
+    private void addTraceContext(Map<String, Object> message) {
+        if (tracer == null || propagator == null) {
+            return;
+        }
+        TraceContext context = tracer.currentTraceContext().context();
+        if (context != null) {
+            propagator.inject(context, message, (carrier, key, value) -> carrier.put(key, value));
+        }
+    }
+
+    private WebSocketSession concurrent(WebSocketSession session) {
+        return sessionsById.getOrDefault(session.getId(), session);
+    }
+
     /**
      * Send error message to a specific session
      */
@@ -164,7 +264,7 @@ public class AuctionWebSocketHandler extends TextWebSocketHandler {
                 "type", "ERROR",
                 "message", errorMessage
             );
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(error)));
+            concurrent(session).sendMessage(new TextMessage(objectMapper.writeValueAsString(error)));
         } catch (IOException e) {
             logger.error("Error sending error message", e);
         }
@@ -0,0 +1,27 @@
+-- auction-service baseline: the tables as Hibernate created them before migrations.
+-- Runs unchanged on H2 (default profile) and PostgreSQL (prod profile).
+
+CREATE TABLE auctions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id BIGINT NOT NULL UNIQUE,
+    seller_id BIGINT NOT NULL,
+    starting_price DOUBLE PRECISION NOT NULL,
+    reserve_price DOUBLE PRECISION,
+    start_time TIMESTAMP(6) NOT NULL,
+    end_time TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    current_price DOUBLE PRECISION,
+    highest_bidder_id BIGINT,
+    winning_bid_id BIGINT,
+    total_bids INTEGER
+);
+
+CREATE TABLE bids (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id BIGINT NOT NULL,
+    bidder_id BIGINT NOT NULL,
+    amount DOUBLE PRECISION NOT NULL,
+    bid_time TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    transaction_hash VARCHAR(255)
+);
@@ -0,0 +1,19 @@
+-- Indexes for the auction-service repository queries.
+
+-- findByStatusOrderByEndTimeAsc, findAuctionsEndingSoon, findExpiredAuctions
+CREATE INDEX idx_auctions_status_end_time ON auctions (status, end_time);
+
+-- findBySellerIdOrderByStartTimeDesc
+CREATE INDEX idx_auctions_seller_id_start_time ON auctions (seller_id, start_time);
+
+-- findByItemIdOrderByAmountDesc, findHighestBidForItem, countByItemId
+CREATE INDEX idx_bids_item_id_amount ON bids (item_id, amount, bid_time);
+
+-- findByItemIdOrderByBidTimeDesc
+CREATE INDEX idx_bids_item_id_bid_time ON bids (item_id, bid_time);
+
+-- findByBidderIdOrderByBidTimeDesc
+CREATE INDEX idx_bids_bidder_id_bid_time ON bids (bidder_id, bid_time);
+
+-- existsByItemIdAndBidderId, findUserHighestBidForItem
+CREATE INDEX idx_bids_item_id_bidder_id ON bids (item_id, bidder_id, amount);
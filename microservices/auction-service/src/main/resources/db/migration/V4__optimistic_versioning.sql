@@ -0,0 +1,2 @@
+-- Version column for optimistic locking of Auction (concurrent bids)
+ALTER TABLE auctions ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
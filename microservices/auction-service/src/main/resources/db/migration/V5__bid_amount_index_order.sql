@@ -0,0 +1,3 @@
+-- Highest-bid and history queries order by amount DESC, bid_time DESC; match the index order
+DROP INDEX idx_bids_item_id_amount;
+CREATE INDEX idx_bids_item_id_amount ON bids (item_id, amount DESC, bid_time DESC);
@@ -0,0 +1,106 @@
+package com.blockbid.auctionservice.repository;
+
+import com.blockbid.auctionservice.entity.Auction;
+import com.blockbid.auctionservice.entity.Bid;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The prod profile against a real PostgreSQL (the docker-compose image):
+ * Flyway applies V1 and V2, the V3 Java migration creating the pooled id
+ * sequences, the V4 version column and the V5 index reorder, and the
+ * repositories then write and read back through that schema. Skipped when
+ * no Docker daemon is available.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresMigrationTest {
+
+    private static final long ITEM_ID = 4101L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    // Item, user and blockchain services are not running; every call returns null
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Test
+    void migrationsApplyInOrder() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(applied).extracting(info -> info.getVersion().getVersion())
+            .containsExactly("1", "2", "3", "4", "5");
+        assertThat(applied).extracting(MigrationInfo::getState).containsOnly(MigrationState.SUCCESS);
+        assertThat(applied[2].getType()).isEqualTo(CoreMigrationType.JDBC);
+        assertThat(flyway.info().pending()).isEmpty();
+
+        String bidIndex = jdbcTemplate.queryForObject(
+            "SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_bids_item_id_amount'", String.class);
+        assertThat(bidIndex).contains("amount DESC", "bid_time DESC");
+    }
+
+    @Test
+    void repositoriesRoundTrip() {
+        Auction auction = auctionRepository.saveAndFlush(
+            new Auction(ITEM_ID, 7L, 250.0, LocalDateTime.now().plusDays(1)));
+        assertThat(auction.getId()).isPositive();
+        assertThat(auction.getVersion()).isZero();
+
+        Bid bid = new Bid(ITEM_ID, 8L, 300.0);
+        bid.setStatus("WINNING");
+        bid = bidRepository.saveAndFlush(bid);
+        assertThat(bid.getId()).isPositive();
+
+        auction.setCurrentPrice(bid.getAmount());
+        auction.setHighestBidderId(bid.getBidderId());
+        auction.setWinningBidId(bid.getId());
+        auction.setTotalBids(1);
+        auctionRepository.saveAndFlush(auction);
+
+        Auction loaded = auctionRepository.findByItemId(ITEM_ID).orElseThrow();
+        assertThat(loaded.getVersion()).isEqualTo(1L);
+        assertThat(loaded.getSellerId()).isEqualTo(7L);
+        assertThat(loaded.getStatus()).isEqualTo("ACTIVE");
+        assertThat(loaded.getCurrentPrice()).isEqualTo(300.0);
+        assertThat(loaded.getWinningBidId()).isEqualTo(bid.getId());
+        assertThat(loaded.getTotalBids()).isEqualTo(1);
+
+        Bid highest = bidRepository.findHighestBidForItem(ITEM_ID).orElseThrow();
+        assertThat(highest.getId()).isEqualTo(bid.getId());
+        assertThat(highest.getStatus()).isEqualTo("WINNING");
+        assertThat(highest.getBidTime()).isNotNull();
+        assertThat(bidRepository.countByItemId(ITEM_ID)).isEqualTo(1);
+    }
+}
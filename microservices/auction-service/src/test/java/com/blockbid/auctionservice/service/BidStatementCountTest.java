@@ -0,0 +1,80 @@
+package com.blockbid.auctionservice.service;
+
+import com.blockbid.auctionservice.entity.Auction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The SQL one placeBid issues once the auction records its winning bid:
+ * the auction SELECT, the OUTBID update keyed by winningBidId, the bid
+ * INSERT and the versioned auction UPDATE. The previous bid is never
+ * read. Statements are captured by a StatementInspector in place of
+ * QueryMetricsConfig's, which only counts them per HTTP request.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bid-statement-count;DB_CLOSE_DELAY=-1",
+    "spring.autoconfigure.exclude=com.blockbid.common.config.QueryMetricsConfig"
+})
+class BidStatementCountTest {
+
+    private static final long ITEM_ID = 4401L;
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementRecording {
+
+        @Bean
+        HibernatePropertiesCustomizer statementRecorder() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql.toLowerCase());
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private AuctionService auctionService;
+
+    // Item, user and blockchain services are not running; every call returns null
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void createAuctionWithWinningBid() throws Exception {
+        auctionService.createAuction(new Auction(ITEM_ID, 1L, 100.0, LocalDateTime.now().plusDays(1)));
+        auctionService.placeBid(ITEM_ID, 11L, 150.0);
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void outbiddingDoesNotSelectThePreviousBid() throws Exception {
+        auctionService.placeBid(ITEM_ID, 12L, 160.0);
+
+        // Pooled id sequence fetches come and go with the allocation block
+        List<String> statements = STATEMENTS.stream().filter(sql -> !sql.contains("_seq")).toList();
+        assertThat(statements).noneMatch(sql -> sql.startsWith("select") && sql.contains(" from bids "));
+        assertThat(statements).filteredOn(sql -> sql.startsWith("select")).hasSize(1)
+            .allMatch(sql -> sql.contains(" from auctions "));
+        assertThat(statements).filteredOn(sql -> sql.startsWith("update bids")).hasSize(1)
+            .allMatch(sql -> sql.contains("outbid"));
+        assertThat(statements).filteredOn(sql -> sql.startsWith("insert into bids")).hasSize(1);
+        assertThat(statements).filteredOn(sql -> sql.startsWith("update auctions")).hasSize(1);
+        assertThat(statements).hasSize(4);
+    }
+}
@@ -0,0 +1,106 @@
+package com.blockbid.auctionservice.service;
+
+import com.blockbid.auctionservice.entity.Auction;
+import com.blockbid.auctionservice.entity.Bid;
+import com.blockbid.auctionservice.repository.AuctionRepository;
+import com.blockbid.auctionservice.repository.BidRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many bidders on one auction at once, on H2 with the Flyway schema. Every
+ * accepted bid must be counted in Auction.totalBids exactly once, and the
+ * OUTBID updates must leave a single WINNING bid: the auction's current one.
+ * Bids rejected because a higher bid got in first are expected.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:place-bid-concurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    // Enough attempts that no bid gives up on conflicts; they are what is being tested
+    "app.bid.retry.max-attempts=100",
+    "app.bid.retry.backoff-max-ms=20"
+})
+class PlaceBidConcurrencyTest {
+
+    private static final long ITEM_ID = 4301L;
+    private static final long SELLER_ID = 1L;
+    private static final int BIDDERS = 8;
+    private static final int BIDS_PER_BIDDER = 25;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    // Item, user and blockchain services are not running; every call returns null
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Test
+    void concurrentBidsAreCountedOnceAndLeaveOneWinner() throws Exception {
+        auctionService.createAuction(new Auction(ITEM_ID, SELLER_ID, 100.0, LocalDateTime.now().plusDays(1)));
+
+        ExecutorService bidders = Executors.newFixedThreadPool(BIDDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        for (int b = 0; b < BIDDERS; b++) {
+            long bidderId = 100L + b;
+            int offset = b;
+            results.add(bidders.submit(() -> {
+                start.await();
+                for (int round = 0; round < BIDS_PER_BIDDER; round++) {
+                    // Distinct, rising amounts; interleaved so bidders keep overtaking each other
+                    double amount = 101.0 + round * BIDDERS + offset;
+                    try {
+                        auctionService.placeBid(ITEM_ID, bidderId, amount);
+                        accepted.incrementAndGet();
+                    } catch (Exception e) {
+                        if (!e.getMessage().startsWith("Bid must be higher")) {
+                            throw e;
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        bidders.shutdown();
+        assertThat(bidders.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        Auction auction = auctionRepository.findByItemId(ITEM_ID).orElseThrow();
+        List<Bid> bids = bidRepository.findByItemIdOrderByAmountDesc(ITEM_ID);
+        assertThat(accepted.get()).isPositive();
+        assertThat(auction.getTotalBids()).isEqualTo(accepted.get());
+        assertThat(bidRepository.countByItemId(ITEM_ID)).isEqualTo(auction.getTotalBids().longValue());
+
+        List<Bid> winning = bids.stream().filter(bid -> "WINNING".equals(bid.getStatus())).toList();
+        assertThat(winning).hasSize(1);
+        Bid winner = winning.get(0);
+        assertThat(winner.getId()).isEqualTo(auction.getWinningBidId());
+        assertThat(winner.getAmount()).isEqualTo(auction.getCurrentPrice());
+        assertThat(winner.getAmount()).isEqualTo(bids.get(0).getAmount());
+        assertThat(winner.getBidderId()).isEqualTo(auction.getHighestBidderId());
+    }
+}
@@ -0,0 +1,56 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.auctionservice.validation.BidValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BidValidator.validateBid on the request shapes the bid endpoint sees:
+ * a numeric amount, an amount sent as a string, and a bid below the minimum
+ * (the rejection path formats its message).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BidValidatorBenchmark {
+
+    @Param({"number", "string", "tooLow"})
+    public String request;
+
+    private Map<String, Object> body;
+    private Double currentPrice;
+
+    @Setup
+    public void setup() {
+        body = new HashMap<>();
+        body.put("bidderId", 42L);
+        currentPrice = 1250.0;
+        switch (request) {
+            case "number" -> body.put("amount", 1300.5);
+            case "string" -> body.put("amount", "1300.50");
+            case "tooLow" -> body.put("amount", 1250.0);
+            default -> throw new IllegalArgumentException(request);
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> validateBid() {
+        return BidValidator.validateBid(body, currentPrice);
+    }
+}
@@ -0,0 +1,98 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.auctionservice.websocket.AuctionWebSocketHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuctionWebSocketHandler.broadcastNewBid to N subscribers of one item:
+ * building and serializing the NEW_BID message once, then handing it to
+ * every session. Sessions are in-memory and only count what they are sent,
+ * so this measures the handler, not a network. Sends are inline, as without
+ * the virtual-thread send executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    private static final Long ITEM_ID = 1042L;
+
+    @Param({"1", "10", "100", "1000"})
+    public int sessions;
+
+    private AnnotationConfigApplicationContext context;
+    private AuctionWebSocketHandler handler;
+    private List<NoopWebSocketSession> subscribers;
+    private Map<String, Object> bidData;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(SimpleMeterRegistry.class);
+        // Configured like Spring Boot's auto-configured mapper, which the handler gets in the service
+        context.registerBean(ObjectMapper.class, () -> JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        context.register(AuctionWebSocketHandler.class);
+        context.refresh();
+        handler = context.getBean(AuctionWebSocketHandler.class);
+
+        TextMessage subscribe = new TextMessage("{\"type\":\"SUBSCRIBE\",\"itemId\":" + ITEM_ID + "}");
+        subscribers = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            NoopWebSocketSession session = new NoopWebSocketSession("session-" + i);
+            handler.afterConnectionEstablished(session);
+            handler.handleMessage(session, subscribe);
+            subscribers.add(session);
+        }
+
+        // Same fields AuctionService sends
+        bidData = new HashMap<>();
+        bidData.put("itemId", ITEM_ID);
+        bidData.put("bidderId", 77L);
+        bidData.put("bidderName", "jane_doe42");
+        bidData.put("amount", 1300.5);
+        bidData.put("bidTime", LocalDateTime.now());
+        bidData.put("totalBids", 18);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long broadcastNewBid() {
+        handler.broadcastNewBid(ITEM_ID, bidData);
+        return subscribers.get(0).bytesSent();
+    }
+}
@@ -0,0 +1,55 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.itemservice.validation.ItemValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemValidator.validateItem for a valid listing (which parses the end time)
+ * and for one whose reserve price is below the starting price.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemValidatorBenchmark {
+
+    @Param({"valid", "lowReserve"})
+    public String request;
+
+    private Map<String, Object> body;
+
+    @Setup
+    public void setup() {
+        body = new HashMap<>();
+        body.put("name", "Vintage film camera");
+        body.put("description", "35mm rangefinder in working condition, with original leather case.");
+        body.put("startingPrice", 150.0);
+        body.put("reservePrice", "valid".equals(request) ? 250.0 : 100.0);
+        body.put("category", "Electronics");
+        body.put("condition", "Used");
+        body.put("endTime", LocalDateTime.now().plusDays(7).withNano(0).toString());
+        body.put("sellerId", 7L);
+    }
+
+    @Benchmark
+    public Map<String, String> validateItem() {
+        return ItemValidator.validateItem(body);
+    }
+}
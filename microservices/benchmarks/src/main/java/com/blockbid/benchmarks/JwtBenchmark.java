@@ -0,0 +1,113 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.apigateway.security.JwtVerifier;
+import com.blockbid.apigateway.security.VerifiedToken;
+import com.blockbid.userservice.config.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils signing a token at login and verifying one, plus the rejection
+ * of a token with a tampered signature. The gateway side is JwtVerifier,
+ * which JwtAuthenticationFilter calls for every bearer token: a cold verify
+ * (signature check and claims parsing) and a lookup of an already verified
+ * token in its cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String JWT_SECRET = "blockbidUserServiceSecretKey123456789";
+
+    // Power of two, so the next cold token is picked with a mask
+    private static final int COLD_TOKENS = 1024;
+
+    private AnnotationConfigApplicationContext context;
+    private JwtUtils jwtUtils;
+    private String token;
+    private String tamperedToken;
+
+    private JwtVerifier gatewayVerifier;
+    private JwtVerifier uncachedGatewayVerifier;
+    private String[] coldTokens;
+    private int nextColdToken;
+
+    @Setup
+    public void setup() {
+        // A Spring context so the @Value settings and @PostConstruct key setup run as in user-service
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+            "app.jwtSecret", JWT_SECRET,
+            "app.jwtExpirationMs", "86400000")));
+        context.register(JwtUtils.class);
+        context.refresh();
+
+        jwtUtils = context.getBean(JwtUtils.class);
+        token = jwtUtils.generateJwtToken("jane_doe42", 42L);
+        // Change the first signature character; the last one partly encodes padding bits
+        int signature = token.lastIndexOf('.') + 1;
+        char replacement = token.charAt(signature) == 'A' ? 'B' : 'A';
+        tamperedToken = token.substring(0, signature) + replacement + token.substring(signature + 1);
+
+        // The gateway defaults; the token is verified once so it is cached before measurement
+        gatewayVerifier = new JwtVerifier(JWT_SECRET, 100_000);
+        gatewayVerifier.verify(token);
+
+        // A cache that holds nothing, fed distinct tokens so none is looked up
+        // again before its entry has been evicted
+        uncachedGatewayVerifier = new JwtVerifier(JWT_SECRET, 0);
+        coldTokens = new String[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            coldTokens[i] = jwtUtils.generateJwtToken("user_" + i, (long) i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtils.generateJwtToken("jane_doe42", 42L);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtils.parseValidClaims(token);
+    }
+
+    @Benchmark
+    public Claims verifyTampered() {
+        return jwtUtils.parseValidClaims(tamperedToken);
+    }
+
+    @Benchmark
+    public VerifiedToken gatewayVerifyCold() {
+        return uncachedGatewayVerifier.verify(coldTokens[nextColdToken++ & (COLD_TOKENS - 1)]);
+    }
+
+    @Benchmark
+    public VerifiedToken gatewayVerifyCached() {
+        return gatewayVerifier.verify(token);
+    }
+}
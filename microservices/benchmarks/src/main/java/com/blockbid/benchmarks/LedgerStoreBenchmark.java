@@ -0,0 +1,178 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.blockchainservice.blockchain.Sha256;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.Field;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.PayloadType;
+import com.blockbid.blockchainservice.ledger.LedgerEntry;
+import com.blockbid.blockchainservice.ledger.LedgerRecord;
+import com.blockbid.blockchainservice.ledger.LedgerStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * LedgerStore on a temporary directory: appending one bid record, and
+ * reading back an item's history with findByItemId when every item has N
+ * transactions, each written pending and then confirmed. Segments are
+ * 4 MiB instead of the default 64 MiB, so the history is spread over
+ * several sealed segments as on a long-running service. Appends start from
+ * an empty store every iteration, so rolls to new segments are included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerStoreBenchmark {
+
+    private static final String SEGMENT_BYTES = String.valueOf(4 * 1024 * 1024);
+    private static final String CONTRACT_ADDRESS = "0x5f3c9a1b7e2d4c6f8a0b1c2d3e4f5a6b7c8d9e0f";
+    private static final int ITEMS = 200;
+    private static final int APPEND_ENTRIES = 4096;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+
+        private Path dir;
+        private AnnotationConfigApplicationContext context;
+        private LedgerStore store;
+        private LedgerEntry[] entries;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void createEntries() {
+            entries = new LedgerEntry[APPEND_ENTRIES];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = bidEntry(i % ITEMS, i, false);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void open() throws IOException {
+            dir = Files.createTempDirectory("ledger-append");
+            context = openStore(dir);
+            store = context.getBean(LedgerStore.class);
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            context.close();
+            deleteDirectory(dir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReadState {
+
+        @Param({"10", "100", "1000"})
+        public int transactionsPerItem;
+
+        private Path dir;
+        private AnnotationConfigApplicationContext context;
+        private LedgerStore store;
+        private long nextItem;
+
+        // Pending records in blocks of 500, each block followed by its confirmations, as BlockProducer seals them
+        @Setup(Level.Trial)
+        public void load() throws IOException {
+            dir = Files.createTempDirectory("ledger-read");
+            context = openStore(dir);
+            store = context.getBean(LedgerStore.class);
+
+            int total = ITEMS * transactionsPerItem;
+            for (int from = 0; from < total; from += 500) {
+                int to = Math.min(total, from + 500);
+                List<LedgerEntry> pending = new ArrayList<>(to - from);
+                List<LedgerEntry> confirmed = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    pending.add(bidEntry(i % ITEMS, i, false));
+                    confirmed.add(bidEntry(i % ITEMS, i, true));
+                }
+                store.appendAll(pending);
+                store.appendAll(confirmed);
+            }
+            if (store.findByItemId(0).size() != transactionsPerItem) {
+                throw new IllegalStateException("Unexpected item history size");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            context.close();
+            deleteDirectory(dir);
+        }
+    }
+
+    @Benchmark
+    public long append(AppendState state) {
+        LedgerEntry entry = state.entries[state.next++ & (APPEND_ENTRIES - 1)];
+        return state.store.append(entry);
+    }
+
+    @Benchmark
+    public List<LedgerRecord> findByItemId(ReadState state) {
+        return state.store.findByItemId(state.nextItem++ % ITEMS);
+    }
+
+    // LedgerStore as the service configures it, apart from the directory and segment size
+    private static AnnotationConfigApplicationContext openStore(Path dir) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+            "blockchain.ledger.dir", dir.toString(),
+            "blockchain.ledger.segment-bytes", SEGMENT_BYTES)));
+        context.register(LedgerStore.class);
+        context.refresh();
+        return context;
+    }
+
+    // Transaction n of the run; pending and confirmed records of the same n share the hash
+    private static LedgerEntry bidEntry(long itemId, long n, boolean confirmed) {
+        long timestamp = 1_700_000_000_000L + n;
+        byte[] payload = TransactionPayload.writer(PayloadType.BID, timestamp, n)
+            .putLong(Field.ITEM_ID, itemId)
+            .putLong(Field.BIDDER_ID, 77L)
+            .putAmount(Field.AMOUNT, 1300.5)
+            .putHex(Field.CONTRACT_ADDRESS, CONTRACT_ADDRESS)
+            .toByteArray();
+        String hash = Sha256.hashToHex(payload);
+        return confirmed
+            ? new LedgerEntry(hash, "BID", itemId, 77L, timestamp, n / 500, blockHash(n / 500), payload)
+            : new LedgerEntry(hash, "BID", itemId, 77L, timestamp, -1L, null, payload);
+    }
+
+    private static String blockHash(long blockNumber) {
+        return Sha256.hashToHex(ByteBuffer.allocate(Long.BYTES).putLong(blockNumber).array());
+    }
+
+    private static void deleteDirectory(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
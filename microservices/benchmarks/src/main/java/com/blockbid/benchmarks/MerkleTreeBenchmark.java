@@ -0,0 +1,78 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.blockchainservice.blockchain.MerkleTree;
+import com.blockbid.blockchainservice.blockchain.Sha256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MerkleTree over one block of N transaction hashes: the root BlockProducer
+ * computes when sealing, the inclusion proof the proof endpoint builds, and
+ * the check of one proof as the bulk verification endpoint does it, on a
+ * reused digest. 500 is the default blockchain.block.max-transactions; the
+ * smaller sizes are blocks sealed under light load. Proofs are for the
+ * middle leaf.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MerkleTreeBenchmark {
+
+    @Param({"1", "16", "128", "500"})
+    public int transactions;
+
+    private List<String> transactionHashes;
+    private int leafIndex;
+    private String leafHash;
+    private List<String> siblings;
+    private String root;
+
+    @Setup
+    public void setup() {
+        transactionHashes = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            transactionHashes.add(Sha256.hashToHex(ByteBuffer.allocate(Long.BYTES).putLong(i).array()));
+        }
+        leafIndex = transactions / 2;
+        leafHash = transactionHashes.get(leafIndex);
+        siblings = MerkleTree.proof(transactionHashes, leafIndex);
+        root = MerkleTree.computeRoot(transactionHashes);
+        if (!MerkleTree.verify(leafHash, leafIndex, siblings, root)) {
+            throw new IllegalStateException("Proof does not verify");
+        }
+    }
+
+    @Benchmark
+    public String computeRoot() {
+        return MerkleTree.computeRoot(transactionHashes);
+    }
+
+    @Benchmark
+    public List<String> proof() {
+        return MerkleTree.proof(transactionHashes, leafIndex);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        MessageDigest digest = Sha256.digest();
+        return MerkleTree.verify(digest, leafHash, leafIndex, siblings, root);
+    }
+}
@@ -0,0 +1,88 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.Field;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.PayloadType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Prints the encoded size of each transaction payload type: the JSON
+ * string blockchain-service used to store (built the way the old
+ * createTransactionData did) against the binary TransactionPayload it
+ * stores now, for the same typical values.
+ *
+ * Usage: java -cp target/benchmarks.jar com.blockbid.benchmarks.PayloadSizes
+ */
+public class PayloadSizes {
+
+    private static final String CONTRACT_ADDRESS = "0x5f3c9a1b7e2d4c6f8a0b1c2d3e4f5a6b7c8d9e0f";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 31, 12, 0, 0, 123_456_789);
+    private static final String END_TIME = "2025-02-07T18:00";
+    private static final String PAYMENT_ID = "TXN17383248000001042";
+
+    public static void main(String[] args) {
+        System.out.printf("%-18s %10s %10s %8s%n", "payload", "json", "binary", "ratio");
+
+        print(PayloadType.AUCTION_CONTRACT,
+            json("AUCTION_CONTRACT", "itemId", 1042L, "sellerId", 77L, "startingPrice", 250.0,
+                "endTime", END_TIME, "auctionType", "FORWARD"),
+            writer(PayloadType.AUCTION_CONTRACT)
+                .putLong(Field.ITEM_ID, 1042L)
+                .putLong(Field.SELLER_ID, 77L)
+                .putAmount(Field.STARTING_PRICE, 250.0)
+                .putString(Field.END_TIME, END_TIME)
+                .putString(Field.AUCTION_TYPE, "FORWARD"));
+
+        print(PayloadType.BID,
+            json("BID", "itemId", 1042L, "bidderId", 311L, "amount", 1300.5, "contractAddress", CONTRACT_ADDRESS),
+            writer(PayloadType.BID)
+                .putLong(Field.ITEM_ID, 1042L)
+                .putLong(Field.BIDDER_ID, 311L)
+                .putAmount(Field.AMOUNT, 1300.5)
+                .putHex(Field.CONTRACT_ADDRESS, CONTRACT_ADDRESS));
+
+        print(PayloadType.AUCTION_END,
+            json("AUCTION_END", "itemId", 1042L, "winnerId", 311L, "winningBid", 1300.5,
+                "contractAddress", CONTRACT_ADDRESS),
+            writer(PayloadType.AUCTION_END)
+                .putLong(Field.ITEM_ID, 1042L)
+                .putLong(Field.WINNER_ID, 311L)
+                .putAmount(Field.WINNING_BID, 1300.5)
+                .putHex(Field.CONTRACT_ADDRESS, CONTRACT_ADDRESS));
+
+        print(PayloadType.PAYMENT,
+            json("PAYMENT", "itemId", 1042L, "payerId", 311L, "amount", 1300.5, "paymentId", PAYMENT_ID),
+            writer(PayloadType.PAYMENT)
+                .putLong(Field.ITEM_ID, 1042L)
+                .putLong(Field.PAYER_ID, 311L)
+                .putAmount(Field.AMOUNT, 1300.5)
+                .putString(Field.PAYMENT_ID, PAYMENT_ID));
+    }
+
+    private static void print(PayloadType type, String json, TransactionPayload.Writer binary) {
+        int jsonBytes = json.getBytes(StandardCharsets.UTF_8).length;
+        int binaryBytes = binary.toByteArray().length;
+        System.out.printf("%-18s %10d %10d %7.1fx%n", type, jsonBytes, binaryBytes, (double) jsonBytes / binaryBytes);
+    }
+
+    private static TransactionPayload.Writer writer(PayloadType type) {
+        return TransactionPayload.writer(type, 1_738_324_800_123L, 0x5deece66dL);
+    }
+
+    // Copy of the old BlockchainUtils.createTransactionData, with a fixed timestamp
+    private static String json(String type, Object... params) {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"type\":\"").append(type).append("\",");
+        json.append("\"timestamp\":\"").append(NOW.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("\",");
+        json.append("\"network\":\"BlockBid-Chain\",");
+        for (int i = 0; i < params.length; i += 2) {
+            json.append("\"").append(params[i]).append("\":\"").append(params[i + 1]).append("\",");
+        }
+        json.setLength(json.length() - 1);
+        json.append("}");
+        return json.toString();
+    }
+}
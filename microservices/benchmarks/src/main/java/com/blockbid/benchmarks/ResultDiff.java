@@ -0,0 +1,97 @@
+package com.blockbid.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) benchmark by benchmark.
+ *
+ * A benchmark counts as a regression when it got worse by more than the
+ * threshold and by more than the two runs' error margins combined; for
+ * average-time modes worse means slower, for throughput fewer ops. Exits
+ * with status 1 if there is any regression, so it can gate a build.
+ *
+ * Usage: java -cp target/benchmarks.jar com.blockbid.benchmarks.ResultDiff
+ *        <baseline.json> <current.json> [thresholdPercent]
+ */
+public class ResultDiff {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: ResultDiff <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+
+        int regressions = 0;
+        System.out.printf("%-72s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue().get("primaryMetric");
+            String unit = after.get("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-72s %14s %14.3f %9s  %s%n", entry.getKey(), "-", after.get("score").asDouble(), "new", unit);
+                continue;
+            }
+            before = before.get("primaryMetric");
+
+            double oldScore = before.get("score").asDouble();
+            double newScore = after.get("score").asDouble();
+            double change = (newScore - oldScore) / oldScore * 100;
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asText());
+            double worse = higherIsBetter ? oldScore - newScore : newScore - oldScore;
+            double noise = error(before) + error(after);
+            boolean regression = worse > noise && Math.abs(change) > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-72s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), oldScore, newScore, change, unit,
+                regression ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-72s %14.3f %14s %9s%n", key,
+                    baseline.get(key).get("primaryMetric").get("score").asDouble(), "-", "removed");
+            }
+        }
+
+        System.out.println();
+        System.out.println(regressions == 0 ? "No regressions above " + threshold + "%"
+            : regressions + " regression(s) above " + threshold + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // Results keyed by benchmark name plus its parameters, e.g. "BroadcastBenchmark.broadcastNewBid(sessions=100)"
+    private static Map<String, JsonNode> read(File file) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String name = result.get("benchmark").asText().replace("com.blockbid.benchmarks.", "");
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    sorted.put(field.getKey(), field.getValue().asText());
+                }
+                name += sorted.toString().replace('{', '(').replace('}', ')');
+            }
+            results.put(name, result);
+        }
+        return results;
+    }
+
+    // JMH reports NaN when there were too few iterations to estimate the error
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
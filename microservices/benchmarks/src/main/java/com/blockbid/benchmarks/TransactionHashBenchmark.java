@@ -0,0 +1,103 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.blockchainservice.blockchain.BlockchainUtils;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.Field;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.PayloadType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-transaction work in blockchain-service: encoding a bid payload
+ * (what createTransactionData used to build as a JSON string), hashing it,
+ * both together, and the JSON view returned by the history endpoints.
+ * The *Baseline benchmarks hash the way BlockchainUtils did before the
+ * per-thread digests: a MessageDigest lookup per call and hex built one
+ * Integer.toHexString per byte.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionHashBenchmark {
+
+    private static final String CONTRACT_ADDRESS = "0x5f3c9a1b7e2d4c6f8a0b1c2d3e4f5a6b7c8d9e0f";
+
+    private BlockchainUtils blockchainUtils;
+    private byte[] bidPayload;
+
+    @Setup
+    public void setup() {
+        blockchainUtils = new BlockchainUtils();
+        bidPayload = encodeBid();
+    }
+
+    @Benchmark
+    public byte[] encodeBid() {
+        return TransactionPayload.writer(PayloadType.BID, System.currentTimeMillis(), blockchainUtils.newNonce())
+            .putLong(Field.ITEM_ID, 1042L)
+            .putLong(Field.BIDDER_ID, 77L)
+            .putAmount(Field.AMOUNT, 1300.5)
+            .putHex(Field.CONTRACT_ADDRESS, CONTRACT_ADDRESS)
+            .toByteArray();
+    }
+
+    @Benchmark
+    public String generateTransactionHash() {
+        return blockchainUtils.generateTransactionHash(bidPayload);
+    }
+
+    @Benchmark
+    public String encodeAndHashBid() {
+        return blockchainUtils.generateTransactionHash(encodeBid());
+    }
+
+    @Benchmark
+    public String generateTransactionHashBaseline() {
+        return baselineHash(bidPayload);
+    }
+
+    @Benchmark
+    public String encodeAndHashBidBaseline() {
+        return baselineHash(encodeBid());
+    }
+
+    @Benchmark
+    public String payloadToJson() {
+        return TransactionPayload.toJson(bidPayload);
+    }
+
+    // Copy of the old generateTransactionHash and HexUtils.toHex
+    private static String baselineHash(byte[] payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(payload);
+            StringBuilder hex = new StringBuilder(2 + hash.length * 2);
+            hex.append("0x");
+            for (byte b : hash) {
+                String digit = Integer.toHexString(0xff & b);
+                if (digit.length() == 1) {
+                    hex.append('0');
+                }
+                hex.append(digit);
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error generating hash", e);
+        }
+    }
+}
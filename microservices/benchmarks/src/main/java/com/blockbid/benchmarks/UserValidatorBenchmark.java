@@ -0,0 +1,57 @@
+package com.blockbid.benchmarks;
+
+import com.blockbid.userservice.validation.UserValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserValidator.validateSignup for a complete, valid sign-up (every field
+ * and pattern checked) and for one rejected at the email check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidatorBenchmark {
+
+    @Param({"valid", "badEmail"})
+    public String request;
+
+    private Map<String, String> body;
+
+    @Setup
+    public void setup() {
+        body = new HashMap<>();
+        body.put("username", "jane_doe42");
+        body.put("email", "valid".equals(request) ? "jane.doe@example.com" : "jane.doe@example");
+        body.put("password", "secret123");
+        body.put("firstName", "Jane");
+        body.put("lastName", "O'Neil-Doe");
+        body.put("streetNumber", "123");
+        body.put("streetName", "Main Street");
+        body.put("city", "Toronto");
+        body.put("province", "ON");
+        body.put("postalCode", "M5V 2T6");
+        body.put("country", "Canada");
+    }
+
+    @Benchmark
+    public Map<String, String> validateSignup() {
+        return UserValidator.validateSignup(body);
+    }
+}
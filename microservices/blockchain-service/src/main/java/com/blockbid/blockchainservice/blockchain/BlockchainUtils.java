@@ -3,64 +3,40 @@ package com.blockbid.blockchainservice.blockchain;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class BlockchainUtils {
     
-    private static final SecureRandom random = new SecureRandom();
-    private static long blockCounter = 1000000L; // Starting block number
+    private static final byte CONTRACT_ADDRESS_DOMAIN = 0x01;
+    private static final int CONTRACT_ADDRESS_BYTES = 20;
     
-    // Generate transaction hash (simulates Ethereum transaction hash)
-    public String generateTransactionHash(String data) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            String input = data + System.currentTimeMillis() + random.nextLong();
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            
-            // Convert to hex string (Ethereum format)
-            StringBuilder hexString = new StringBuilder("0x");
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            
-            return hexString.toString().substring(0, 66); // Ethereum hash length
-            
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error generating hash", e);
-        }
+    private final AtomicLong nonceSequence = new AtomicLong(new SecureRandom().nextLong());
+    
+    // Transaction hash over the canonical binary payload, so it can be recomputed from the stored row
+    public String generateTransactionHash(byte[] payload) {
+        return Sha256.hashToHex(payload);
     }
     
-    // Generate contract address (simulates Ethereum contract deployment)
-    public String generateContractAddress() {
-        String prefix = "0x";
-        StringBuilder address = new StringBuilder(prefix);
-        
-        // Generate 40 character hex address (Ethereum format)
-        for (int i = 0; i < 40; i++) {
-            int digit = random.nextInt(16);
-            address.append(Integer.toHexString(digit));
-        }
-        
-        return address.toString();
+    // Payload nonces are a sequence from a random per-boot seed: unique within a run, no shared RNG per call
+    public long newNonce() {
+        return nonceSequence.incrementAndGet();
     }
     
-    // Generate block hash
-    public String generateBlockHash() {
-        return generateTransactionHash("BLOCK" + getNextBlockNumber());
+    // Contract address = last 20 bytes of SHA-256 over the deployment payload (domain-separated from the tx hash)
+    public String deriveContractAddress(byte[] deploymentPayload) {
+        return Sha256.hashToHex(CONTRACT_ADDRESS_DOMAIN, deploymentPayload, CONTRACT_ADDRESS_BYTES);
     }
     
-    // Get next block number
-    public synchronized long getNextBlockNumber() {
-        return ++blockCounter;
+    // Block hash over the header fields, so any change to a block or its predecessor changes the hash
+    public String computeBlockHash(long blockNumber, String previousHash, String merkleRoot,
+                                   LocalDateTime timestamp, int transactionCount) {
+        String header = blockNumber + "|" + previousHash + "|" + merkleRoot + "|"
+            + timestamp.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "|" + transactionCount;
+        return Sha256.hashToHex(header.getBytes(StandardCharsets.UTF_8));
     }
     
     // Simulate gas estimation
@@ -79,28 +55,6 @@ public class BlockchainUtils {
         }
     }
     
-    // Create transaction data JSON
-    public String createTransactionData(String type, Object... params) {
-        StringBuilder json = new StringBuilder("{");
-        json.append("\"type\":\"").append(type).append("\",");
-        json.append("\"timestamp\":\"").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("\",");
-        json.append("\"network\":\"BlockBid-Chain\",");
-        
-        if (params.length >= 2) {
-            for (int i = 0; i < params.length; i += 2) {
-                json.append("\"").append(params[i]).append("\":\"").append(params[i + 1]).append("\",");
-            }
-        }
-        
-        // Remove last comma and close JSON
-        if (json.charAt(json.length() - 1) == ',') {
-            json.setLength(json.length() - 1);
-        }
-        json.append("}");
-        
-        return json.toString();
-    }
-    
     // Validate transaction hash format
     public boolean isValidTransactionHash(String hash) {
         return hash != null && hash.startsWith("0x") && hash.length() == 66;
@@ -110,14 +64,4 @@ public class BlockchainUtils {
     public boolean isValidContractAddress(String address) {
         return address != null && address.startsWith("0x") && address.length() == 42;
     }
-    
-    // Simulate blockchain confirmation delay
-    public void simulateBlockConfirmation() {
-        try {
-            // Simulate 15 second block time (like Ethereum)
-            Thread.sleep(2000); // Shortened for demo
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
\ No newline at end of file
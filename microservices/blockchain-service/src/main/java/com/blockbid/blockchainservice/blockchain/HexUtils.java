@@ -0,0 +1,71 @@
+package com.blockbid.blockchainservice.blockchain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 0x-prefixed lowercase hex encoding used for hashes and addresses.
+ *
+ * Encoding goes through a 16-entry digit table into a per-thread Latin-1
+ * buffer, so encoding a hash allocates only the resulting String.
+ */
+public final class HexUtils {
+    
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VALUES = new byte[128];
+    
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            VALUES["0123456789abcdef".charAt(i)] = (byte) i;
+            VALUES["0123456789ABCDEF".charAt(i)] = (byte) i;
+        }
+    }
+    
+    private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[2 + 2 * 64]);
+    
+    private HexUtils() {}
+    
+    public static String toHex(byte[] bytes) {
+        return toHex(bytes, 0, bytes.length);
+    }
+    
+    public static String toHex(byte[] bytes, int offset, int length) {
+        int size = 2 + 2 * length;
+        byte[] buffer = BUFFERS.get();
+        if (buffer.length < size) {
+            buffer = new byte[size];
+            BUFFERS.set(buffer);
+        }
+        buffer[0] = '0';
+        buffer[1] = 'x';
+        for (int i = 0; i < length; i++) {
+            int b = bytes[offset + i] & 0xff;
+            buffer[2 + 2 * i] = DIGITS[b >>> 4];
+            buffer[3 + 2 * i] = DIGITS[b & 0x0f];
+        }
+        return new String(buffer, 0, size, StandardCharsets.ISO_8859_1);
+    }
+    
+    public static byte[] fromHex(String hex) {
+        int start = hex.startsWith("0x") ? 2 : 0;
+        int digits = hex.length() - start;
+        if (digits % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even number of digits");
+        }
+        byte[] bytes = new byte[digits / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = digit(hex.charAt(start + 2 * i));
+            int low = digit(hex.charAt(start + 2 * i + 1));
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid hex digit in " + hex);
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+    
+    private static int digit(char c) {
+        return c < VALUES.length ? VALUES[c] : -1;
+    }
+}
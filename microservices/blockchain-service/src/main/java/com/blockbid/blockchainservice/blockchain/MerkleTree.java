@@ -0,0 +1,117 @@
+package com.blockbid.blockchainservice.blockchain;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary SHA-256 Merkle tree over transaction hashes.
+ *
+ * Leaves are the decoded transaction hashes in block order (ascending
+ * transaction id). Each parent is SHA-256(left || right); when a level has an
+ * odd number of nodes the last node is paired with itself.
+ */
+public final class MerkleTree {
+    
+    private MerkleTree() {}
+    
+    public static String computeRoot(List<String> transactionHashes) {
+        if (transactionHashes.isEmpty()) {
+            throw new IllegalArgumentException("Cannot build a Merkle tree without transactions");
+        }
+        
+        MessageDigest digest = Sha256.digest();
+        List<byte[]> level = new ArrayList<>(transactionHashes.size());
+        for (String hash : transactionHashes) {
+            level.add(HexUtils.fromHex(hash));
+        }
+        
+        while (level.size() > 1) {
+            List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                byte[] left = level.get(i);
+                byte[] right = i + 1 < level.size() ? level.get(i + 1) : left;
+                parents.add(hashPair(digest, left, right));
+            }
+            level = parents;
+        }
+        
+        return HexUtils.toHex(level.get(0));
+    }
+    
+    /**
+     * Sibling hashes from the leaf at leafIndex up to (excluding) the root.
+     * Whether each sibling is on the left or the right follows from the bits
+     * of leafIndex, so the proof is just the index plus this list.
+     */
+    public static List<String> proof(List<String> transactionHashes, int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= transactionHashes.size()) {
+            throw new IllegalArgumentException("Leaf index out of range");
+        }
+        
+        MessageDigest digest = Sha256.digest();
+        List<byte[]> level = new ArrayList<>(transactionHashes.size());
+        for (String hash : transactionHashes) {
+            level.add(HexUtils.fromHex(hash));
+        }
+        
+        List<String> siblings = new ArrayList<>();
+        int index = leafIndex;
+        while (level.size() > 1) {
+            int siblingIndex = index ^ 1;
+            siblings.add(HexUtils.toHex(siblingIndex < level.size() ? level.get(siblingIndex) : level.get(index)));
+            
+            List<byte[]> parents = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                byte[] left = level.get(i);
+                byte[] right = i + 1 < level.size() ? level.get(i + 1) : left;
+                parents.add(hashPair(digest, left, right));
+            }
+            level = parents;
+            index >>= 1;
+        }
+        return siblings;
+    }
+    
+    // Number of sibling hashes in a proof for a tree with this many leaves
+    public static int depth(int leafCount) {
+        int depth = 0;
+        for (int width = leafCount; width > 1; width = (width + 1) / 2) {
+            depth++;
+        }
+        return depth;
+    }
+    
+    // Recomputes the root from a leaf and its proof and compares it with the expected root
+    public static boolean verify(String transactionHash, int leafIndex, List<String> siblings, String expectedRoot) {
+        return verify(Sha256.digest(), transactionHash, leafIndex, siblings, expectedRoot);
+    }
+    
+    public static boolean verify(MessageDigest digest, String transactionHash, int leafIndex,
+                                 List<String> siblings, String expectedRoot) {
+        if (leafIndex < 0) {
+            return false;
+        }
+        try {
+            byte[] current = HexUtils.fromHex(transactionHash);
+            int index = leafIndex;
+            for (String sibling : siblings) {
+                byte[] siblingBytes = HexUtils.fromHex(sibling);
+                current = (index & 1) == 0
+                    ? hashPair(digest, current, siblingBytes)
+                    : hashPair(digest, siblingBytes, current);
+                index >>= 1;
+            }
+            return index == 0 && MessageDigest.isEqual(current, HexUtils.fromHex(expectedRoot));
+        } catch (IllegalArgumentException e) {
+            // Malformed hex in the proof
+            return false;
+        }
+    }
+    
+    static byte[] hashPair(MessageDigest digest, byte[] left, byte[] right) {
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+}
@@ -0,0 +1,65 @@
+package com.blockbid.blockchainservice.blockchain;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 on per-thread digests.
+ *
+ * MessageDigest.getInstance walks the provider list on every call; a digest
+ * per thread is created once and reset by each digest() call instead. The
+ * hex variants hash into a per-thread scratch array, so the returned String
+ * is the only allocation.
+ */
+public final class Sha256 {
+    
+    public static final int HASH_BYTES = 32;
+    
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[HASH_BYTES]);
+    
+    private Sha256() {}
+    
+    // This thread's digest; callers must finish each update/digest sequence before handing it elsewhere
+    public static MessageDigest digest() {
+        MessageDigest digest = DIGESTS.get();
+        digest.reset();
+        return digest;
+    }
+    
+    public static byte[] hash(byte[] input) {
+        return digest().digest(input);
+    }
+    
+    public static String hashToHex(byte[] input) {
+        MessageDigest digest = digest();
+        digest.update(input);
+        return finishToHex(digest, HASH_BYTES);
+    }
+    
+    // Hex of the last length bytes of SHA-256(prefix || input), e.g. 20 for an address
+    public static String hashToHex(byte prefix, byte[] input, int length) {
+        MessageDigest digest = digest();
+        digest.update(prefix);
+        digest.update(input);
+        return finishToHex(digest, length);
+    }
+    
+    private static String finishToHex(MessageDigest digest, int length) {
+        byte[] scratch = SCRATCH.get();
+        try {
+            digest.digest(scratch, 0, HASH_BYTES);
+        } catch (DigestException e) {
+            throw new IllegalStateException("SHA-256 digest failed", e);
+        }
+        return HexUtils.toHex(scratch, HASH_BYTES - length, length);
+    }
+}
@@ -0,0 +1,369 @@
+package com.blockbid.blockchainservice.blockchain;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Compact binary encoding of transaction payloads.
+ *
+ * Layout (version 1):
+ * <pre>
+ *   [version:1][payloadType:1][timestampMillis:varint][nonce:8][field]*
+ *   field = [key:varint = fieldId << 3 | wireType][value]
+ * </pre>
+ * Integers are zigzag varints, amounts with at most two decimals are stored
+ * as varint cents (otherwise as a raw double), strings and byte strings are
+ * length-prefixed. Constants such as the network name are implied by the
+ * version and only appear in the JSON view. The encoded bytes are the
+ * canonical form: transaction hashes are computed over them, header
+ * included. The timestamp is the wall-clock time the transaction was
+ * recorded, so a hash is only reproducible from the stored payload, not
+ * from the business fields alone. The nonce (a per-boot sequence, see
+ * BlockchainUtils.newNonce) keeps payloads recorded in the same millisecond
+ * apart.
+ */
+public final class TransactionPayload {
+    
+    public static final byte VERSION = 1;
+    public static final String NETWORK = "BlockBid-Chain";
+    
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_CENTS = 1;
+    static final int WIRE_DOUBLE = 2;
+    static final int WIRE_STRING = 3;
+    static final int WIRE_BYTES = 4;
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    
+    private static final ThreadLocal<Writer> WRITERS = ThreadLocal.withInitial(Writer::new);
+    
+    public enum PayloadType {
+        AUCTION_CONTRACT(1), BID(2), AUCTION_END(3), PAYMENT(4);
+    
+        private final int code;
+    
+        PayloadType(int code) {
+            this.code = code;
+        }
+    
+        static PayloadType fromCode(int code) {
+            for (PayloadType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+    
+    // Field ids are part of the format: never renumber, only append
+    public enum Field {
+        ITEM_ID(1, "itemId"),
+        SELLER_ID(2, "sellerId"),
+        BIDDER_ID(3, "bidderId"),
+        WINNER_ID(4, "winnerId"),
+        PAYER_ID(5, "payerId"),
+        AMOUNT(6, "amount"),
+        STARTING_PRICE(7, "startingPrice"),
+        WINNING_BID(8, "winningBid"),
+        END_TIME(9, "endTime"),
+        AUCTION_TYPE(10, "auctionType"),
+        CONTRACT_ADDRESS(11, "contractAddress"),
+        PAYMENT_ID(12, "paymentId");
+    
+        private static final Field[] BY_ID = new Field[16];
+    
+        static {
+            for (Field field : values()) {
+                BY_ID[field.id] = field;
+            }
+        }
+    
+        private final int id;
+        private final String jsonName;
+    
+        Field(int id, String jsonName) {
+            this.id = id;
+            this.jsonName = jsonName;
+        }
+    
+        public String jsonName() { return jsonName; }
+    
+        static Field fromId(int id) {
+            return id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+        }
+    }
+    
+    private TransactionPayload() {}
+    
+    // Starts a payload on this thread's reusable writer
+    public static Writer writer(PayloadType type, long timestampMillis, long nonce) {
+        return WRITERS.get().begin(type, timestampMillis, nonce);
+    }
+    
+    public static String toJson(byte[] payload) {
+        return toJson(ByteBuffer.wrap(payload));
+    }
+    
+    // JSON view of an encoded payload; rows written before the binary format are returned as stored
+    public static String toJson(ByteBuffer payload) {
+        if (!payload.hasRemaining() || payload.get(payload.position()) != VERSION) {
+            return StandardCharsets.UTF_8.decode(payload.duplicate()).toString();
+        }
+    
+        Reader reader = new Reader(payload);
+        StringBuilder json = new StringBuilder(160);
+        PayloadType type = reader.payloadType();
+        json.append("{\"type\":");
+        appendJsonString(json, type != null ? type.name() : "UNKNOWN");
+        json.append(",\"timestamp\":\"")
+            .append(LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.timestampMillis()), ZoneId.systemDefault())
+                .format(TIMESTAMP_FORMAT))
+            .append("\",\"network\":\"").append(NETWORK).append('"');
+    
+        while (reader.next()) {
+            Field field = reader.field();
+            json.append(",\"").append(field != null ? field.jsonName() : "field" + reader.fieldId()).append("\":");
+            switch (reader.wireType()) {
+                case WIRE_VARINT -> json.append(reader.longValue());
+                case WIRE_CENTS, WIRE_DOUBLE -> json.append(reader.doubleValue());
+                case WIRE_STRING -> appendJsonString(json, reader.stringValue());
+                default -> json.append('"').append(HexUtils.toHex(reader.bytesValue())).append('"');
+            }
+        }
+        return json.append('}').toString();
+    }
+    
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+    
+    /**
+     * Encodes into a growable per-thread buffer; the only allocation per
+     * payload is the final copy returned by {@link #toByteArray()}. Null
+     * values are skipped so absent fields cost nothing.
+     */
+    public static final class Writer {
+    
+        private byte[] buffer = new byte[256];
+        private int length;
+    
+        private Writer() {}
+    
+        Writer begin(PayloadType type, long timestampMillis, long nonce) {
+            length = 0;
+            writeByte(VERSION);
+            writeByte(type.code);
+            writeVarint(timestampMillis);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (nonce >>> shift));
+            }
+            return this;
+        }
+    
+        public Writer putLong(Field field, Long value) {
+            if (value != null) {
+                writeKey(field, WIRE_VARINT);
+                writeVarint((value << 1) ^ (value >> 63));
+            }
+            return this;
+        }
+    
+        // Accepts any Number or a numeric string, as amounts arrive from loosely typed request maps
+        public Writer putAmount(Field field, Object value) {
+            if (value == null) {
+                return this;
+            }
+            double amount = value instanceof Number number ? number.doubleValue() : Double.parseDouble(value.toString());
+            long cents = Math.round(amount * 100);
+            if (cents / 100.0 == amount) {
+                writeKey(field, WIRE_CENTS);
+                writeVarint((cents << 1) ^ (cents >> 63));
+            } else {
+                writeKey(field, WIRE_DOUBLE);
+                long bits = Double.doubleToLongBits(amount);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    writeByte((int) (bits >>> shift));
+                }
+            }
+            return this;
+        }
+    
+        public Writer putString(Field field, Object value) {
+            if (value == null) {
+                return this;
+            }
+            String string = value.toString();
+            writeKey(field, WIRE_STRING);
+            if (isAscii(string)) {
+                writeVarint(string.length());
+                ensureCapacity(string.length());
+                for (int i = 0; i < string.length(); i++) {
+                    buffer[length++] = (byte) string.charAt(i);
+                }
+            } else {
+                writeBytes(string.getBytes(StandardCharsets.UTF_8));
+            }
+            return this;
+        }
+    
+        // 0x-prefixed hex (addresses, hashes) stored as raw bytes
+        public Writer putHex(Field field, String hex) {
+            if (hex != null) {
+                writeKey(field, WIRE_BYTES);
+                writeBytes(HexUtils.fromHex(hex));
+            }
+            return this;
+        }
+    
+        public byte[] toByteArray() {
+            byte[] payload = new byte[length];
+            System.arraycopy(buffer, 0, payload, 0, length);
+            return payload;
+        }
+    
+        private void writeKey(Field field, int wireType) {
+            writeVarint(((long) field.id << 3) | wireType);
+        }
+    
+        private void writeBytes(byte[] bytes) {
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+    
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+    
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) value;
+        }
+    
+        private void ensureCapacity(int additional) {
+            if (length + additional > buffer.length) {
+                byte[] grown = new byte[Math.max(buffer.length * 2, length + additional)];
+                System.arraycopy(buffer, 0, grown, 0, length);
+                buffer = grown;
+            }
+        }
+    
+        private static boolean isAscii(String string) {
+            for (int i = 0; i < string.length(); i++) {
+                if (string.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Pull reader over an encoded payload. Iterating fields and reading
+     * numeric values does not allocate.
+     */
+    public static final class Reader {
+    
+        private final ByteBuffer buffer;
+        private final PayloadType payloadType;
+        private final long timestampMillis;
+        private final long nonce;
+        private int fieldId;
+        private int wireType;
+    
+        public Reader(ByteBuffer payload) {
+            this.buffer = payload.duplicate();
+            int version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported payload version " + version);
+            }
+            this.payloadType = PayloadType.fromCode(buffer.get());
+            this.timestampMillis = readVarint();
+            this.nonce = buffer.getLong();
+        }
+    
+        public PayloadType payloadType() { return payloadType; }
+        public long timestampMillis() { return timestampMillis; }
+        public long nonce() { return nonce; }
+        public int fieldId() { return fieldId; }
+        public int wireType() { return wireType; }
+        public Field field() { return Field.fromId(fieldId); }
+    
+        // Advances to the next field key; the value must be read (or skipped) before calling again
+        public boolean next() {
+            if (!buffer.hasRemaining()) {
+                return false;
+            }
+            long key = readVarint();
+            fieldId = (int) (key >>> 3);
+            wireType = (int) (key & 0x7);
+            return true;
+        }
+    
+        public long longValue() {
+            long zigzag = readVarint();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+    
+        public double doubleValue() {
+            if (wireType == WIRE_CENTS) {
+                return longValue() / 100.0;
+            }
+            return Double.longBitsToDouble(buffer.getLong());
+        }
+    
+        public String stringValue() {
+            int size = (int) readVarint();
+            String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), size)).toString();
+            buffer.position(buffer.position() + size);
+            return value;
+        }
+    
+        public byte[] bytesValue() {
+            byte[] value = new byte[(int) readVarint()];
+            buffer.get(value);
+            return value;
+        }
+    
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.blockbid.blockchainservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.blockbid.common.config.VirtualThreadConfig.newVirtualThreadExecutor;
+
+/**
+ * MVC async work (the NDJSON history stream) on virtual threads, alongside
+ * the Tomcat request threads of the common VirtualThreadConfig, so writes
+ * to slow clients do not occupy pooled platform threads. Block production
+ * and ledger compaction keep their scheduler threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadAsyncConfig {
+
+    // Streaming responses (StreamingResponseBody) run on the MVC async executor
+    @Bean
+    public WebMvcConfigurer virtualThreadAsyncSupport() {
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(newVirtualThreadExecutor("mvc-async-"));
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(executor);
+            }
+        };
+    }
+}
@@ -1,12 +1,20 @@
 package com.blockbid.blockchainservice.controller;
 
+import com.blockbid.blockchainservice.entity.Block;
 import com.blockbid.blockchainservice.entity.BlockchainTransaction;
 import com.blockbid.blockchainservice.entity.SmartContract;
 import com.blockbid.blockchainservice.service.BlockchainService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +28,16 @@ public class BlockchainController {
     @Autowired
     private BlockchainService blockchainService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private static final int MAX_PROOFS_PER_REQUEST = 10000;
+    private static final int MAX_LEDGER_LATEST = 500;
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_EVENTS = 1000;
+    private static final int STREAM_FLUSH_ROWS = 100;
+    private static final String NDJSON = "application/x-ndjson";
+    
     // Deploy auction smart contract (UC8)
     @PostMapping("/contracts/deploy")
     public ResponseEntity<?> deployAuctionContract(@RequestBody Map<String, Object> request) {
@@ -125,16 +143,40 @@ public class BlockchainController {
         }
     }
     
-    // Get auction history from blockchain (UC8 - Transparency)
+    // Record many BID / AUCTION_END / PAYMENT events at once; per-event hash or rejection message
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<?> recordBatch(@RequestBody List<Map<String, Object>> events) {
+        if (events.isEmpty() || events.size() > MAX_BATCH_EVENTS) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "A batch must contain between 1 and " + MAX_BATCH_EVENTS + " events");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        List<Map<String, Object>> results = blockchainService.recordBatch(events);
+        long accepted = results.stream().filter(result -> result.containsKey("transactionHash")).count();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("accepted", accepted);
+        response.put("rejected", results.size() - accepted);
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+    
+    // Get auction history from blockchain (UC8 - Transparency), one page at a time, newest first
     @GetMapping("/auctions/{itemId}/history")
-    public ResponseEntity<?> getAuctionHistory(@PathVariable Long itemId) {
+    public ResponseEntity<?> getAuctionHistory(@PathVariable Long itemId,
+                                               @RequestParam(required = false) Long cursor,
+                                               @RequestParam(defaultValue = "100") int limit) {
         try {
-            List<BlockchainTransaction> history = blockchainService.getAuctionHistory(itemId);
+            int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+            List<BlockchainTransaction> history = blockchainService.getAuctionHistoryPage(itemId, cursor, pageSize);
             
             Map<String, Object> response = new HashMap<>();
             response.put("itemId", itemId);
-            response.put("totalTransactions", history.size());
+            response.put("totalTransactions", blockchainService.countAuctionTransactions(itemId));
             response.put("transactions", history);
+            // Null on the last page
+            response.put("nextCursor", history.size() == pageSize ? history.get(history.size() - 1).getId() : null);
             response.put("blockchainVerified", true);
             response.put("explorerUrl", "https://blockbid-explorer.com/auction/" + itemId);
             
@@ -147,6 +189,43 @@ public class BlockchainController {
         }
     }
     
+    // Whole auction history as NDJSON, written row by row while the query is still being read
+    @GetMapping(value = "/auctions/{itemId}/history/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAuctionHistory(@PathVariable Long itemId) {
+        StreamingResponseBody body = out -> {
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            int[] written = new int[1];
+            blockchainService.streamAuctionHistory(itemId, tx -> {
+                try {
+                    writer.write(tx);
+                    if (++written[0] % STREAM_FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (written[0] > 0) {
+                out.write('\n');
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+    
+    // Compact auction summary for receipts (no full history download)
+    @GetMapping("/auctions/{itemId}/summary")
+    public ResponseEntity<?> getAuctionSummary(@PathVariable Long itemId) {
+        try {
+            return ResponseEntity.ok(blockchainService.getAuctionSummary(itemId));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     // Verify transaction (UC8 - Verification)
     @GetMapping("/transactions/{txHash}/verify")
     public ResponseEntity<?> verifyTransaction(@PathVariable String txHash) {
@@ -161,6 +240,51 @@ public class BlockchainController {
         }
     }
     
+    // Merkle inclusion proof for a transaction (UC8 - Verification)
+    @GetMapping("/transactions/{txHash}/proof")
+    public ResponseEntity<?> getInclusionProof(@PathVariable String txHash) {
+        try {
+            return ResponseEntity.ok(blockchainService.getInclusionProof(txHash));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.status(404).body(error);
+            }
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    // Bulk proof verification against stored block roots
+    @PostMapping("/proofs/verify")
+    public ResponseEntity<?> verifyProofs(@RequestBody Map<String, Object> request) {
+        Object proofs = request.get("proofs");
+        if (!(proofs instanceof List<?> proofList)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "proofs must be a list");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (proofList.size() > MAX_PROOFS_PER_REQUEST) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "At most " + MAX_PROOFS_PER_REQUEST + " proofs per request");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        List<Map<String, Object>> parsed = new ArrayList<>(proofList.size());
+        for (Object proof : proofList) {
+            if (!(proof instanceof Map<?, ?>)) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Each proof must be an object");
+                return ResponseEntity.badRequest().body(error);
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> proofMap = (Map<String, Object>) proof;
+            parsed.add(proofMap);
+        }
+        
+        return ResponseEntity.ok(blockchainService.verifyProofs(parsed));
+    }
+    
     // Get transaction details
     @GetMapping("/transactions/{txHash}")
     public ResponseEntity<?> getTransaction(@PathVariable String txHash) {
@@ -182,6 +306,53 @@ public class BlockchainController {
         }
     }
     
+    // Ledger view of an auction's transactions, each in its latest state
+    @GetMapping("/ledger/items/{itemId}")
+    public ResponseEntity<?> getLedgerHistory(@PathVariable Long itemId) {
+        return ResponseEntity.ok(blockchainService.getLedgerHistory(itemId));
+    }
+    
+    @GetMapping("/ledger/transactions/{txHash}")
+    public ResponseEntity<?> getLedgerTransaction(@PathVariable String txHash) {
+        try {
+            Optional<Map<String, Object>> record = blockchainService.getLedgerTransaction(txHash);
+            if (record.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(record.get());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    @GetMapping("/ledger/latest")
+    public ResponseEntity<?> getLatestLedgerTransactions(@RequestParam(defaultValue = "20") int limit) {
+        int bounded = Math.max(1, Math.min(limit, MAX_LEDGER_LATEST));
+        return ResponseEntity.ok(blockchainService.getLatestLedgerTransactions(bounded));
+    }
+    
+    // Get latest block
+    @GetMapping("/blocks/latest")
+    public ResponseEntity<?> getLatestBlock() {
+        Optional<Block> block = blockchainService.getLatestBlock();
+        if (block.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(block.get());
+    }
+    
+    // Get block by number
+    @GetMapping("/blocks/{blockNumber}")
+    public ResponseEntity<?> getBlock(@PathVariable Long blockNumber) {
+        Optional<Block> block = blockchainService.getBlock(blockNumber);
+        if (block.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(block.get());
+    }
+    
     // Get smart contract details
     @GetMapping("/contracts/{itemId}")
     public ResponseEntity<?> getAuctionContract(@PathVariable Long itemId) {
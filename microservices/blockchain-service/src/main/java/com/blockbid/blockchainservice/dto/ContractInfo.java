@@ -0,0 +1,17 @@
+package com.blockbid.blockchainservice.dto;
+
+/**
+ * The parts of a smart contract that ledger writes need: its address (put
+ * into BID and AUCTION_END payloads) and its status. Loaded with a JPQL
+ * constructor query and cached per item by ContractCache.
+ */
+public record ContractInfo(Long itemId, String contractAddress, String status) {
+    
+    public boolean isActive() {
+        return "ACTIVE".equals(status);
+    }
+    
+    public ContractInfo withStatus(String newStatus) {
+        return new ContractInfo(itemId, contractAddress, newStatus);
+    }
+}
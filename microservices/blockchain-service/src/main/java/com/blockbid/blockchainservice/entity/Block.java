@@ -0,0 +1,66 @@
+package com.blockbid.blockchainservice.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "blocks")
+public class Block {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true)
+    private Long blockNumber;
+    
+    @Column(nullable = false, unique = true)
+    private String blockHash;
+    
+    @Column(nullable = false)
+    private String previousHash;
+    
+    @Column(nullable = false)
+    private String merkleRoot;
+    
+    @Column(nullable = false)
+    private Integer transactionCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+    
+    // Constructors
+    public Block() {}
+    
+    public Block(Long blockNumber, String blockHash, String previousHash, 
+                String merkleRoot, Integer transactionCount, LocalDateTime timestamp) {
+        this.blockNumber = blockNumber;
+        this.blockHash = blockHash;
+        this.previousHash = previousHash;
+        this.merkleRoot = merkleRoot;
+        this.transactionCount = transactionCount;
+        this.timestamp = timestamp;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getBlockNumber() { return blockNumber; }
+    public void setBlockNumber(Long blockNumber) { this.blockNumber = blockNumber; }
+    
+    public String getBlockHash() { return blockHash; }
+    public void setBlockHash(String blockHash) { this.blockHash = blockHash; }
+    
+    public String getPreviousHash() { return previousHash; }
+    public void setPreviousHash(String previousHash) { this.previousHash = previousHash; }
+    
+    public String getMerkleRoot() { return merkleRoot; }
+    public void setMerkleRoot(String merkleRoot) { this.merkleRoot = merkleRoot; }
+    
+    public Integer getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(Integer transactionCount) { this.transactionCount = transactionCount; }
+    
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -1,14 +1,19 @@
 package com.blockbid.blockchainservice.entity;
 
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "blockchain_transactions")
+@Table(name = "blockchain_transactions",
+       indexes = @Index(name = "idx_blockchain_transactions_item_id", columnList = "itemId, id"))
 public class BlockchainTransaction {
     
+    // Pooled sequence (V3 migration), so recordBatch inserts go out as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blockchain_transactions_seq")
+    @SequenceGenerator(name = "blockchain_transactions_seq", sequenceName = "blockchain_transactions_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -29,8 +34,8 @@ public class BlockchainTransaction {
     @Column
     private Long userId;
     
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String transactionData; // JSON data
+    @Column(nullable = false, length = 1024)
+    private byte[] payload; // TransactionPayload binary form; the tx hash is computed over it
     
     @Column(nullable = false)
     private LocalDateTime timestamp;
@@ -55,11 +60,11 @@ public class BlockchainTransaction {
     public BlockchainTransaction() {}
     
     public BlockchainTransaction(String transactionHash, String transactionType, 
-                                Long itemId, String transactionData) {
+                                Long itemId, byte[] payload) {
         this.transactionHash = transactionHash;
         this.transactionType = transactionType;
         this.itemId = itemId;
-        this.transactionData = transactionData;
+        this.payload = payload;
     }
     
     // Getters and Setters
@@ -84,8 +89,12 @@ public class BlockchainTransaction {
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
     
-    public String getTransactionData() { return transactionData; }
-    public void setTransactionData(String transactionData) { this.transactionData = transactionData; }
+    @JsonIgnore
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+    
+    // JSON view, decoded on read
+    public String getTransactionData() { return payload != null ? TransactionPayload.toJson(payload) : null; }
     
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
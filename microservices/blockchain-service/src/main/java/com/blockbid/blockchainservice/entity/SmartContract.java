@@ -17,7 +17,7 @@ public class SmartContract {
     @Column(nullable = false)
     private String contractType = "AUCTION"; // AUCTION, PAYMENT, ESCROW
     
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private Long itemId;
     
     @Column(nullable = false)
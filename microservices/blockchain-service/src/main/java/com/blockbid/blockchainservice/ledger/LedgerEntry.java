@@ -0,0 +1,88 @@
+package com.blockbid.blockchainservice.ledger;
+
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+import com.blockbid.blockchainservice.entity.BlockchainTransaction;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A transaction state to append to the ledger. A transaction is appended
+ * once when recorded (blockNumber -1) and again when its block is sealed;
+ * the newer record supersedes the older one.
+ */
+public class LedgerEntry {
+    
+    static final long NO_BLOCK = -1L;
+    static final long NO_USER = -1L;
+    
+    private final String transactionHash;
+    private final String transactionType;
+    private final long itemId;
+    private final long userId;
+    private final long timestampMillis;
+    private final long blockNumber;
+    private final String blockHash;
+    private final byte[] data;
+    
+    public LedgerEntry(String transactionHash, String transactionType, long itemId, long userId,
+                       long timestampMillis, long blockNumber, String blockHash, byte[] data) {
+        this.transactionHash = transactionHash;
+        this.transactionType = transactionType;
+        this.itemId = itemId;
+        this.userId = userId;
+        this.timestampMillis = timestampMillis;
+        this.blockNumber = blockNumber;
+        this.blockHash = blockHash;
+        this.data = data;
+    }
+    
+    public static LedgerEntry pending(BlockchainTransaction tx) {
+        return of(tx, NO_BLOCK, null);
+    }
+    
+    public static LedgerEntry confirmed(BlockchainTransaction tx, long blockNumber, String blockHash) {
+        return of(tx, blockNumber, blockHash);
+    }
+    
+    private static LedgerEntry of(BlockchainTransaction tx, long blockNumber, String blockHash) {
+        return new LedgerEntry(
+            tx.getTransactionHash(),
+            tx.getTransactionType(),
+            tx.getItemId(),
+            tx.getUserId() != null ? tx.getUserId() : NO_USER,
+            tx.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+            blockNumber,
+            blockHash,
+            tx.getPayload()
+        );
+    }
+    
+    public String getTransactionHash() { return transactionHash; }
+    public String getTransactionType() { return transactionType; }
+    public long getItemId() { return itemId; }
+    public long getUserId() { return userId; }
+    public long getTimestampMillis() { return timestampMillis; }
+    public long getBlockNumber() { return blockNumber; }
+    public String getBlockHash() { return blockHash; }
+    public byte[] getData() { return data; }
+    
+    // Same shape as LedgerRecord.toMap, without the ledger sequence
+    public Map<String, Object> toMap() {
+        boolean confirmed = blockNumber != NO_BLOCK;
+        Map<String, Object> map = new HashMap<>();
+        map.put("transactionHash", transactionHash);
+        map.put("transactionType", transactionType);
+        map.put("itemId", itemId);
+        map.put("userId", userId != NO_USER ? userId : null);
+        map.put("timestamp", LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault()));
+        map.put("status", confirmed ? "CONFIRMED" : "PENDING");
+        map.put("blockNumber", confirmed ? blockNumber : null);
+        map.put("blockHash", blockHash);
+        map.put("transactionData", TransactionPayload.toJson(data));
+        return map;
+    }
+}
@@ -0,0 +1,199 @@
+package com.blockbid.blockchainservice.ledger;
+
+import com.blockbid.blockchainservice.blockchain.HexUtils;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Zero-copy view of one ledger record inside a mapped segment.
+ *
+ * On disk a record is [int bodyLength][int crc32(body)][body], where the
+ * body is:
+ *
+ *   long sequence, long timestampMillis, long itemId, long userId,
+ *   long blockNumber, byte[32] txHash, byte[32] blockHash,
+ *   byte typeLength, type (ASCII), int dataLength, data
+ *
+ * Accessors read straight from the mapped buffer; nothing is copied until
+ * a caller asks for a String or a map.
+ */
+public final class LedgerRecord {
+    
+    static final int HEADER_BYTES = 8;
+    static final int HASH_BYTES = 32;
+    
+    private static final int SEQUENCE = 0;
+    private static final int TIMESTAMP = 8;
+    private static final int ITEM_ID = 16;
+    private static final int USER_ID = 24;
+    private static final int BLOCK_NUMBER = 32;
+    private static final int TX_HASH = 40;
+    private static final int BLOCK_HASH = TX_HASH + HASH_BYTES;
+    private static final int TYPE_LENGTH = BLOCK_HASH + HASH_BYTES;
+    private static final int FIXED_BODY_BYTES = TYPE_LENGTH + 1 + 4;
+    
+    private static final byte[] NO_BLOCK_HASH = new byte[HASH_BYTES];
+    
+    private final ByteBuffer body;
+    private final int offset;
+    
+    LedgerRecord(ByteBuffer body, int offset) {
+        this.body = body;
+        this.offset = offset;
+    }
+    
+    // Reads the record at offset, or returns null at the end of the written region or on a torn/corrupt record
+    static LedgerRecord read(ByteBuffer segment, int offset, int limit) {
+        if (offset + HEADER_BYTES > limit) {
+            return null;
+        }
+        int bodyLength = segment.getInt(offset);
+        if (bodyLength < FIXED_BODY_BYTES || offset + HEADER_BYTES + bodyLength > limit) {
+            return null;
+        }
+        ByteBuffer body = segment.slice(offset + HEADER_BYTES, bodyLength).asReadOnlyBuffer();
+        
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+            return null;
+        }
+        return new LedgerRecord(body, offset);
+    }
+    
+    // Reads a record already known to be valid (located through an index)
+    static LedgerRecord readTrusted(ByteBuffer segment, int offset) {
+        int bodyLength = segment.getInt(offset);
+        return new LedgerRecord(segment.slice(offset + HEADER_BYTES, bodyLength).asReadOnlyBuffer(), offset);
+    }
+    
+    static int encodedLength(LedgerEntry entry) {
+        return HEADER_BYTES + FIXED_BODY_BYTES + typeBytes(entry).length + entry.getData().length;
+    }
+    
+    // Encodes the entry at the target's current position
+    static void write(ByteBuffer target, long sequence, LedgerEntry entry) {
+        byte[] type = typeBytes(entry);
+        byte[] data = entry.getData();
+        int bodyLength = FIXED_BODY_BYTES + type.length + data.length;
+        int start = target.position();
+        
+        target.putInt(bodyLength);
+        target.putInt(0); // crc placeholder
+        target.putLong(sequence);
+        target.putLong(entry.getTimestampMillis());
+        target.putLong(entry.getItemId());
+        target.putLong(entry.getUserId());
+        target.putLong(entry.getBlockNumber());
+        target.put(hashBytes(entry.getTransactionHash()));
+        target.put(entry.getBlockHash() != null ? hashBytes(entry.getBlockHash()) : NO_BLOCK_HASH);
+        target.put((byte) type.length);
+        target.put(type);
+        target.putInt(data.length);
+        target.put(data);
+        
+        CRC32 crc = new CRC32();
+        crc.update(target.slice(start + HEADER_BYTES, bodyLength));
+        target.putInt(start + 4, (int) crc.getValue());
+    }
+    
+    static byte[] hashBytes(String hash) {
+        byte[] bytes = HexUtils.fromHex(hash);
+        if (bytes.length != HASH_BYTES) {
+            throw new IllegalArgumentException("Expected a 32-byte hash: " + hash);
+        }
+        return bytes;
+    }
+    
+    // First 8 bytes of a hash, used as the index key (full hash is compared on lookup)
+    static long hashKey(byte[] hash) {
+        return ByteBuffer.wrap(hash).getLong();
+    }
+    
+    private static byte[] typeBytes(LedgerEntry entry) {
+        byte[] type = entry.getTransactionType().getBytes(StandardCharsets.US_ASCII);
+        if (type.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Transaction type too long");
+        }
+        return type;
+    }
+    
+    int offset() { return offset; }
+    
+    int encodedLength() { return HEADER_BYTES + body.limit(); }
+    
+    public long sequence() { return body.getLong(SEQUENCE); }
+    public long timestampMillis() { return body.getLong(TIMESTAMP); }
+    public long itemId() { return body.getLong(ITEM_ID); }
+    public long blockNumber() { return body.getLong(BLOCK_NUMBER); }
+    public boolean isConfirmed() { return blockNumber() != LedgerEntry.NO_BLOCK; }
+    
+    public Long userId() {
+        long userId = body.getLong(USER_ID);
+        return userId == LedgerEntry.NO_USER ? null : userId;
+    }
+    
+    long hashKey() { return body.getLong(TX_HASH); }
+    
+    byte[] transactionHashBytes() {
+        byte[] hash = new byte[HASH_BYTES];
+        body.get(TX_HASH, hash);
+        return hash;
+    }
+    
+    boolean hasTransactionHash(byte[] hash) {
+        return body.slice(TX_HASH, HASH_BYTES).equals(ByteBuffer.wrap(hash));
+    }
+    
+    public String transactionHash() { return hex(TX_HASH); }
+    
+    public String blockHash() { return isConfirmed() ? hex(BLOCK_HASH) : null; }
+    
+    public String transactionType() {
+        int typeLength = body.get(TYPE_LENGTH);
+        byte[] type = new byte[typeLength];
+        body.get(TYPE_LENGTH + 1, type);
+        return new String(type, StandardCharsets.US_ASCII);
+    }
+    
+    // Payload as a read-only slice of the mapped segment
+    public ByteBuffer data() {
+        int typeLength = body.get(TYPE_LENGTH);
+        int dataLengthPosition = TYPE_LENGTH + 1 + typeLength;
+        return body.slice(dataLengthPosition + 4, body.getInt(dataLengthPosition));
+    }
+    
+    // Whole record (header + body) for copying into another segment during compaction
+    ByteBuffer raw(ByteBuffer segment) {
+        return segment.slice(offset, encodedLength());
+    }
+    
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("sequence", sequence());
+        map.put("transactionHash", transactionHash());
+        map.put("transactionType", transactionType());
+        map.put("itemId", itemId());
+        map.put("userId", userId());
+        map.put("timestamp", LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis()), ZoneId.systemDefault()));
+        map.put("status", isConfirmed() ? "CONFIRMED" : "PENDING");
+        map.put("blockNumber", isConfirmed() ? blockNumber() : null);
+        map.put("blockHash", blockHash());
+        map.put("transactionData", TransactionPayload.toJson(data()));
+        return map;
+    }
+    
+    private String hex(int position) {
+        byte[] hash = new byte[HASH_BYTES];
+        body.get(position, hash);
+        return HexUtils.toHex(hash);
+    }
+}
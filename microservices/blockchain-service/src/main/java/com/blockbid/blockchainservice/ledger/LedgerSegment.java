@@ -0,0 +1,339 @@
+package com.blockbid.blockchainservice.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * One append-only segment file of the ledger plus its indexes.
+ *
+ * While active, the segment is mapped read-write at its full capacity and
+ * its indexes live on the heap. Sealing truncates the file to the written
+ * size, remaps it read-only and writes three index files next to it: tx hash
+ * and itemId sorted indexes and the record offsets in append order. The
+ * offsets file header records the segment size so a segment whose indexes
+ * do not match it (e.g. after a crash mid-compaction) is re-indexed on open.
+ */
+final class LedgerSegment {
+    
+    static final String SEGMENT_SUFFIX = ".segment";
+    private static final String HASH_INDEX_SUFFIX = ".hash.idx";
+    private static final String ITEM_INDEX_SUFFIX = ".item.idx";
+    private static final String OFFSETS_SUFFIX = ".offsets";
+    
+    private static final int OFFSETS_MAGIC = 0x4C454447; // "LEDG"
+    private static final int OFFSETS_HEADER_BYTES = 16;
+    private static final int FLAG_COMPACTED = 1;
+    
+    private final Path dir;
+    private final long baseSequence;
+    private MappedByteBuffer buffer;
+    private int size;
+    private long lastSequence = -1;
+    private boolean sealed;
+    private boolean compacted;
+    
+    // Active segment state
+    private final Map<Long, List<Integer>> activeByHash = new HashMap<>();
+    private final Map<Long, List<Integer>> activeByItem = new HashMap<>();
+    private int[] activeOffsets = new int[1024];
+    private long[] activeHashKeys = new long[1024];
+    private long[] activeItemIds = new long[1024];
+    private int activeCount;
+    
+    // Sealed segment state
+    private SortedIndex hashIndex;
+    private SortedIndex itemIndex;
+    private IntBuffer sealedOffsets;
+    
+    private LedgerSegment(Path dir, long baseSequence) {
+        this.dir = dir;
+        this.baseSequence = baseSequence;
+    }
+    
+    static String fileName(long baseSequence, String suffix) {
+        return String.format("%020d%s", baseSequence, suffix);
+    }
+    
+    static long parseBaseSequence(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    static boolean isSealedOnDisk(Path dir, long baseSequence) {
+        return Files.exists(dir.resolve(fileName(baseSequence, OFFSETS_SUFFIX)));
+    }
+    
+    static LedgerSegment create(Path dir, long baseSequence, int capacity) throws IOException {
+        LedgerSegment segment = new LedgerSegment(dir, baseSequence);
+        segment.buffer = map(segment.path(SEGMENT_SUFFIX), FileChannel.MapMode.READ_WRITE, capacity);
+        return segment;
+    }
+    
+    // Reopens the last segment for appending, recovering the write position by scanning
+    static LedgerSegment openActive(Path dir, long baseSequence, int capacity) throws IOException {
+        LedgerSegment segment = new LedgerSegment(dir, baseSequence);
+        long existing = Files.size(segment.path(SEGMENT_SUFFIX));
+        segment.buffer = map(segment.path(SEGMENT_SUFFIX), FileChannel.MapMode.READ_WRITE,
+            (int) Math.max(capacity, existing));
+        
+        int offset = 0;
+        LedgerRecord record;
+        while ((record = LedgerRecord.read(segment.buffer, offset, segment.buffer.capacity())) != null) {
+            segment.track(record.sequence(), record.hashKey(), record.itemId(), offset);
+            offset += record.encodedLength();
+        }
+        segment.size = offset;
+        segment.terminate();
+        return segment;
+    }
+    
+    static LedgerSegment openSealed(Path dir, long baseSequence) throws IOException {
+        LedgerSegment segment = new LedgerSegment(dir, baseSequence);
+        Path file = segment.path(SEGMENT_SUFFIX);
+        segment.buffer = map(file, FileChannel.MapMode.READ_ONLY, (int) Files.size(file));
+        segment.size = segment.buffer.capacity();
+        segment.sealed = true;
+        
+        if (!segment.loadIndexes()) {
+            segment.rebuildIndexes();
+        }
+        return segment;
+    }
+    
+    long baseSequence() { return baseSequence; }
+    long lastSequence() { return lastSequence; }
+    int size() { return size; }
+    boolean isSealed() { return sealed; }
+    boolean isCompacted() { return compacted; }
+    ByteBuffer buffer() { return buffer; }
+    
+    int recordCount() {
+        return sealed ? sealedOffsets.limit() : activeCount;
+    }
+    
+    boolean hasRoom(int recordLength) {
+        return size + recordLength <= buffer.capacity();
+    }
+    
+    int append(long sequence, LedgerEntry entry) {
+        int offset = size;
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        LedgerRecord.write(target, sequence, entry);
+        size = target.position();
+        terminate();
+        
+        track(sequence, LedgerRecord.hashKey(LedgerRecord.hashBytes(entry.getTransactionHash())), entry.getItemId(), offset);
+        return offset;
+    }
+    
+    // Copies an already encoded record (compaction); the CRC travels with it
+    void appendRaw(LedgerRecord record, ByteBuffer source) {
+        int offset = size;
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(record.raw(source));
+        size = target.position();
+        
+        track(record.sequence(), record.hashKey(), record.itemId(), offset);
+    }
+    
+    void force() {
+        buffer.force();
+    }
+    
+    // Truncates to the written size, remaps read-only and writes the index files
+    void seal(boolean markCompacted) throws IOException {
+        buffer.force();
+        Path file = path(SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+        buffer = map(file, FileChannel.MapMode.READ_ONLY, size);
+        compacted = markCompacted;
+        
+        hashIndex = SortedIndex.write(path(HASH_INDEX_SUFFIX), activeHashKeys, activeOffsets, activeCount);
+        itemIndex = SortedIndex.write(path(ITEM_INDEX_SUFFIX), activeItemIds, activeOffsets, activeCount);
+        writeOffsets(Arrays.copyOf(activeOffsets, activeCount));
+        sealed = true;
+        
+        activeByHash.clear();
+        activeByItem.clear();
+        activeOffsets = null;
+        activeHashKeys = null;
+        activeItemIds = null;
+    }
+    
+    void forEachByHash(byte[] hash, Consumer<LedgerRecord> consumer) {
+        long key = LedgerRecord.hashKey(hash);
+        forEachOffset(key, true, offset -> {
+            LedgerRecord record = LedgerRecord.readTrusted(buffer, offset);
+            if (record.hasTransactionHash(hash)) {
+                consumer.accept(record);
+            }
+        });
+    }
+    
+    void forEachByItem(long itemId, Consumer<LedgerRecord> consumer) {
+        forEachOffset(itemId, false, offset -> consumer.accept(LedgerRecord.readTrusted(buffer, offset)));
+    }
+    
+    // Record by append ordinal (0 = oldest in this segment)
+    LedgerRecord recordAt(int ordinal) {
+        int offset = sealed ? sealedOffsets.get(ordinal) : activeOffsets[ordinal];
+        return LedgerRecord.readTrusted(buffer, offset);
+    }
+    
+    void delete() throws IOException {
+        for (String suffix : new String[] { OFFSETS_SUFFIX, HASH_INDEX_SUFFIX, ITEM_INDEX_SUFFIX, SEGMENT_SUFFIX }) {
+            Files.deleteIfExists(path(suffix));
+        }
+    }
+    
+    // Moves this (sealed) segment's files into another directory, replacing files with the same names
+    void moveTo(Path targetDir) throws IOException {
+        // Indexes first: if interrupted, the size check in the offsets header forces a re-index
+        for (String suffix : new String[] { HASH_INDEX_SUFFIX, ITEM_INDEX_SUFFIX, OFFSETS_SUFFIX, SEGMENT_SUFFIX }) {
+            Files.move(path(suffix), targetDir.resolve(fileName(baseSequence, suffix)),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+    
+    private void forEachOffset(long key, boolean byHash, IntConsumer consumer) {
+        if (sealed) {
+            (byHash ? hashIndex : itemIndex).forEach(key, consumer);
+            return;
+        }
+        List<Integer> offsets = (byHash ? activeByHash : activeByItem).get(key);
+        if (offsets != null) {
+            for (int offset : offsets) {
+                consumer.accept(offset);
+            }
+        }
+    }
+    
+    private void track(long sequence, long hashKey, long itemId, int offset) {
+        if (activeCount == activeOffsets.length) {
+            int newLength = activeOffsets.length * 2;
+            activeOffsets = Arrays.copyOf(activeOffsets, newLength);
+            activeHashKeys = Arrays.copyOf(activeHashKeys, newLength);
+            activeItemIds = Arrays.copyOf(activeItemIds, newLength);
+        }
+        activeOffsets[activeCount] = offset;
+        activeHashKeys[activeCount] = hashKey;
+        activeItemIds[activeCount] = itemId;
+        activeCount++;
+        
+        activeByHash.computeIfAbsent(hashKey, k -> new ArrayList<>(1)).add(offset);
+        activeByItem.computeIfAbsent(itemId, k -> new ArrayList<>()).add(offset);
+        lastSequence = sequence;
+    }
+    
+    // Zero length marks the end of the written region for recovery after a torn write
+    private void terminate() {
+        if (size + 4 <= buffer.capacity()) {
+            buffer.putInt(size, 0);
+        }
+    }
+    
+    private boolean loadIndexes() throws IOException {
+        Path offsetsFile = path(OFFSETS_SUFFIX);
+        if (!Files.exists(offsetsFile) || !Files.exists(path(HASH_INDEX_SUFFIX)) || !Files.exists(path(ITEM_INDEX_SUFFIX))) {
+            return false;
+        }
+        
+        MappedByteBuffer offsets = map(offsetsFile, FileChannel.MapMode.READ_ONLY, (int) Files.size(offsetsFile));
+        if (offsets.capacity() < OFFSETS_HEADER_BYTES
+                || offsets.getInt(0) != OFFSETS_MAGIC
+                || offsets.getInt(8) != size
+                || offsets.capacity() != OFFSETS_HEADER_BYTES + offsets.getInt(12) * 4) {
+            return false;
+        }
+        
+        compacted = (offsets.getInt(4) & FLAG_COMPACTED) != 0;
+        sealedOffsets = offsets.slice(OFFSETS_HEADER_BYTES, offsets.capacity() - OFFSETS_HEADER_BYTES).asIntBuffer();
+        hashIndex = SortedIndex.open(path(HASH_INDEX_SUFFIX));
+        itemIndex = SortedIndex.open(path(ITEM_INDEX_SUFFIX));
+        if (hashIndex.size() != sealedOffsets.limit() || itemIndex.size() != sealedOffsets.limit()) {
+            return false;
+        }
+        if (sealedOffsets.limit() > 0) {
+            lastSequence = recordAt(sealedOffsets.limit() - 1).sequence();
+        }
+        return true;
+    }
+    
+    private void rebuildIndexes() throws IOException {
+        activeOffsets = new int[1024];
+        activeHashKeys = new long[1024];
+        activeItemIds = new long[1024];
+        activeCount = 0;
+        
+        int offset = 0;
+        LedgerRecord record;
+        while ((record = LedgerRecord.read(buffer, offset, size)) != null) {
+            track(record.sequence(), record.hashKey(), record.itemId(), offset);
+            offset += record.encodedLength();
+        }
+        
+        hashIndex = SortedIndex.write(path(HASH_INDEX_SUFFIX), activeHashKeys, activeOffsets, activeCount);
+        itemIndex = SortedIndex.write(path(ITEM_INDEX_SUFFIX), activeItemIds, activeOffsets, activeCount);
+        writeOffsets(Arrays.copyOf(activeOffsets, activeCount));
+        
+        activeByHash.clear();
+        activeByItem.clear();
+        activeOffsets = null;
+        activeHashKeys = null;
+        activeItemIds = null;
+    }
+    
+    private void writeOffsets(int[] offsets) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(OFFSETS_HEADER_BYTES + offsets.length * 4);
+        header.putInt(OFFSETS_MAGIC);
+        header.putInt(compacted ? FLAG_COMPACTED : 0);
+        header.putInt(size);
+        header.putInt(offsets.length);
+        for (int offset : offsets) {
+            header.putInt(offset);
+        }
+        header.flip();
+        
+        try (FileChannel channel = FileChannel.open(path(OFFSETS_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+        }
+        
+        MappedByteBuffer mapped = map(path(OFFSETS_SUFFIX), FileChannel.MapMode.READ_ONLY, OFFSETS_HEADER_BYTES + offsets.length * 4);
+        sealedOffsets = mapped.slice(OFFSETS_HEADER_BYTES, offsets.length * 4).asIntBuffer();
+    }
+    
+    private Path path(String suffix) {
+        return dir.resolve(fileName(baseSequence, suffix));
+    }
+    
+    private static MappedByteBuffer map(Path file, FileChannel.MapMode mode, int length) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+            ? new StandardOpenOption[] { StandardOpenOption.READ }
+            : new StandardOpenOption[] { StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE };
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, length);
+        }
+    }
+}
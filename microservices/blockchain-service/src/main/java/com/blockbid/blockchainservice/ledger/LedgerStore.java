@@ -0,0 +1,365 @@
+package com.blockbid.blockchainservice.ledger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped transaction ledger.
+ *
+ * Records are appended sequentially to the active segment; when it is full
+ * it is sealed (indexed and remapped read-only) and a new segment starts at
+ * the next sequence number. Lookups by tx hash and itemId go through the
+ * per-segment sparse indexes and return zero-copy views of the mapped files.
+ *
+ * A transaction normally has two records, pending and confirmed, written a
+ * few seconds apart. Compaction rewrites each sealed segment once, dropping
+ * records superseded within it or by the following segment, and merges it
+ * into its predecessor when both fit in one segment. Readers always resolve
+ * to the newest record per hash, so a superseded record that survives
+ * compaction is only wasted space.
+ */
+@Component
+public class LedgerStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LedgerStore.class);
+    
+    private static final String COMPACTION_DIR = "compaction";
+    private static final int MAX_COMPACTIONS_PER_RUN = 16;
+    
+    @Value("${blockchain.ledger.dir:./data/ledger}")
+    private String directory;
+    
+    @Value("${blockchain.ledger.segment-bytes:67108864}")
+    private int segmentBytes;
+    
+    @Value("${blockchain.ledger.force-on-append:false}")
+    private boolean forceOnAppend;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    
+    // Oldest first; the last segment is the active one
+    private final List<LedgerSegment> segments = new ArrayList<>();
+    private Path dir;
+    private long nextSequence;
+    
+    @PostConstruct
+    public void open() throws IOException {
+        dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        deleteDirectory(dir.resolve(COMPACTION_DIR));
+        
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(file -> file.getFileName().toString().endsWith(LedgerSegment.SEGMENT_SUFFIX))
+                 .map(LedgerSegment::parseBaseSequence)
+                 .sorted()
+                 .forEach(bases::add);
+        }
+        
+        for (int i = 0; i < bases.size(); i++) {
+            long base = bases.get(i);
+            boolean last = i == bases.size() - 1;
+            if (last && !LedgerSegment.isSealedOnDisk(dir, base)) {
+                segments.add(LedgerSegment.openActive(dir, base, segmentBytes));
+            } else {
+                segments.add(LedgerSegment.openSealed(dir, base));
+            }
+        }
+        
+        nextSequence = 0;
+        for (LedgerSegment segment : segments) {
+            nextSequence = Math.max(nextSequence, Math.max(segment.baseSequence(), segment.lastSequence() + 1));
+        }
+        if (segments.isEmpty() || segments.get(segments.size() - 1).isSealed()) {
+            segments.add(LedgerSegment.create(dir, nextSequence, segmentBytes));
+        }
+        
+        logger.info("Ledger opened at {}: {} segment(s), next sequence {}", dir.toAbsolutePath(), segments.size(),
+            nextSequence);
+    }
+    
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            active().force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Appends one entry and returns its sequence number
+    public long append(LedgerEntry entry) {
+        return appendAll(List.of(entry)).get(0);
+    }
+    
+    // Appends entries in order under a single lock acquisition
+    public List<Long> appendAll(List<LedgerEntry> entries) {
+        List<Long> sequences = new ArrayList<>(entries.size());
+        lock.writeLock().lock();
+        try {
+            for (LedgerEntry entry : entries) {
+                int length = LedgerRecord.encodedLength(entry);
+                if (length > segmentBytes) {
+                    throw new IllegalArgumentException("Ledger record of " + length + " bytes exceeds the segment size");
+                }
+                if (!active().hasRoom(length)) {
+                    roll();
+                }
+                long sequence = nextSequence++;
+                active().append(sequence, entry);
+                sequences.add(sequence);
+            }
+            if (forceOnAppend) {
+                active().force();
+            }
+            return sequences;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to ledger", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Newest record for the transaction
+    public Optional<LedgerRecord> findByHash(String txHash) {
+        byte[] hash = LedgerRecord.hashBytes(txHash);
+        lock.readLock().lock();
+        try {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                LedgerRecord[] newest = new LedgerRecord[1];
+                segments.get(i).forEachByHash(hash, record -> {
+                    if (newest[0] == null || record.sequence() > newest[0].sequence()) {
+                        newest[0] = record;
+                    }
+                });
+                if (newest[0] != null) {
+                    return Optional.of(newest[0]);
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * All transactions of an item, oldest first, each in its newest state.
+     *
+     * The item's whole history is loaded into memory: the newest record per
+     * hash can only be known after every segment has been read, and the
+     * result is re-sorted by transaction time. Records are zero-copy views,
+     * so the cost is one map entry and one list slot per transaction. For an
+     * item with a very long history use the paged database history instead.
+     */
+    public List<LedgerRecord> findByItemId(long itemId) {
+        Map<String, LedgerRecord> byHash = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (LedgerSegment segment : segments) {
+                segment.forEachByItem(itemId, record -> {
+                    String hash = record.transactionHash();
+                    LedgerRecord existing = byHash.get(hash);
+                    if (existing == null || record.sequence() > existing.sequence()) {
+                        byHash.put(hash, record);
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Compaction may drop a transaction's first record, so order by transaction time rather than position
+        List<LedgerRecord> records = new ArrayList<>(byHash.values());
+        records.sort(Comparator.comparingLong(LedgerRecord::timestampMillis).thenComparingLong(LedgerRecord::sequence));
+        return records;
+    }
+    
+    // Most recently appended transactions, newest first, each in its newest state
+    public List<LedgerRecord> latest(int limit) {
+        List<LedgerRecord> result = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (int i = segments.size() - 1; i >= 0 && result.size() < limit; i--) {
+                LedgerSegment segment = segments.get(i);
+                for (int ordinal = segment.recordCount() - 1; ordinal >= 0 && result.size() < limit; ordinal--) {
+                    LedgerRecord record = segment.recordAt(ordinal);
+                    if (seen.add(record.transactionHash())) {
+                        result.add(record);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+    
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            long records = 0;
+            long bytes = 0;
+            for (LedgerSegment segment : segments) {
+                records += segment.recordCount();
+                bytes += segment.size();
+            }
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("segments", segments.size());
+            stats.put("records", records);
+            stats.put("bytes", bytes);
+            stats.put("nextSequence", nextSequence);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${blockchain.ledger.compaction-interval-ms:60000}")
+    public void compact() {
+        if (!compactionLock.tryLock()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_COMPACTIONS_PER_RUN; i++) {
+                if (!compactNext()) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Ledger compaction failed", e);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+    
+    // Compacts the oldest sealed, not yet compacted segment that has a sealed successor
+    private boolean compactNext() throws IOException {
+        LedgerSegment previous = null;
+        LedgerSegment target = null;
+        LedgerSegment successor = null;
+        
+        lock.readLock().lock();
+        try {
+            // The last segment is active, so only segments before the second to last have a sealed successor
+            for (int i = 0; i < segments.size() - 2; i++) {
+                if (!segments.get(i).isCompacted()) {
+                    previous = i > 0 ? segments.get(i - 1) : null;
+                    target = segments.get(i);
+                    successor = segments.get(i + 1);
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (target == null) {
+            return false;
+        }
+        
+        List<LedgerRecord> live = liveRecords(target, successor);
+        int liveBytes = live.stream().mapToInt(LedgerRecord::encodedLength).sum();
+        boolean merge = previous != null && previous.isCompacted() && previous.size() + liveBytes <= segmentBytes;
+        
+        LedgerSegment replacement = null;
+        if (merge || !live.isEmpty()) {
+            Path workDir = dir.resolve(COMPACTION_DIR);
+            deleteDirectory(workDir);
+            Files.createDirectories(workDir);
+            
+            long base = merge ? previous.baseSequence() : target.baseSequence();
+            LedgerSegment output = LedgerSegment.create(workDir, base, segmentBytes);
+            if (merge) {
+                for (int ordinal = 0; ordinal < previous.recordCount(); ordinal++) {
+                    output.appendRaw(previous.recordAt(ordinal), previous.buffer());
+                }
+            }
+            for (LedgerRecord record : live) {
+                output.appendRaw(record, target.buffer());
+            }
+            output.seal(true);
+            output.moveTo(dir);
+            replacement = LedgerSegment.openSealed(dir, base);
+        }
+        
+        lock.writeLock().lock();
+        try {
+            int position = segments.indexOf(target);
+            segments.remove(position);
+            if (merge) {
+                segments.set(position - 1, replacement);
+            } else if (replacement != null) {
+                segments.add(position, replacement);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        // Files of the merged segment now live in the predecessor's replacement
+        if (merge || replacement == null) {
+            target.delete();
+        }
+        return true;
+    }
+    
+    // Records of target not superseded by a newer record in target itself or in its successor
+    private List<LedgerRecord> liveRecords(LedgerSegment target, LedgerSegment successor) {
+        List<LedgerRecord> live = new ArrayList<>(target.recordCount());
+        for (int ordinal = 0; ordinal < target.recordCount(); ordinal++) {
+            LedgerRecord record = target.recordAt(ordinal);
+            byte[] hash = record.transactionHashBytes();
+            boolean[] superseded = new boolean[1];
+            target.forEachByHash(hash, other -> superseded[0] |= other.sequence() > record.sequence());
+            if (!superseded[0]) {
+                successor.forEachByHash(hash, other -> superseded[0] = true);
+            }
+            if (!superseded[0]) {
+                live.add(record);
+            }
+        }
+        return live;
+    }
+    
+    private LedgerSegment active() {
+        return segments.get(segments.size() - 1);
+    }
+    
+    private void roll() throws IOException {
+        active().seal(false);
+        segments.add(LedgerSegment.create(dir, nextSequence, segmentBytes));
+    }
+    
+    private static void deleteDirectory(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
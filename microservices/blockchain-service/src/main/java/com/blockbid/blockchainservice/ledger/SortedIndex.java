@@ -0,0 +1,107 @@
+package com.blockbid.blockchainservice.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable on-disk index of (long key, int recordOffset) pairs sorted by
+ * key, then offset. The file is memory-mapped; only every SPARSE_INTERVAL-th
+ * key is held on the heap, so a segment of millions of records costs a few
+ * kilobytes of memory. A lookup binary-searches the sparse keys and then
+ * scans at most one interval of the mapped file (plus any run of equal keys).
+ */
+final class SortedIndex {
+    
+    static final int ENTRY_BYTES = 12;
+    static final int SPARSE_INTERVAL = 64;
+    
+    private final ByteBuffer entries;
+    private final int count;
+    private final long[] sparseKeys;
+    
+    private SortedIndex(ByteBuffer entries) {
+        this.entries = entries;
+        this.count = entries.limit() / ENTRY_BYTES;
+        this.sparseKeys = new long[(count + SPARSE_INTERVAL - 1) / SPARSE_INTERVAL];
+        for (int i = 0; i < sparseKeys.length; i++) {
+            sparseKeys[i] = keyAt(i * SPARSE_INTERVAL);
+        }
+    }
+    
+    static SortedIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SortedIndex(buffer);
+        }
+    }
+    
+    // Sorts the pairs and writes them to file; keys and offsets are parallel arrays in append order
+    static SortedIndex write(Path file, long[] keys, int[] offsets, int size) throws IOException {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Stable sort keeps append (offset) order within equal keys
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+        
+        ByteBuffer buffer = ByteBuffer.allocate(size * ENTRY_BYTES);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(keys[order[i]]);
+            buffer.putInt(offsets[order[i]]);
+        }
+        buffer.flip();
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        return open(file);
+    }
+    
+    int size() {
+        return count;
+    }
+    
+    // Calls consumer with every record offset stored under key, in ascending offset order
+    void forEach(long key, IntConsumer consumer) {
+        if (count == 0) {
+            return;
+        }
+        // Last sparse block whose first key is strictly below key; equal keys may start in the block before
+        int low = 0;
+        int high = sparseKeys.length - 1;
+        int block = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sparseKeys[mid] < key) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        
+        for (int i = block * SPARSE_INTERVAL; i < count; i++) {
+            long current = keyAt(i);
+            if (current > key) {
+                return;
+            }
+            if (current == key) {
+                consumer.accept(entries.getInt(i * ENTRY_BYTES + 8));
+            }
+        }
+    }
+    
+    private long keyAt(int index) {
+        return entries.getLong(index * ENTRY_BYTES);
+    }
+}
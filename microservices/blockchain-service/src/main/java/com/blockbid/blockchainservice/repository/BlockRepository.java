@@ -0,0 +1,25 @@
+package com.blockbid.blockchainservice.repository;
+
+import com.blockbid.blockchainservice.entity.Block;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BlockRepository extends JpaRepository<Block, Long> {
+    
+    // Chain head
+    Optional<Block> findTopByOrderByBlockNumberDesc();
+    
+    // Find block by number
+    Optional<Block> findByBlockNumber(Long blockNumber);
+    
+    // Find block by hash
+    Optional<Block> findByBlockHash(String blockHash);
+    
+    // Find blocks for bulk proof verification
+    List<Block> findByBlockNumberIn(Collection<Long> blockNumbers);
+}
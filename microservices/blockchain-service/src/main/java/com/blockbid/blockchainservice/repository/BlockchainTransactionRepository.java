@@ -1,14 +1,20 @@
 package com.blockbid.blockchainservice.repository;
 
 import com.blockbid.blockchainservice.entity.BlockchainTransaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BlockchainTransactionRepository extends JpaRepository<BlockchainTransaction, Long> {
@@ -19,6 +25,19 @@ public interface BlockchainTransactionRepository extends JpaRepository<Blockchai
     // Find transactions by item ID
     List<BlockchainTransaction> findByItemIdOrderByTimestampDesc(Long itemId);
     
+    // Keyset pagination of an item's history, newest first; the cursor is the last id already returned
+    List<BlockchainTransaction> findByItemIdOrderByIdDesc(Long itemId, Pageable pageable);
+    
+    List<BlockchainTransaction> findByItemIdAndIdLessThanOrderByIdDesc(Long itemId, Long id, Pageable pageable);
+    
+    // Whole history of an item as a cursor-backed stream (must be consumed inside a transaction)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM BlockchainTransaction t WHERE t.itemId = :itemId ORDER BY t.id DESC")
+    Stream<BlockchainTransaction> streamByItemId(@Param("itemId") Long itemId);
+    
     // Find transactions by user ID
     List<BlockchainTransaction> findByUserIdOrderByTimestampDesc(Long userId);
     
@@ -40,7 +59,28 @@ public interface BlockchainTransactionRepository extends JpaRepository<Blockchai
     // Count transactions by type
     long countByTransactionType(String transactionType);
     
-    // Find latest transactions
-    @Query("SELECT t FROM BlockchainTransaction t ORDER BY t.timestamp DESC")
-    List<BlockchainTransaction> findLatestTransactions();
+    // Transaction count per type as (type, count) rows, for seeding in-memory statistics
+    @Query("SELECT t.transactionType, COUNT(t) FROM BlockchainTransaction t GROUP BY t.transactionType")
+    List<Object[]> countGroupedByType();
+    
+    // Oldest pending transactions first; the page size caps the block size
+    List<BlockchainTransaction> findByStatusOrderByIdAsc(String status, Pageable pageable);
+    
+    // Transaction hashes of one block in Merkle leaf order
+    @Query("SELECT t.transactionHash FROM BlockchainTransaction t WHERE t.blockNumber = :blockNumber ORDER BY t.id ASC")
+    List<String> findHashesByBlockNumber(@Param("blockNumber") Long blockNumber);
+    
+    // Latest transaction of a type for an item (e.g. the payment shown on a receipt)
+    Optional<BlockchainTransaction> findFirstByItemIdAndTransactionTypeOrderByIdDesc(Long itemId, String transactionType);
+    
+    // Count transactions of a type for an item
+    long countByItemIdAndTransactionType(Long itemId, String transactionType);
+    
+    // Confirm every transaction of a block in one statement
+    @Modifying
+    @Query("UPDATE BlockchainTransaction t SET t.status = 'CONFIRMED', t.confirmations = 1, " +
+           "t.blockNumber = :blockNumber, t.blockHash = :blockHash WHERE t.id IN :ids")
+    int confirmInBlock(@Param("ids") List<Long> ids,
+                       @Param("blockNumber") Long blockNumber,
+                       @Param("blockHash") String blockHash);
 }
\ No newline at end of file
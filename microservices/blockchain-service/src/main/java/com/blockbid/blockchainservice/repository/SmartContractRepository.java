@@ -1,9 +1,15 @@
 package com.blockbid.blockchainservice.repository;
 
+import com.blockbid.blockchainservice.dto.ContractInfo;
 import com.blockbid.blockchainservice.entity.SmartContract;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,20 @@ public interface SmartContractRepository extends JpaRepository<SmartContract, Lo
     // Find contract by item ID
     Optional<SmartContract> findByItemId(Long itemId);
     
+    // Address and status only, for ContractCache
+    @Query("SELECT new com.blockbid.blockchainservice.dto.ContractInfo(c.itemId, c.contractAddress, c.status) " +
+           "FROM SmartContract c WHERE c.itemId = :itemId")
+    Optional<ContractInfo> findInfoByItemId(@Param("itemId") Long itemId);
+    
+    @Query("SELECT new com.blockbid.blockchainservice.dto.ContractInfo(c.itemId, c.contractAddress, c.status) " +
+           "FROM SmartContract c WHERE c.itemId IN :itemIds")
+    List<ContractInfo> findInfoByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+    
+    // End contracts without loading them
+    @Modifying
+    @Query("UPDATE SmartContract c SET c.status = 'ENDED', c.endedAt = :endedAt WHERE c.itemId IN :itemIds")
+    int endByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("endedAt") LocalDateTime endedAt);
+    
     // Find contracts by owner
     List<SmartContract> findByOwnerIdOrderByDeployedAtDesc(Long ownerId);
     
@@ -25,6 +45,10 @@ public interface SmartContractRepository extends JpaRepository<SmartContract, Lo
     // Find contracts by type
     List<SmartContract> findByContractTypeOrderByDeployedAtDesc(String contractType);
     
+    // Contract count per type as (type, count) rows, for seeding in-memory statistics
+    @Query("SELECT c.contractType, COUNT(c) FROM SmartContract c GROUP BY c.contractType")
+    List<Object[]> countGroupedByType();
+    
     // Check if contract exists for item
     boolean existsByItemId(Long itemId);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.blockbid.blockchainservice.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects (ledger appends, counters) until the surrounding
+ * database transaction commits, so rolled-back work never becomes visible.
+ * Without an active transaction the action runs immediately.
+ */
+final class AfterCommit {
+    
+    private AfterCommit() {}
+    
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
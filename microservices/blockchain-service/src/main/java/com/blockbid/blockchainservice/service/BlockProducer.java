@@ -0,0 +1,97 @@
+package com.blockbid.blockchainservice.service;
+
+import com.blockbid.blockchainservice.blockchain.BlockchainUtils;
+import com.blockbid.blockchainservice.blockchain.MerkleTree;
+import com.blockbid.blockchainservice.entity.Block;
+import com.blockbid.blockchainservice.entity.BlockchainTransaction;
+import com.blockbid.blockchainservice.ledger.LedgerEntry;
+import com.blockbid.blockchainservice.ledger.LedgerStore;
+import com.blockbid.blockchainservice.repository.BlockRepository;
+import com.blockbid.blockchainservice.repository.BlockchainTransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seals pending transactions into hash-chained blocks on a fixed interval.
+ *
+ * Each run takes up to max-transactions PENDING rows (oldest first), computes
+ * their Merkle root, links the block to the current head through its
+ * previous hash, and confirms all of them with a single update. The
+ * scheduler never overlaps runs of this method, so blocks are never produced
+ * concurrently. Once the block commits, the confirmed state of every
+ * transaction is appended to the ledger.
+ */
+@Component
+public class BlockProducer {
+    
+    // Continues the numbering used before blocks were persisted
+    static final long FIRST_BLOCK_NUMBER = 1000001L;
+    static final String GENESIS_PREVIOUS_HASH = "0x" + "0".repeat(64);
+    
+    @Autowired
+    private BlockchainTransactionRepository transactionRepository;
+    
+    @Autowired
+    private BlockRepository blockRepository;
+    
+    @Autowired
+    private BlockchainUtils blockchainUtils;
+    
+    @Autowired
+    private LedgerStore ledgerStore;
+    
+    @Autowired
+    private BlockchainStatistics statistics;
+    
+    @Value("${blockchain.block.max-transactions:500}")
+    private int maxTransactionsPerBlock;
+    
+    @Scheduled(fixedDelayString = "${blockchain.block.interval-ms:2000}")
+    @Transactional
+    public void produceBlock() {
+        List<BlockchainTransaction> pending = transactionRepository.findByStatusOrderByIdAsc(
+            "PENDING", PageRequest.of(0, maxTransactionsPerBlock));
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        Optional<Block> head = blockRepository.findTopByOrderByBlockNumberDesc();
+        long blockNumber = head.map(block -> block.getBlockNumber() + 1).orElse(FIRST_BLOCK_NUMBER);
+        String previousHash = head.map(Block::getBlockHash).orElse(GENESIS_PREVIOUS_HASH);
+        
+        List<Long> ids = new ArrayList<>(pending.size());
+        List<String> transactionHashes = new ArrayList<>(pending.size());
+        for (BlockchainTransaction tx : pending) {
+            ids.add(tx.getId());
+            transactionHashes.add(tx.getTransactionHash());
+        }
+        
+        String merkleRoot = MerkleTree.computeRoot(transactionHashes);
+        // Truncated so the hashed timestamp matches what the database stores
+        LocalDateTime timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        String blockHash = blockchainUtils.computeBlockHash(
+            blockNumber, previousHash, merkleRoot, timestamp, pending.size());
+        
+        blockRepository.save(new Block(blockNumber, blockHash, previousHash, merkleRoot, pending.size(), timestamp));
+        transactionRepository.confirmInBlock(ids, blockNumber, blockHash);
+        
+        List<LedgerEntry> confirmed = new ArrayList<>(pending.size());
+        for (BlockchainTransaction tx : pending) {
+            confirmed.add(LedgerEntry.confirmed(tx, blockNumber, blockHash));
+        }
+        AfterCommit.run(() -> {
+            ledgerStore.appendAll(confirmed);
+            statistics.recordBlock(confirmed);
+        });
+    }
+}
@@ -1,19 +1,39 @@
 package com.blockbid.blockchainservice.service;
 
 import com.blockbid.blockchainservice.blockchain.BlockchainUtils;
+import com.blockbid.blockchainservice.blockchain.MerkleTree;
+import com.blockbid.blockchainservice.blockchain.Sha256;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.Field;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.PayloadType;
+import com.blockbid.blockchainservice.dto.ContractInfo;
+import com.blockbid.blockchainservice.entity.Block;
 import com.blockbid.blockchainservice.entity.BlockchainTransaction;
 import com.blockbid.blockchainservice.entity.SmartContract;
+import com.blockbid.blockchainservice.ledger.LedgerEntry;
+import com.blockbid.blockchainservice.ledger.LedgerRecord;
+import com.blockbid.blockchainservice.ledger.LedgerStore;
+import com.blockbid.blockchainservice.repository.BlockRepository;
 import com.blockbid.blockchainservice.repository.BlockchainTransactionRepository;
 import com.blockbid.blockchainservice.repository.SmartContractRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class BlockchainService {
@@ -24,166 +44,310 @@ public class BlockchainService {
     @Autowired
     private SmartContractRepository contractRepository;
     
+    @Autowired
+    private BlockRepository blockRepository;
+    
     @Autowired
     private BlockchainUtils blockchainUtils;
     
+    @Autowired
+    private LedgerStore ledgerStore;
+    
+    @Autowired
+    private BlockchainStatistics statistics;
+    
+    @Autowired
+    private ContractCache contractCache;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     // Deploy smart contract for new auction (UC8)
     @Transactional
     public SmartContract deployAuctionContract(Long itemId, Long sellerId, Map<String, Object> auctionData) throws Exception {
-        // Check if contract already exists
-        if (contractRepository.existsByItemId(itemId)) {
+        // Check if contract already exists (the unique itemId column catches concurrent deploys)
+        if (contractCache.get(itemId).isPresent()) {
             throw new Exception("Smart contract already exists for this item");
         }
         
-        // Generate contract address
-        String contractAddress = blockchainUtils.generateContractAddress();
-        
         // Create contract data
-        String contractData = blockchainUtils.createTransactionData(
-            "AUCTION_CONTRACT",
-            "itemId", itemId,
-            "sellerId", sellerId,
-            "startingPrice", auctionData.get("startingPrice"),
-            "endTime", auctionData.get("endTime"),
-            "auctionType", "FORWARD"
-        );
+        byte[] contractData = newPayload(PayloadType.AUCTION_CONTRACT)
+            .putLong(Field.ITEM_ID, itemId)
+            .putLong(Field.SELLER_ID, sellerId)
+            .putAmount(Field.STARTING_PRICE, auctionData.get("startingPrice"))
+            .putString(Field.END_TIME, auctionData.get("endTime"))
+            .putString(Field.AUCTION_TYPE, "FORWARD")
+            .toByteArray();
+        
+        // Contract address derived from the deployment payload
+        String contractAddress = blockchainUtils.deriveContractAddress(contractData);
         
         // Create deployment transaction
         String deployTxHash = recordTransaction("AUCTION_CREATE", itemId, sellerId, contractData);
         
         // Create smart contract record
-        SmartContract contract = new SmartContract(contractAddress, itemId, sellerId, contractData);
+        SmartContract contract = new SmartContract(contractAddress, itemId, sellerId, TransactionPayload.toJson(contractData));
         contract.setDeploymentTxHash(deployTxHash);
+        AfterCommit.run(() -> {
+            statistics.recordContract(contract.getContractType());
+            contractCache.put(new ContractInfo(itemId, contractAddress, contract.getStatus()));
+        });
         
-        SmartContract savedContract = contractRepository.save(contract);
-        
-        // Simulate blockchain confirmation
-        confirmTransaction(deployTxHash);
-        
-        return savedContract;
+        return contractRepository.save(contract);
     }
     
     // Record bid on blockchain (UC8 - Core transparency feature)
     public String recordBid(Long itemId, Long bidderId, Double bidAmount) throws Exception {
-        // Verify auction contract exists
-        Optional<SmartContract> contractOptional = contractRepository.findByItemId(itemId);
+        // Verify auction contract exists (cached; hot auctions do not hit the database per bid)
+        Optional<ContractInfo> contractOptional = contractCache.get(itemId);
         if (contractOptional.isEmpty()) {
             throw new Exception("No smart contract found for this auction");
         }
         
-        SmartContract contract = contractOptional.get();
-        if (!"ACTIVE".equals(contract.getStatus())) {
+        ContractInfo contract = contractOptional.get();
+        if (!contract.isActive()) {
             throw new Exception("Auction contract is not active");
         }
         
-        // Create bid data
-        String bidData = blockchainUtils.createTransactionData(
-            "BID",
-            "itemId", itemId,
-            "bidderId", bidderId,
-            "amount", bidAmount,
-            "contractAddress", contract.getContractAddress()
-        );
-        
-        // Record transaction on blockchain
-        String txHash = recordTransaction("BID", itemId, bidderId, bidData);
-        
-        // Simulate blockchain confirmation
-        confirmTransaction(txHash);
-        
-        return txHash;
+        // Record transaction on blockchain (confirmed by the next block)
+        return recordTransaction("BID", itemId, bidderId,
+            bidPayload(itemId, bidderId, bidAmount, contract.contractAddress()));
     }
     
     // End auction and finalize on blockchain (UC8)
     @Transactional
     public String endAuction(Long itemId, Long winnerId, Double winningBid) throws Exception {
-        Optional<SmartContract> contractOptional = contractRepository.findByItemId(itemId);
+        Optional<ContractInfo> contractOptional = contractCache.get(itemId);
         if (contractOptional.isEmpty()) {
             throw new Exception("No smart contract found for this auction");
         }
         
-        SmartContract contract = contractOptional.get();
-        
-        // Create auction end data
-        String endData = blockchainUtils.createTransactionData(
-            "AUCTION_END",
-            "itemId", itemId,
-            "winnerId", winnerId,
-            "winningBid", winningBid,
-            "contractAddress", contract.getContractAddress()
-        );
-        
         // Record transaction
-        String txHash = recordTransaction("AUCTION_END", itemId, winnerId, endData);
+        String txHash = recordTransaction("AUCTION_END", itemId, winnerId,
+            auctionEndPayload(itemId, winnerId, winningBid, contractOptional.get().contractAddress()));
         
         // Update contract status
-        contract.setStatus("ENDED");
-        contract.setEndedAt(LocalDateTime.now());
-        contractRepository.save(contract);
-        
-        // Confirm transaction
-        confirmTransaction(txHash);
+        contractRepository.endByItemIdIn(List.of(itemId), LocalDateTime.now());
+        AfterCommit.run(() -> contractCache.invalidate(List.of(itemId)));
         
         return txHash;
     }
     
     // Record payment on blockchain (UC8)
     public String recordPayment(Long itemId, Long payerId, Double amount, String paymentId) throws Exception {
-        String paymentData = blockchainUtils.createTransactionData(
-            "PAYMENT",
-            "itemId", itemId,
-            "payerId", payerId,
-            "amount", amount,
-            "paymentId", paymentId
-        );
+        return recordTransaction("PAYMENT", itemId, payerId, paymentPayload(itemId, payerId, amount, paymentId));
+    }
+    
+    /**
+     * Records a batch of BID, AUCTION_END and PAYMENT events in one database
+     * transaction. Contracts of all referenced items are loaded with a single
+     * IN query, events are validated in order (an AUCTION_END makes later bids
+     * on the same item invalid) and accepted ones are inserted in JDBC
+     * batches at flush. Each result holds the event's transactionHash, or a
+     * message explaining why it was rejected; rejections do not affect other
+     * events.
+     */
+    @Transactional
+    public List<Map<String, Object>> recordBatch(List<Map<String, Object>> events) {
+        Set<Long> itemIds = new HashSet<>();
+        for (Map<String, Object> event : events) {
+            Long itemId = toLong(event.get("itemId"));
+            if (itemId != null) {
+                itemIds.add(itemId);
+            }
+        }
+        Map<Long, ContractInfo> contracts = contractCache.getAll(itemIds);
+        Set<Long> endedItemIds = new HashSet<>();
         
-        String txHash = recordTransaction("PAYMENT", itemId, payerId, paymentData);
-        confirmTransaction(txHash);
+        List<Map<String, Object>> results = new ArrayList<>(events.size());
+        List<BlockchainTransaction> accepted = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("index", i);
+            try {
+                BlockchainTransaction transaction = toBatchTransaction(events.get(i), contracts, endedItemIds);
+                accepted.add(transaction);
+                result.put("transactionHash", transaction.getTransactionHash());
+            } catch (Exception e) {
+                result.put("message", e.getMessage());
+            }
+            results.add(result);
+        }
         
-        return txHash;
+        transactionRepository.saveAll(accepted);
+        if (!endedItemIds.isEmpty()) {
+            contractRepository.endByItemIdIn(endedItemIds, LocalDateTime.now());
+        }
+        
+        List<LedgerEntry> entries = new ArrayList<>(accepted.size());
+        for (BlockchainTransaction transaction : accepted) {
+            entries.add(LedgerEntry.pending(transaction));
+        }
+        AfterCommit.run(() -> {
+            ledgerStore.appendAll(entries);
+            entries.forEach(statistics::recordTransaction);
+            contractCache.invalidate(endedItemIds);
+        });
+        return results;
+    }
+    
+    // Validates one event against the batch's view of contract status; AUCTION_END updates that view
+    private BlockchainTransaction toBatchTransaction(Map<String, Object> event, Map<Long, ContractInfo> contracts,
+                                                     Set<Long> endedItemIds) throws Exception {
+        Object type = event.get("type");
+        Long itemId = toLong(event.get("itemId"));
+        if (type == null || itemId == null) {
+            throw new Exception("type and itemId are required");
+        }
+        ContractInfo contract = contracts.get(itemId);
+        
+        switch (type.toString()) {
+            case "BID": {
+                Long bidderId = toLong(event.get("bidderId"));
+                Object bidAmount = event.get("bidAmount");
+                if (bidderId == null || bidAmount == null) {
+                    throw new Exception("bidderId and bidAmount are required for BID");
+                }
+                if (contract == null) {
+                    throw new Exception("No smart contract found for this auction");
+                }
+                if (!contract.isActive()) {
+                    throw new Exception("Auction contract is not active");
+                }
+                return newTransaction("BID", itemId, bidderId,
+                    bidPayload(itemId, bidderId, bidAmount, contract.contractAddress()));
+            }
+            case "AUCTION_END": {
+                if (contract == null) {
+                    throw new Exception("No smart contract found for this auction");
+                }
+                Long winnerId = toLong(event.get("winnerId"));
+                Object winningBid = event.get("winningBid") != null ? event.get("winningBid") : 0.0;
+                BlockchainTransaction transaction = newTransaction("AUCTION_END", itemId, winnerId,
+                    auctionEndPayload(itemId, winnerId, winningBid, contract.contractAddress()));
+                contracts.put(itemId, contract.withStatus("ENDED"));
+                endedItemIds.add(itemId);
+                return transaction;
+            }
+            case "PAYMENT": {
+                Long payerId = toLong(event.get("payerId"));
+                Object amount = event.get("amount");
+                if (payerId == null || amount == null) {
+                    throw new Exception("payerId and amount are required for PAYMENT");
+                }
+                Object paymentId = event.get("paymentId");
+                return newTransaction("PAYMENT", itemId, payerId,
+                    paymentPayload(itemId, payerId, amount, paymentId != null ? paymentId.toString() : null));
+            }
+            default:
+                throw new Exception("Unsupported event type: " + type);
+        }
+    }
+    
+    private byte[] bidPayload(Long itemId, Long bidderId, Object bidAmount, String contractAddress) {
+        return newPayload(PayloadType.BID)
+            .putLong(Field.ITEM_ID, itemId)
+            .putLong(Field.BIDDER_ID, bidderId)
+            .putAmount(Field.AMOUNT, bidAmount)
+            .putHex(Field.CONTRACT_ADDRESS, contractAddress)
+            .toByteArray();
+    }
+    
+    private byte[] auctionEndPayload(Long itemId, Long winnerId, Object winningBid, String contractAddress) {
+        return newPayload(PayloadType.AUCTION_END)
+            .putLong(Field.ITEM_ID, itemId)
+            .putLong(Field.WINNER_ID, winnerId)
+            .putAmount(Field.WINNING_BID, winningBid)
+            .putHex(Field.CONTRACT_ADDRESS, contractAddress)
+            .toByteArray();
     }
     
-    // Generic transaction recording
-    private String recordTransaction(String type, Long itemId, Long userId, String data) {
-        // Generate transaction hash
+    private byte[] paymentPayload(Long itemId, Long payerId, Object amount, String paymentId) {
+        return newPayload(PayloadType.PAYMENT)
+            .putLong(Field.ITEM_ID, itemId)
+            .putLong(Field.PAYER_ID, payerId)
+            .putAmount(Field.AMOUNT, amount)
+            .putString(Field.PAYMENT_ID, paymentId)
+            .toByteArray();
+    }
+    
+    // Unsaved PENDING transaction; the hash is computed over the canonical binary payload
+    private BlockchainTransaction newTransaction(String type, Long itemId, Long userId, byte[] data) {
         String txHash = blockchainUtils.generateTransactionHash(data);
         
-        // Create blockchain transaction
         BlockchainTransaction transaction = new BlockchainTransaction(txHash, type, itemId, data);
         transaction.setUserId(userId);
         transaction.setGasUsed(blockchainUtils.estimateGas(type));
         transaction.setStatus("PENDING");
+        transaction.setTimestamp(LocalDateTime.now());
+        return transaction;
+    }
+    
+    // Generic transaction recording; BlockProducer confirms PENDING transactions in blocks
+    private String recordTransaction(String type, Long itemId, Long userId, byte[] data) {
+        BlockchainTransaction transaction = newTransaction(type, itemId, userId, data);
+        String txHash = transaction.getTransactionHash();
         
         transactionRepository.save(transaction);
         
+        // Only committed transactions reach the ledger and the statistics
+        LedgerEntry entry = LedgerEntry.pending(transaction);
+        AfterCommit.run(() -> {
+            ledgerStore.append(entry);
+            statistics.recordTransaction(entry);
+        });
+        
         return txHash;
     }
     
-    // Simulate blockchain confirmation
-    private void confirmTransaction(String txHash) {
-        // Simulate async confirmation process
-        new Thread(() -> {
-            try {
-                blockchainUtils.simulateBlockConfirmation();
-                
-                Optional<BlockchainTransaction> txOptional = transactionRepository.findByTransactionHash(txHash);
-                if (txOptional.isPresent()) {
-                    BlockchainTransaction tx = txOptional.get();
-                    tx.setStatus("CONFIRMED");
-                    tx.setConfirmations(1);
-                    tx.setBlockNumber(blockchainUtils.getNextBlockNumber());
-                    tx.setBlockHash(blockchainUtils.generateBlockHash());
-                    transactionRepository.save(tx);
-                }
-            } catch (Exception e) {
-                System.err.println("Error confirming transaction: " + e.getMessage());
-            }
-        }).start();
+    // The recording time goes into the hashed header (see TransactionPayload)
+    private TransactionPayload.Writer newPayload(PayloadType type) {
+        return TransactionPayload.writer(type, System.currentTimeMillis(), blockchainUtils.newNonce());
+    }
+    
+    // Get auction history from blockchain (UC8 - Transparency), one page at a time, newest first.
+    // The cursor is the last id of the previous page.
+    public List<BlockchainTransaction> getAuctionHistoryPage(Long itemId, Long cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return cursor == null
+            ? transactionRepository.findByItemIdOrderByIdDesc(itemId, page)
+            : transactionRepository.findByItemIdAndIdLessThanOrderByIdDesc(itemId, cursor, page);
     }
     
-    // Get auction history from blockchain (UC8 - Transparency)
-    public List<BlockchainTransaction> getAuctionHistory(Long itemId) {
-        return transactionRepository.findByItemIdOrderByTimestampDesc(itemId);
+    public long countAuctionTransactions(Long itemId) {
+        return transactionRepository.countByItemId(itemId);
+    }
+    
+    // Hands each row of an item's history to the consumer as it is read; rows are detached so memory stays flat
+    @Transactional(readOnly = true)
+    public void streamAuctionHistory(Long itemId, Consumer<BlockchainTransaction> consumer) {
+        try (Stream<BlockchainTransaction> rows = transactionRepository.streamByItemId(itemId)) {
+            rows.forEach(tx -> {
+                consumer.accept(tx);
+                entityManager.detach(tx);
+            });
+        }
+    }
+    
+    // Ledger view of an item's transactions, each in its latest state; built in memory, unlike the paged history
+    public List<Map<String, Object>> getLedgerHistory(Long itemId) {
+        return toMaps(ledgerStore.findByItemId(itemId));
+    }
+    
+    public Optional<Map<String, Object>> getLedgerTransaction(String txHash) {
+        return ledgerStore.findByHash(txHash).map(LedgerRecord::toMap);
+    }
+    
+    public List<Map<String, Object>> getLatestLedgerTransactions(int limit) {
+        return toMaps(ledgerStore.latest(limit));
+    }
+    
+    private static List<Map<String, Object>> toMaps(List<LedgerRecord> records) {
+        List<Map<String, Object>> maps = new ArrayList<>(records.size());
+        for (LedgerRecord record : records) {
+            maps.add(record.toMap());
+        }
+        return maps;
     }
     
     // Get transaction by hash
@@ -191,6 +355,16 @@ public class BlockchainService {
         return transactionRepository.findByTransactionHash(txHash);
     }
     
+    // Get the chain head
+    public Optional<Block> getLatestBlock() {
+        return blockRepository.findTopByOrderByBlockNumberDesc();
+    }
+    
+    // Get block by number
+    public Optional<Block> getBlock(Long blockNumber) {
+        return blockRepository.findByBlockNumber(blockNumber);
+    }
+    
     // Get contract by item ID
     public Optional<SmartContract> getAuctionContract(Long itemId) {
         return contractRepository.findByItemId(itemId);
@@ -219,14 +393,137 @@ public class BlockchainService {
         return verification;
     }
     
-    // Get blockchain statistics
+    // Compact receipt view: counts plus the payment transaction, without the full history
+    public Map<String, Object> getAuctionSummary(Long itemId) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("itemId", itemId);
+        summary.put("totalTransactions", transactionRepository.countByItemId(itemId));
+        summary.put("bidTransactions", transactionRepository.countByItemIdAndTransactionType(itemId, "BID"));
+        summary.put("paymentTransaction",
+            transactionRepository.findFirstByItemIdAndTransactionTypeOrderByIdDesc(itemId, "PAYMENT").orElse(null));
+        return summary;
+    }
+    
+    // Merkle inclusion proof of a transaction against its block's root (UC8 - Verification)
+    public Map<String, Object> getInclusionProof(String txHash) throws Exception {
+        Optional<BlockchainTransaction> txOptional = transactionRepository.findByTransactionHash(txHash);
+        if (txOptional.isEmpty()) {
+            throw new Exception("Transaction not found");
+        }
+        
+        BlockchainTransaction tx = txOptional.get();
+        if (tx.getBlockNumber() == null) {
+            throw new Exception("Transaction is not yet included in a block");
+        }
+        
+        Optional<Block> blockOptional = blockRepository.findByBlockNumber(tx.getBlockNumber());
+        if (blockOptional.isEmpty()) {
+            throw new Exception("Block not found");
+        }
+        Block block = blockOptional.get();
+        
+        List<String> blockHashes = transactionRepository.findHashesByBlockNumber(block.getBlockNumber());
+        int leafIndex = blockHashes.indexOf(tx.getTransactionHash());
+        
+        Map<String, Object> proof = new HashMap<>();
+        proof.put("transactionHash", tx.getTransactionHash());
+        proof.put("blockNumber", block.getBlockNumber());
+        proof.put("blockHash", block.getBlockHash());
+        proof.put("previousHash", block.getPreviousHash());
+        proof.put("merkleRoot", block.getMerkleRoot());
+        proof.put("transactionCount", block.getTransactionCount());
+        proof.put("leafIndex", leafIndex);
+        proof.put("siblings", MerkleTree.proof(blockHashes, leafIndex));
+        
+        return proof;
+    }
+    
+    // Verify many inclusion proofs against the stored block roots
+    public Map<String, Object> verifyProofs(List<Map<String, Object>> proofs) {
+        // One query for all referenced blocks
+        Set<Long> blockNumbers = new HashSet<>();
+        for (Map<String, Object> proof : proofs) {
+            Long blockNumber = toLong(proof.get("blockNumber"));
+            if (blockNumber != null) {
+                blockNumbers.add(blockNumber);
+            }
+        }
+        Map<Long, Block> blocks = new HashMap<>();
+        for (Block block : blockRepository.findByBlockNumberIn(blockNumbers)) {
+            blocks.put(block.getBlockNumber(), block);
+        }
+        
+        MessageDigest digest = Sha256.digest();
+        List<Map<String, Object>> results = new ArrayList<>(proofs.size());
+        int verified = 0;
+        
+        for (Map<String, Object> proof : proofs) {
+            String txHash = proof.get("transactionHash") != null ? proof.get("transactionHash").toString() : null;
+            Long blockNumber = toLong(proof.get("blockNumber"));
+            Long leafIndex = toLong(proof.get("leafIndex"));
+            List<String> siblings = toStringList(proof.get("siblings"));
+            Block block = blockNumber != null ? blocks.get(blockNumber) : null;
+            
+            boolean valid = txHash != null && block != null && leafIndex != null && siblings != null
+                && leafIndex >= 0 && leafIndex < block.getTransactionCount()
+                && siblings.size() == MerkleTree.depth(block.getTransactionCount())
+                && MerkleTree.verify(digest, txHash, leafIndex.intValue(), siblings, block.getMerkleRoot());
+            if (valid) {
+                verified++;
+            }
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("transactionHash", txHash);
+            result.put("blockNumber", blockNumber);
+            result.put("valid", valid);
+            results.add(result);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        response.put("verified", verified);
+        response.put("failed", proofs.size() - verified);
+        return response;
+    }
+    
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.valueOf(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    private static List<String> toStringList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return null;
+        }
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element == null) {
+                return null;
+            }
+            strings.add(element.toString());
+        }
+        return strings;
+    }
+    
+    // Get blockchain statistics (in-memory counters, no table scans)
     public Map<String, Object> getBlockchainStats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalTransactions", transactionRepository.count());
-        stats.put("totalContracts", contractRepository.count());
-        stats.put("bidTransactions", transactionRepository.countByTransactionType("BID"));
-        stats.put("auctionContracts", contractRepository.findByContractTypeOrderByDeployedAtDesc("AUCTION").size());
-        stats.put("latestTransactions", transactionRepository.findLatestTransactions());
+        stats.put("totalTransactions", statistics.transactionCount());
+        stats.put("totalContracts", statistics.contractCount());
+        stats.put("totalBlocks", statistics.blockCount());
+        stats.put("bidTransactions", statistics.transactionCount("BID"));
+        stats.put("auctionContracts", statistics.contractCount("AUCTION"));
+        stats.put("latestTransactions", statistics.latestTransactions(10));
+        stats.put("ledger", ledgerStore.getStats());
         
         return stats;
     }
@@ -0,0 +1,125 @@
+package com.blockbid.blockchainservice.service;
+
+import com.blockbid.blockchainservice.ledger.LedgerEntry;
+import com.blockbid.blockchainservice.repository.BlockRepository;
+import com.blockbid.blockchainservice.repository.BlockchainTransactionRepository;
+import com.blockbid.blockchainservice.repository.SmartContractRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Blockchain statistics kept in memory instead of being counted per request.
+ *
+ * Counters are LongAdders bumped after each commit and seeded from the
+ * database once all singletons exist, which is before the web server
+ * starts accepting requests and before the block producer is scheduled,
+ * so nothing can be committed (and counted) while the GROUP BY queries
+ * run. The latest transaction states live in a fixed-size ring buffer; a
+ * transaction appears there once when recorded and again when confirmed.
+ */
+@Component
+public class BlockchainStatistics implements SmartInitializingSingleton {
+    
+    @Autowired
+    private BlockchainTransactionRepository transactionRepository;
+    
+    @Autowired
+    private SmartContractRepository contractRepository;
+    
+    @Autowired
+    private BlockRepository blockRepository;
+    
+    private final LongAdder transactions = new LongAdder();
+    private final Map<String, LongAdder> transactionsByType = new ConcurrentHashMap<>();
+    private final LongAdder contracts = new LongAdder();
+    private final Map<String, LongAdder> contractsByType = new ConcurrentHashMap<>();
+    private final LongAdder blocks = new LongAdder();
+    
+    private final AtomicReferenceArray<LedgerEntry> recent;
+    private final AtomicLong recentCursor = new AtomicLong();
+    
+    public BlockchainStatistics(@Value("${blockchain.stats.recent-capacity:256}") int recentCapacity) {
+        this.recent = new AtomicReferenceArray<>(recentCapacity);
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Object[] row : transactionRepository.countGroupedByType()) {
+            long count = (Long) row[1];
+            transactions.add(count);
+            counter(transactionsByType, (String) row[0]).add(count);
+        }
+        for (Object[] row : contractRepository.countGroupedByType()) {
+            long count = (Long) row[1];
+            contracts.add(count);
+            counter(contractsByType, (String) row[0]).add(count);
+        }
+        blocks.add(blockRepository.count());
+    }
+    
+    public void recordTransaction(LedgerEntry entry) {
+        transactions.increment();
+        counter(transactionsByType, entry.getTransactionType()).increment();
+        remember(entry);
+    }
+    
+    public void recordContract(String contractType) {
+        contracts.increment();
+        counter(contractsByType, contractType).increment();
+    }
+    
+    public void recordBlock(List<LedgerEntry> confirmed) {
+        blocks.increment();
+        for (LedgerEntry entry : confirmed) {
+            remember(entry);
+        }
+    }
+    
+    public long transactionCount() { return transactions.sum(); }
+    public long transactionCount(String type) { return count(transactionsByType, type); }
+    public long contractCount() { return contracts.sum(); }
+    public long contractCount(String type) { return count(contractsByType, type); }
+    public long blockCount() { return blocks.sum(); }
+    
+    // Newest first, one entry (the newest state) per transaction
+    public List<Map<String, Object>> latestTransactions(int limit) {
+        List<Map<String, Object>> latest = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        long end = recentCursor.get();
+        long start = Math.max(0, end - recent.length());
+        for (long slot = end - 1; slot >= start && latest.size() < limit; slot--) {
+            LedgerEntry entry = recent.get((int) (slot % recent.length()));
+            if (entry != null && seen.add(entry.getTransactionHash())) {
+                latest.add(entry.toMap());
+            }
+        }
+        return latest;
+    }
+    
+    private void remember(LedgerEntry entry) {
+        long slot = recentCursor.getAndIncrement();
+        recent.set((int) (slot % recent.length()), entry);
+    }
+    
+    private static LongAdder counter(Map<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+    
+    private static long count(Map<String, LongAdder> counters, String key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter.sum() : 0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.blockbid.blockchainservice.service;
+
+import com.blockbid.blockchainservice.dto.ContractInfo;
+import com.blockbid.blockchainservice.repository.SmartContractRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-through cache of itemId to contract address and status.
+ *
+ * Only the status of a contract ever changes, and only through this
+ * service: deploys write through to the cache after commit, and auction
+ * ends invalidate the entry after commit, so the TTL is a backstop rather
+ * than the freshness mechanism. Loads are atomic per key, and an
+ * invalidation waits for a load in progress to finish before removing its
+ * result, so a load that read the old status cannot outlive the commit.
+ * Items without a contract are not cached, so a deploy is visible at once.
+ * Hit/miss/eviction metrics are published as cache.* with cache=smartContracts.
+ */
+@Component
+public class ContractCache {
+    
+    private final SmartContractRepository contractRepository;
+    private final Cache<Long, ContractInfo> contracts;
+    
+    public ContractCache(SmartContractRepository contractRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${blockchain.contract-cache.max-size:10000}") long maxSize,
+                         @Value("${blockchain.contract-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.contractRepository = contractRepository;
+        this.contracts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contracts, "smartContracts");
+    }
+    
+    // A null from the loader (no contract yet) is not cached
+    public Optional<ContractInfo> get(Long itemId) {
+        return Optional.ofNullable(contracts.get(itemId, id -> contractRepository.findInfoByItemId(id).orElse(null)));
+    }
+    
+    // Misses are loaded with a single IN query; items without a contract are absent from the result.
+    // Bulk-loaded rows are returned but not cached: unlike get(), a bulk load is not atomic per key
+    // and could write back a status read before a concurrent invalidation.
+    public Map<Long, ContractInfo> getAll(Collection<Long> itemIds) {
+        Map<Long, ContractInfo> found = new HashMap<>(contracts.getAllPresent(itemIds));
+        Set<Long> missingIds = new LinkedHashSet<>(itemIds);
+        missingIds.removeAll(found.keySet());
+        if (!missingIds.isEmpty()) {
+            for (ContractInfo info : contractRepository.findInfoByItemIdIn(missingIds)) {
+                found.put(info.itemId(), info);
+            }
+        }
+        return found;
+    }
+    
+    public void put(ContractInfo info) {
+        contracts.put(info.itemId(), info);
+    }
+    
+    // Call after the status change commits; the next read loads the committed row
+    public void invalidate(Collection<Long> itemIds) {
+        contracts.invalidateAll(itemIds);
+    }
+}
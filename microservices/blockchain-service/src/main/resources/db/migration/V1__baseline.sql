@@ -0,0 +1,42 @@
+-- blockchain-service baseline: the tables as Hibernate created them before migrations.
+-- Runs unchanged on H2 (default profile) and PostgreSQL (prod profile).
+
+CREATE TABLE blocks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    block_number BIGINT NOT NULL UNIQUE,
+    block_hash VARCHAR(255) NOT NULL UNIQUE,
+    previous_hash VARCHAR(255) NOT NULL,
+    merkle_root VARCHAR(255) NOT NULL,
+    transaction_count INTEGER NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE blockchain_transactions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    transaction_hash VARCHAR(255) NOT NULL UNIQUE,
+    block_hash VARCHAR(255),
+    block_number BIGINT,
+    transaction_type VARCHAR(255) NOT NULL,
+    item_id BIGINT NOT NULL,
+    user_id BIGINT,
+    payload BYTEA NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    confirmations INTEGER NOT NULL,
+    gas_used VARCHAR(255)
+);
+
+CREATE INDEX idx_blockchain_transactions_item_id ON blockchain_transactions (item_id, id);
+
+CREATE TABLE smart_contracts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contract_address VARCHAR(255) NOT NULL UNIQUE,
+    contract_type VARCHAR(255) NOT NULL,
+    item_id BIGINT NOT NULL UNIQUE,
+    owner_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    contract_data TEXT NOT NULL,
+    deployed_at TIMESTAMP(6) NOT NULL,
+    ended_at TIMESTAMP(6),
+    deployment_tx_hash VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,28 @@
+-- Indexes for the blockchain-service repository queries.
+
+-- Block production: findByStatusOrderByIdAsc('PENDING')
+CREATE INDEX idx_blockchain_transactions_status_id ON blockchain_transactions (status, id);
+
+-- findHashesByBlockNumber, findByBlockNumber
+CREATE INDEX idx_blockchain_transactions_block_number ON blockchain_transactions (block_number, id);
+
+-- findFirstByItemIdAndTransactionTypeOrderByIdDesc, countByItemIdAndTransactionType
+CREATE INDEX idx_blockchain_transactions_item_id_type ON blockchain_transactions (item_id, transaction_type, id);
+
+-- findByUserIdOrderByTimestampDesc
+CREATE INDEX idx_blockchain_transactions_user_id ON blockchain_transactions (user_id, timestamp);
+
+-- findByTransactionTypeOrderByTimestampDesc, countByTransactionType
+CREATE INDEX idx_blockchain_transactions_type ON blockchain_transactions (transaction_type, timestamp);
+
+-- findByTimestampBetweenOrderByTimestampDesc
+CREATE INDEX idx_blockchain_transactions_timestamp ON blockchain_transactions (timestamp);
+
+-- findByOwnerIdOrderByDeployedAtDesc
+CREATE INDEX idx_smart_contracts_owner_id ON smart_contracts (owner_id, deployed_at);
+
+-- findByStatusOrderByDeployedAtDesc
+CREATE INDEX idx_smart_contracts_status ON smart_contracts (status, deployed_at);
+
+-- findByContractTypeOrderByDeployedAtDesc
+CREATE INDEX idx_smart_contracts_contract_type ON smart_contracts (contract_type, deployed_at);
@@ -0,0 +1,23 @@
+package com.blockbid.common.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Ends a CDS training run (app.cds.training=true) as soon as the application
+ * is ready. On the way out the JVM dumps every class loaded during startup
+ * into the archive named by -XX:ArchiveClassesAtExit (see the services'
+ * Dockerfiles).
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "app.cds.training", havingValue = "true")
+public class CdsTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.blockbid.common.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-request debug logging for a sample of requests.
+ *
+ * Loggers stay at INFO. A fraction (app.logging.debug-sample-rate) of
+ * requests is marked in the MDC, and SampledDebugFilter then passes their
+ * DEBUG events, so the detailed trail of a request is still available
+ * without formatting it for every request.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class LogSamplingConfig {
+    
+    @Value("${app.logging.debug-sample-rate:0.01}")
+    private double sampleRate;
+    
+    @Bean
+    public OncePerRequestFilter debugLogSamplingFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                MDC.put(SampledDebugFilter.MDC_KEY, "true");
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    MDC.remove(SampledDebugFilter.MDC_KEY);
+                }
+            }
+        };
+    }
+}
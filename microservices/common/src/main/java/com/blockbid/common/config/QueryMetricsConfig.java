@@ -0,0 +1,140 @@
+package com.blockbid.common.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request SQL statement counting with N+1 detection.
+ *
+ * Every statement Hibernate prepares on a request thread is counted against
+ * that request and recorded in db.queries.per.request, tagged with the
+ * handler's URI pattern. Requests issuing more than
+ * app.db.query-count.warn-threshold statements are logged, and so are
+ * requests repeating one SELECT app.db.n-plus-one.threshold times or more
+ * (counted in db.queries.n-plus-one). Repository timings, Hibernate
+ * statistics and the slow query log are set up in each service's
+ * application.properties. Applies to the services that use JPA.
+ */
+@AutoConfiguration
+@ConditionalOnClass({StatementInspector.class, MeterRegistry.class})
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class QueryMetricsConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(QueryMetricsConfig.class);
+    
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+    
+    @Value("${app.db.query-count.warn-threshold:25}")
+    private int warnThreshold;
+    
+    @Value("${app.db.n-plus-one.threshold:5}")
+    private int nPlusOneThreshold;
+    
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatementInspector() {
+        StatementInspector inspector = sql -> {
+            RequestQueries queries = CURRENT.get();
+            if (queries != null) {
+                queries.record(sql);
+            }
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+    
+    @Bean
+    public OncePerRequestFilter queryCountFilter(MeterRegistry meterRegistry) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                RequestQueries queries = new RequestQueries();
+                CURRENT.set(queries);
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    CURRENT.remove();
+                    report(request, queries, meterRegistry);
+                }
+            }
+        };
+    }
+    
+    private void report(HttpServletRequest request, RequestQueries queries, MeterRegistry meterRegistry) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+    
+        DistributionSummary.builder("db.queries.per.request")
+                .description("SQL statements issued while handling one request")
+                .baseUnit("statements")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queries.total);
+    
+        if (queries.total > warnThreshold) {
+            logger.warn("{} {} issued {} SQL statements", request.getMethod(), uri, queries.total);
+        }
+    
+        Map.Entry<String, Integer> mostRepeated = queries.mostRepeatedSelect();
+        if (mostRepeated != null && mostRepeated.getValue() >= nPlusOneThreshold) {
+            Counter.builder("db.queries.n-plus-one")
+                    .description("Requests that repeated the same SELECT, a likely N+1 access pattern")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("Possible N+1 in {} {}: same SELECT ran {} times: {}", request.getMethod(), uri,
+                    mostRepeated.getValue(), abbreviate(mostRepeated.getKey()));
+        }
+    }
+    
+    private static String abbreviate(String sql) {
+        return sql.length() <= 200 ? sql : sql.substring(0, 200) + "...";
+    }
+    
+    // Batched inserts and updates legitimately repeat one statement, so only SELECTs are tracked per SQL string
+    private static class RequestQueries {
+    
+        private int total;
+        private final Map<String, Integer> selects = new HashMap<>();
+    
+        void record(String sql) {
+            total++;
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                selects.merge(sql, 1, Integer::sum);
+            }
+        }
+    
+        Map.Entry<String, Integer> mostRepeatedSelect() {
+            Map.Entry<String, Integer> max = null;
+            for (Map.Entry<String, Integer> entry : selects.entrySet()) {
+                if (max == null || entry.getValue() > max.getValue()) {
+                    max = entry;
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.blockbid.common.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets DEBUG events from the application's own loggers through on requests
+ * that LogSamplingConfig picked for sampling, whatever the configured level.
+ * Registered in logback-spring.xml; everything else is left to the normal
+ * level check.
+ */
+public class SampledDebugFilter extends TurboFilter {
+    
+    static final String MDC_KEY = "debugSampled";
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == Level.DEBUG && MDC.get(MDC_KEY) != null && logger.getName().startsWith("com.blockbid.")) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
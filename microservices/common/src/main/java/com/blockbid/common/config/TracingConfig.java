@@ -0,0 +1,27 @@
+package com.blockbid.common.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Offline span export: app.tracing.file-export.enabled=true.
+ *
+ * Spans are exported in batches as OTLP JSON, one export request per line,
+ * through the OtlpJsonLoggingSpanExporter logger; logback-spring.xml sends
+ * that logger to app.tracing.file instead of the console. The file can be
+ * replayed into any OTLP-capable backend (e.g. an OpenTelemetry Collector
+ * otlpjsonfile receiver) after a load test. Trace context is propagated
+ * and trace ids are logged whether or not this exporter is enabled.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "app.tracing.file-export.enabled", havingValue = "true")
+public class TracingConfig {
+    
+    @Bean
+    public SpanExporter otlpJsonFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,90 @@
+package com.blockbid.common.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Opt-in virtual-thread mode: app.virtual-threads.enabled=true on a Java 21+
+ * runtime.
+ *
+ * Tomcat request processing runs on a virtual thread per request, so a
+ * request blocked in JPA or in a call to another service does not occupy
+ * one of Tomcat's pooled platform threads. Services that hand work to
+ * other executors in this mode (WebSocket sends, MVC async processing)
+ * create them with newVirtualThreadExecutor in their own configuration.
+ *
+ * The build still targets Java 17, so the Java 21 API is reached
+ * reflectively and startup fails fast on an older runtime. Virtual threads
+ * that block while pinned to their carrier (inside synchronized) are
+ * reported from a JFR stream; run with -Djdk.tracePinnedThreads=short for
+ * the JDK's own traces as well.
+ */
+@AutoConfiguration
+@ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+@ConditionalOnProperty(name = "app.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        ExecutorService executor = newVirtualThreadExecutor("tomcat-vt-");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean(destroyMethod = "close")
+    public RecordingStream virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMillis) {
+        RecordingStream stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", VirtualThreadConfig::logPinned);
+        stream.startAsync();
+        logger.info("Virtual-thread mode enabled; reporting pinned virtual threads blocked longer than {} ms", thresholdMillis);
+        return stream;
+    }
+
+    // Virtual-thread-per-task executor with named threads (Java 21 API, called reflectively)
+    public static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.virtual-threads.enabled requires Java 21 or newer (running "
+                + Runtime.version() + ")", e);
+        }
+    }
+
+    private static void logPinned(RecordedEvent event) {
+        StringBuilder frames = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            int shown = 0;
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                if (shown++ == 5) {
+                    break;
+                }
+                frames.append("\n    at ").append(frame.getMethod().getType().getName())
+                      .append('.').append(frame.getMethod().getName())
+                      .append(':').append(frame.getLineNumber());
+            }
+        }
+        logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+}
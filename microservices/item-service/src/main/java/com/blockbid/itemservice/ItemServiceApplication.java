@@ -2,6 +2,7 @@ package com.blockbid.itemservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.client.RestTemplate;
 
@@ -13,7 +14,8 @@ public class ItemServiceApplication {
     }
     
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        // Boot's builder adds the observation interceptor: trace headers on auction and blockchain calls
+        return builder.build();
     }
 }
\ No newline at end of file
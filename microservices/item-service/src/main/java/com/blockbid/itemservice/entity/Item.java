@@ -75,6 +75,10 @@ public class Item {
     @Column
     private Integer bidCount = 0;
     
+    // Optimistic lock; a conflicting bid update is retried by ItemService
+    @Version
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -153,6 +157,9 @@ public class Item {
     public Integer getBidCount() { return bidCount; }
     public void setBidCount(Integer bidCount) { this.bidCount = bidCount; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     // Helper methods
     public boolean isActive() {
         return "ACTIVE".equals(status) && LocalDateTime.now().isBefore(endTime);
@@ -2,6 +2,7 @@ package com.blockbid.itemservice.repository;
 
 import com.blockbid.itemservice.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -43,6 +44,12 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
            "i.endTime < :now")
     List<Item> findExpiredItems(@Param("now") LocalDateTime now);
     
+    // End every expired active item in one statement; VERSIONED bumps @Version
+    // so a concurrent bid holding the old version fails instead of reviving it
+    @Modifying
+    @Query("UPDATE VERSIONED Item i SET i.status = 'ENDED' WHERE i.status = 'ACTIVE' AND i.endTime < :now")
+    int endExpiredItems(@Param("now") LocalDateTime now);
+    
     // Count active items by seller
     long countBySellerIdAndStatus(Long sellerId, String status);
 }
\ No newline at end of file
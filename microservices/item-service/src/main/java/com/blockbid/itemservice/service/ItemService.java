@@ -2,7 +2,14 @@ package com.blockbid.itemservice.service;
 
 import com.blockbid.itemservice.entity.Item;
 import com.blockbid.itemservice.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
@@ -12,19 +19,50 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Service
 public class ItemService {
     
+    private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
+    
     @Autowired
     private ItemRepository itemRepository;
     
     @Autowired
     private RestTemplate restTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.item.retry.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${app.item.retry.backoff-base-ms:5}")
+    private long backoffBaseMs;
+    
+    @Value("${app.item.retry.backoff-max-ms:100}")
+    private long backoffMaxMs;
+    
+    private Counter conflicts;
+    private Counter retriesExhausted;
 
     private static final String AUCTION_SERVICE_URL = "http://auction-service:8083";
     private static final String BLOCKCHAIN_SERVICE_URL = "http://blockchain-service:8085";
     
+    @PostConstruct
+    void initConflictMetrics() {
+        conflicts = Counter.builder("item.update.conflicts")
+                .description("Item updates that hit an optimistic-lock conflict")
+                .register(meterRegistry);
+        retriesExhausted = Counter.builder("item.update.retries.exhausted")
+                .description("Item updates rejected after exhausting their retries")
+                .register(meterRegistry);
+    }
+    
     // Create new item (UC7 - Seller functionality)
     public Item createItem(Item item) throws Exception {
         // Validate item data
@@ -52,7 +90,7 @@ public class ItemService {
         // Save item first
         Item savedItem = itemRepository.save(item);
         
-        System.out.println("✓ Item created - ID: " + savedItem.getId());
+        logger.info("Item created {} {}", kv("itemId", savedItem.getId()), kv("sellerId", savedItem.getSellerId()));
         
         // ===== CREATE AUCTION IN AUCTION SERVICE =====
         try {
@@ -66,8 +104,6 @@ public class ItemService {
                 auctionRequest.put("reservePrice", savedItem.getReservePrice());
             }
             
-            System.out.println("→ Creating auction: " + auctionRequest);
-            
             @SuppressWarnings("unchecked")
             Map<String, Object> auctionResponse = restTemplate.postForObject(
                 AUCTION_SERVICE_URL + "/",
@@ -75,11 +111,11 @@ public class ItemService {
                 Map.class
             );
             
-            System.out.println("✓ Auction created: " + auctionResponse);
+            logger.debug("Auction created {} {}", kv("itemId", savedItem.getId()),
+                kv("auctionId", auctionResponse != null ? auctionResponse.get("auctionId") : null));
 
         } catch (Exception e) {
-            System.err.println("✗ ERROR: Failed to create auction: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to create auction {}", kv("itemId", savedItem.getId()), e);
             // Rollback item creation
             itemRepository.delete(savedItem);
             throw new Exception("Failed to create auction: " + e.getMessage());
@@ -97,8 +133,6 @@ public class ItemService {
                 contractRequest.put("reservePrice", savedItem.getReservePrice());
             }
 
-            System.out.println("→ Deploying smart contract to blockchain: " + contractRequest);
-
             @SuppressWarnings("unchecked")
             Map<String, Object> contractResponse = restTemplate.postForObject(
                 BLOCKCHAIN_SERVICE_URL + "/contracts/deploy",
@@ -106,10 +140,11 @@ public class ItemService {
                 Map.class
             );
 
-            System.out.println("✓ Smart contract deployed: " + contractResponse);
+            logger.debug("Smart contract deployed {} {}", kv("itemId", savedItem.getId()),
+                kv("contractAddress", contractResponse != null ? contractResponse.get("contractAddress") : null));
 
         } catch (Exception e) {
-            System.err.println("✗ WARNING: Failed to deploy smart contract: " + e.getMessage());
+            logger.warn("Failed to deploy smart contract {}: {}", kv("itemId", savedItem.getId()), e.getMessage());
             // Don't fail the item creation if blockchain deployment fails
         }
 
@@ -151,6 +186,11 @@ public class ItemService {
     
     // Update item price and bid info (called by Auction Service)
     public Item updateItemBid(Long itemId, Double newPrice, Long bidderId) throws Exception {
+        return retryOnConflict(() -> applyItemBid(itemId, newPrice, bidderId));
+    }
+    
+    // One read-validate-write attempt; the versioned save fails if the item changed since the read
+    private Item applyItemBid(Long itemId, Double newPrice, Long bidderId) throws Exception {
         Optional<Item> itemOptional = itemRepository.findById(itemId);
         
         if (itemOptional.isEmpty()) {
@@ -177,16 +217,35 @@ public class ItemService {
     
     // End auction
     public Item endAuction(Long itemId) throws Exception {
-        Optional<Item> itemOptional = itemRepository.findById(itemId);
-        
-        if (itemOptional.isEmpty()) {
-            throw new Exception("Item not found");
+        return retryOnConflict(() -> {
+            Optional<Item> itemOptional = itemRepository.findById(itemId);
+            
+            if (itemOptional.isEmpty()) {
+                throw new Exception("Item not found");
+            }
+            
+            Item item = itemOptional.get();
+            item.setStatus("ENDED");
+            
+            return itemRepository.save(item);
+        });
+    }
+    
+    // Re-runs an update that lost an optimistic-lock race, after a jittered exponential backoff
+    private Item retryOnConflict(Callable<Item> update) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.call();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    retriesExhausted.increment();
+                    throw new Exception("Item was updated concurrently, please try again");
+                }
+                long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt - 1, 20));
+                Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            }
         }
-        
-        Item item = itemOptional.get();
-        item.setStatus("ENDED");
-        
-        return itemRepository.save(item);
     }
     
     // Get items ending soon (next hour)
@@ -196,14 +255,10 @@ public class ItemService {
         return itemRepository.findItemsEndingSoon(now, oneHourLater);
     }
     
-    // Update expired items (background task)
-    public void updateExpiredItems() {
-        List<Item> expiredItems = itemRepository.findExpiredItems(LocalDateTime.now());
-        
-        for (Item item : expiredItems) {
-            item.setStatus("ENDED");
-            itemRepository.save(item);
-        }
+    // Update expired items (background task); returns the number of items ended
+    @Transactional
+    public int updateExpiredItems() {
+        return itemRepository.endExpiredItems(LocalDateTime.now());
     }
     
     // Get seller statistics
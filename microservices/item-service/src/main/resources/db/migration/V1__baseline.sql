@@ -0,0 +1,23 @@
+-- item-service baseline: the tables as Hibernate created them before migrations.
+-- Runs unchanged on H2 (default profile) and PostgreSQL (prod profile).
+
+CREATE TABLE items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    starting_price DOUBLE PRECISION NOT NULL,
+    reserve_price DOUBLE PRECISION,
+    category VARCHAR(255) NOT NULL,
+    condition VARCHAR(255) NOT NULL,
+    auction_type VARCHAR(255) NOT NULL,
+    end_time TIMESTAMP(6) NOT NULL,
+    shipping_cost DOUBLE PRECISION NOT NULL,
+    expedited_shipping_cost DOUBLE PRECISION NOT NULL,
+    shipping_details VARCHAR(200),
+    seller_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    current_price DOUBLE PRECISION,
+    highest_bidder_id BIGINT,
+    bid_count INTEGER
+);
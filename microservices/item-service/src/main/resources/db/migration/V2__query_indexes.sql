@@ -0,0 +1,13 @@
+-- Indexes for the item-service repository queries.
+
+-- Browse: findByStatusOrderByCreatedAtDesc, searchByKeyword (status filter, createdAt order)
+CREATE INDEX idx_items_status_created_at ON items (status, created_at);
+
+-- findByCategoryAndStatusOrderByCreatedAtDesc
+CREATE INDEX idx_items_category_status_created_at ON items (category, status, created_at);
+
+-- findBySellerIdOrderByCreatedAtDesc, countBySellerIdAndStatus
+CREATE INDEX idx_items_seller_id_created_at ON items (seller_id, created_at);
+
+-- findItemsEndingSoon, findExpiredItems
+CREATE INDEX idx_items_status_end_time ON items (status, end_time);
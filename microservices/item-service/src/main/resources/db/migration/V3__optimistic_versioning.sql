@@ -0,0 +1,2 @@
+-- Version column for optimistic locking of Item (concurrent bid updates from auction-service)
+ALTER TABLE items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -4,6 +4,8 @@ import com.blockbid.paymentservice.entity.Order;
 import com.blockbid.paymentservice.entity.Payment;
 import com.blockbid.paymentservice.repository.OrderRepository;
 import com.blockbid.paymentservice.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,9 +16,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Service
 public class PaymentService {
     
+    private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
+    
     @Autowired
     private PaymentRepository paymentRepository;
     
@@ -82,7 +88,7 @@ public class PaymentService {
                     expeditedShippingCostFromItem = expeditedShippingObj != null ? Double.valueOf(expeditedShippingObj.toString()) : 15.0;
                 }
             } catch (Exception e) {
-                System.err.println("Error fetching item shipping costs: " + e.getMessage());
+                logger.warn("Failed to fetch item shipping costs {}: {}", kv("itemId", itemId), e.getMessage());
             }
 
             Double calculatedShippingCost = "expedited".equals(shippingType) ? expeditedShippingCostFromItem : standardShippingCost;
@@ -120,7 +126,7 @@ public class PaymentService {
                 throw new Exception("Could not fetch user address");
             }
         } catch (Exception e) {
-            System.err.println("Error fetching user address: " + e.getMessage());
+            logger.warn("Failed to fetch user address {}: {}", kv("userId", userId), e.getMessage());
             throw new Exception("Could not load user address for payment");
         } 
         
@@ -154,8 +160,6 @@ public class PaymentService {
             blockchainRequest.put("amount", totalAmount);
             blockchainRequest.put("paymentId", savedPayment.getTransactionId());
 
-            System.out.println("→ Recording payment on blockchain");
-
             @SuppressWarnings("unchecked")
             Map<String, Object> blockchainResponse = restTemplate.postForObject(
                 BLOCKCHAIN_SERVICE_URL + "/transactions/payment",
@@ -163,10 +167,13 @@ public class PaymentService {
                 Map.class
             );
 
-            System.out.println("✓ Payment recorded on blockchain: " + blockchainResponse);
+            logger.info("Payment recorded {} {} {} {}", kv("itemId", itemId), kv("payerId", userId),
+                kv("amount", totalAmount),
+                kv("transactionHash", blockchainResponse != null ? blockchainResponse.get("transactionHash") : null));
 
         } catch (Exception e) {
-            System.err.println("✗ WARNING: Failed to record payment on blockchain: " + e.getMessage());
+            logger.warn("Failed to record payment on blockchain {}: {}", kv("paymentId", savedPayment.getTransactionId()),
+                e.getMessage());
             // Don't fail the payment if blockchain recording fails
         }
 
@@ -329,8 +336,6 @@ public class PaymentService {
         // Fetch REAL item details from Item Service
         try {
             String itemServiceUrl = "http://item-service:8082/items/" + payment.getItemId();
-            System.out.println("Fetching item from: " + itemServiceUrl);
-            
             Map<String, Object> item = restTemplate.getForObject(itemServiceUrl, Map.class);
             
             if (item != null) {
@@ -345,8 +350,7 @@ public class PaymentService {
                 receipt.put("item", fallbackItem);
             }
         } catch (Exception e) {
-            System.err.println("Error fetching item from Item Service: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Failed to fetch item for receipt {}", kv("itemId", payment.getItemId()), e);
             
             // Fallback item
             Map<String, Object> fallbackItem = new java.util.HashMap<>();
@@ -360,8 +364,6 @@ public class PaymentService {
         // Fetch user details from User Service
         try {
             String userServiceUrl = "http://user-service:8081/users/" + payment.getUserId();
-            System.out.println("Fetching user from: " + userServiceUrl);
-            
             Map<String, Object> user = restTemplate.getForObject(userServiceUrl, Map.class);
             if (user != null) {
                 receipt.put("user", user);
@@ -387,7 +389,7 @@ public class PaymentService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error fetching user from User Service: " + e.getMessage());
+            logger.warn("Failed to fetch user for receipt {}: {}", kv("userId", payment.getUserId()), e.getMessage());
             receipt.put("shippingAddress", payment.getShippingAddress());
         }
 
@@ -0,0 +1,34 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Sequences for the pooled id generators of Payment and Order (allocation size
+ * 50). Each starts far enough above its table's current maximum id that the
+ * first block Hibernate hands out (start - 49 .. start) cannot collide with
+ * existing rows. The start depends on the data, hence a Java migration.
+ */
+public class V3__Pooled_id_sequences extends BaseJavaMigration {
+    
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String[] TABLES = {"payments", "orders"};
+    
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long maxId;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    rs.next();
+                    maxId = rs.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+            }
+        }
+    }
+}
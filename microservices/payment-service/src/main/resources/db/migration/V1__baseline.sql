@@ -0,0 +1,40 @@
+-- payment-service baseline: the tables as Hibernate created them before migrations.
+-- Runs unchanged on H2 (default profile) and PostgreSQL (prod profile).
+
+CREATE TABLE payments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    total_amount DOUBLE PRECISION NOT NULL,
+    item_price DOUBLE PRECISION NOT NULL,
+    shipping_cost DOUBLE PRECISION NOT NULL,
+    shipping_type VARCHAR(255) NOT NULL,
+    shipping_address TEXT,
+    street_number VARCHAR(255) NOT NULL,
+    street_name VARCHAR(255) NOT NULL,
+    city VARCHAR(255) NOT NULL,
+    province VARCHAR(255) NOT NULL,
+    postal_code VARCHAR(255) NOT NULL,
+    country VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6),
+    transaction_id VARCHAR(255) NOT NULL UNIQUE,
+    card_last_four VARCHAR(255) NOT NULL,
+    cardholder_name VARCHAR(255) NOT NULL,
+    payment_method VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE orders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_number VARCHAR(255) NOT NULL UNIQUE,
+    payment_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    item_name VARCHAR(255) NOT NULL,
+    item_description VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    order_date TIMESTAMP(6) NOT NULL,
+    estimated_delivery TIMESTAMP(6),
+    tracking_number VARCHAR(255)
+);
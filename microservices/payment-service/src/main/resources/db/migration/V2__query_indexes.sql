@@ -0,0 +1,25 @@
+-- Indexes for the payment-service repository queries.
+
+-- findByUserIdOrderByCreatedAtDesc
+CREATE INDEX idx_payments_user_id_created_at ON payments (user_id, created_at);
+
+-- findByItemIdOrderByCreatedAtDesc, existsByItemIdAndUserId
+CREATE INDEX idx_payments_item_id_user_id ON payments (item_id, user_id);
+
+-- findByStatusOrderByCreatedAtDesc
+CREATE INDEX idx_payments_status_created_at ON payments (status, created_at);
+
+-- findByCreatedAtBetweenOrderByCreatedAtDesc
+CREATE INDEX idx_payments_created_at ON payments (created_at);
+
+-- findByUserIdOrderByOrderDateDesc
+CREATE INDEX idx_orders_user_id_order_date ON orders (user_id, order_date);
+
+-- findByPaymentId
+CREATE INDEX idx_orders_payment_id ON orders (payment_id);
+
+-- findByItemIdOrderByOrderDateDesc
+CREATE INDEX idx_orders_item_id_order_date ON orders (item_id, order_date);
+
+-- findByStatusOrderByOrderDateDesc
+CREATE INDEX idx_orders_status_order_date ON orders (status, order_date);
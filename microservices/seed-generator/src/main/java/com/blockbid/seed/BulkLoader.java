@@ -0,0 +1,281 @@
+package com.blockbid.seed;
+
+import com.blockbid.blockchainservice.blockchain.HexUtils;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads the generated CSV files of one service into its database.
+ *
+ * The schema must already exist (start the service once so Flyway creates
+ * it) and the tables must be empty. Each table goes in through the fastest
+ * path the database has:
+ * <ul>
+ *   <li>copy: PostgreSQL COPY FROM STDIN, streamed through the driver's CopyManager</li>
+ *   <li>csvread: H2 INSERT ... SELECT FROM CSVREAD, read by the database itself</li>
+ *   <li>batch: plain JDBC batch inserts, for anything else</li>
+ * </ul>
+ * H2 has no SQL function that decodes hex text into binary, so under
+ * csvread the tables with binary columns go in as batches.
+ * Each table is loaded in one transaction. Afterwards the id generators
+ * are moved past the loaded ids, so the services keep inserting without
+ * collisions, and PostgreSQL tables are analyzed.
+ */
+public class BulkLoader {
+
+    private final Path inDir;
+    private final String service;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final String mode;
+    private final int batchSize;
+
+    public BulkLoader(Path inDir, String service, String url, String user, String password, String mode,
+                      int batchSize) {
+        this.inDir = inDir;
+        this.service = service;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.mode = mode;
+        this.batchSize = batchSize;
+    }
+
+    public void run() throws Exception {
+        List<SeedTable> tables = SeedTable.forService(service);
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            String loadMode = mode != null ? mode : defaultMode(connection);
+            for (SeedTable table : tables) {
+                checkEmpty(connection, table);
+            }
+
+            connection.setAutoCommit(false);
+            for (SeedTable table : tables) {
+                Path file = inDir.resolve(table.service()).resolve(table.fileName()).toAbsolutePath();
+                if (!Files.exists(file)) {
+                    throw new Exception("Missing " + file + "; run generate first");
+                }
+
+                String tableMode = loadMode.equals("csvread") && hasBinaryColumn(table) ? "batch" : loadMode;
+                long started = System.nanoTime();
+                long rows = switch (tableMode) {
+                    case "copy" -> copy(connection, table, file);
+                    case "csvread" -> csvRead(connection, table, file);
+                    case "batch" -> batch(connection, table, file);
+                    default -> throw new Exception("Unknown load mode: " + loadMode);
+                };
+                restartIds(connection, table);
+                connection.commit();
+                double seconds = (System.nanoTime() - started) / 1e9;
+                System.out.printf("%-24s %,12d rows %8.1fs %,12.0f rows/s (%s)%n", table.table(), rows, seconds,
+                    rows / seconds, tableMode);
+            }
+
+            if (isPostgres(connection)) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    for (SeedTable table : tables) {
+                        statement.execute("ANALYZE " + table.table());
+                    }
+                }
+            }
+        }
+    }
+
+    private static String defaultMode(Connection connection) throws Exception {
+        if (isPostgres(connection)) {
+            return "copy";
+        }
+        if (connection.getMetaData().getDatabaseProductName().equals("H2")) {
+            return "csvread";
+        }
+        return "batch";
+    }
+
+    private static boolean isPostgres(Connection connection) throws Exception {
+        return connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+    }
+
+    private static boolean hasBinaryColumn(SeedTable table) {
+        return table.columns().stream().anyMatch(table::isBinary);
+    }
+
+    private static void checkEmpty(Connection connection, SeedTable table) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + table.table())) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new Exception("Table " + table.table() + " is not empty (" + rs.getLong(1) + " rows)");
+            }
+        }
+    }
+
+    private static long copy(Connection connection, SeedTable table, Path file) throws Exception {
+        String sql = "COPY " + table.table() + " (" + String.join(", ", table.columns()) + ") FROM STDIN (FORMAT csv)";
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, reader);
+        }
+    }
+
+    // CSVREAD returns every column as text; the insert converts it to the column type
+    private static long csvRead(Connection connection, SeedTable table, Path file) throws Exception {
+        List<String> csvColumns = new ArrayList<>();
+        for (String column : table.columns()) {
+            csvColumns.add("C_" + column.toUpperCase());
+        }
+
+        String sql = "INSERT INTO " + table.table() + " (" + String.join(", ", table.columns()) + ") SELECT "
+            + String.join(", ", csvColumns) + " FROM CSVREAD('" + file.toString().replace("'", "''") + "', '"
+            + String.join(",", csvColumns) + "', 'charset=UTF-8')";
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    // Values are converted to the column types the database reports for the table
+    private long batch(Connection connection, SeedTable table, Path file) throws Exception {
+        List<String> columns = table.columns();
+        int[] types = new int[columns.size()];
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT " + String.join(", ", columns) + " FROM "
+                 + table.table() + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 0; i < types.length; i++) {
+                types[i] = metaData.getColumnType(i + 1);
+            }
+        }
+
+        String sql = "INSERT INTO " + table.table() + " (" + String.join(", ", columns) + ") VALUES ("
+            + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        long rows = 0;
+        try (PreparedStatement insert = connection.prepareStatement(sql);
+             CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                for (int i = 0; i < types.length; i++) {
+                    bind(insert, i + 1, types[i], fields.get(i));
+                }
+                insert.addBatch();
+                if (++rows % batchSize == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        return rows;
+    }
+
+    private static void bind(PreparedStatement insert, int index, int type, String value) throws Exception {
+        if (value == null) {
+            insert.setNull(index, type);
+            return;
+        }
+        switch (type) {
+            case Types.BIGINT -> insert.setLong(index, Long.parseLong(value));
+            case Types.INTEGER, Types.SMALLINT -> insert.setInt(index, Integer.parseInt(value));
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> insert.setDouble(index, Double.parseDouble(value));
+            case Types.TIMESTAMP -> insert.setTimestamp(index,
+                Timestamp.valueOf(LocalDateTime.parse(value, CsvWriter.TIMESTAMP_FORMAT)));
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB ->
+                insert.setBytes(index, HexUtils.fromHex(value.substring(2)));
+            default -> insert.setString(index, value);
+        }
+    }
+
+    /**
+     * Moves the id generator past the loaded rows. Identity columns restart
+     * at max + 1. Pooled sequences restart at max + 50, as in the V3
+     * migrations, since Hibernate uses the ids up to 49 below the value it
+     * fetches.
+     */
+    private static void restartIds(Connection connection, SeedTable table) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            long maxId;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table.table())) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            if (table.pooledSequence()) {
+                statement.execute("ALTER SEQUENCE " + table.table() + "_seq RESTART WITH " + (maxId + 50));
+            } else {
+                statement.execute("ALTER TABLE " + table.table() + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+            }
+        }
+    }
+
+    /**
+     * Minimal reader for the CSV that CsvWriter produces: quoted fields may
+     * contain commas, doubled quotes and line breaks; an empty unquoted
+     * field is null.
+     */
+    static class CsvReader implements AutoCloseable {
+
+        private final Reader in;
+
+        CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        List<String> next() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (c == '"') {
+                    quoted = true;
+                    while (true) {
+                        c = in.read();
+                        if (c == -1) {
+                            throw new IOException("Unterminated quoted field");
+                        }
+                        if (c == '"') {
+                            c = in.read();
+                            if (c != '"') {
+                                break;
+                            }
+                        }
+                        field.append((char) c);
+                    }
+                }
+                if (c == ',' || c == '\n' || c == -1) {
+                    fields.add(field.length() > 0 || quoted ? field.toString() : null);
+                    field.setLength(0);
+                    quoted = false;
+                    if (c != ',') {
+                        return fields;
+                    }
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
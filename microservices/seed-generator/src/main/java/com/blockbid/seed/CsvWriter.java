@@ -0,0 +1,93 @@
+package com.blockbid.seed;
+
+import com.blockbid.blockchainservice.blockchain.HexUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes one table as RFC 4180 CSV, in the form all three loaders accept:
+ * no header, null as an empty unquoted field, timestamps as
+ * "yyyy-MM-dd HH:mm:ss.SSS", amounts in plain notation and binary columns
+ * as \x-prefixed hex (PostgreSQL's bytea input format).
+ */
+public class CsvWriter implements AutoCloseable {
+
+    static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final SeedTable table;
+    private final BufferedWriter out;
+    private long rows;
+
+    public CsvWriter(Path directory, SeedTable table) throws IOException {
+        Path serviceDir = directory.resolve(table.service());
+        Files.createDirectories(serviceDir);
+        this.table = table;
+        this.out = new BufferedWriter(Files.newBufferedWriter(serviceDir.resolve(table.fileName()), StandardCharsets.UTF_8),
+            1 << 20);
+    }
+
+    public void row(Object... values) throws IOException {
+        if (values.length != table.columns().size()) {
+            throw new IllegalArgumentException(table.table() + ": expected " + table.columns().size()
+                + " values, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            write(values[i]);
+        }
+        out.write('\n');
+        rows++;
+    }
+
+    private void write(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String string) {
+            if (string.isEmpty() || needsQuotes(string)) {
+                out.write('"');
+                out.write(string.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(string);
+            }
+        } else if (value instanceof Double amount) {
+            out.write(BigDecimal.valueOf(amount).toPlainString());
+        } else if (value instanceof LocalDateTime timestamp) {
+            out.write(TIMESTAMP_FORMAT.format(timestamp));
+        } else if (value instanceof byte[] bytes) {
+            out.write("\\x");
+            out.write(HexUtils.toHex(bytes), 2, 2 * bytes.length);
+        } else {
+            out.write(value.toString());
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,504 @@
+package com.blockbid.seed;
+
+import com.blockbid.blockchainservice.blockchain.BlockchainUtils;
+import com.blockbid.blockchainservice.blockchain.MerkleTree;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.Field;
+import com.blockbid.blockchainservice.blockchain.TransactionPayload.PayloadType;
+import com.blockbid.blockchainservice.entity.BlockchainTransaction;
+import com.blockbid.blockchainservice.ledger.LedgerEntry;
+import com.blockbid.blockchainservice.ledger.LedgerStore;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates one consistent data set for all five service databases.
+ *
+ * Users sign up over the period before the auction history. Items are
+ * listed at a steady rate over the history (ids follow time, as identity ids
+ * do), each with its auction and smart contract; sellers, bidders and the
+ * number of bids per item follow Zipf distributions, so a few items draw
+ * most of the bids and a few users do most of the selling and bidding. Bid
+ * times come in bursts that get denser towards the close, with a wave of
+ * snipes in the last minute of ended auctions. Most won auctions are paid,
+ * each payment with its order.
+ *
+ * Every auction, bid, auction end and payment has its blockchain
+ * transaction, encoded and hashed with the service's own code, and the
+ * transactions are sealed in id order into hash-chained blocks of 500 the
+ * way BlockProducer does; bids carry the hash of their transaction. Since
+ * ids follow items rather than time, a block's timestamp is the latest
+ * transaction time seen so far, which keeps block times monotonic.
+ *
+ * The output is deterministic for a given seed and --now.
+ */
+public class DataGenerator {
+
+    // Same as BlockProducer: block numbering, the genesis link and the default block size
+    private static final long FIRST_BLOCK_NUMBER = 1000001L;
+    private static final String GENESIS_PREVIOUS_HASH = "0x" + "0".repeat(64);
+    private static final int BLOCK_SIZE = 500;
+
+    // Every generated user signs in with this password (user-service hashes with strength 10)
+    static final String PASSWORD = "seedpass1";
+    private static final int BCRYPT_STRENGTH = 10;
+
+    private static final String[] CATEGORIES = {
+        "electronics", "clothing", "home", "collectibles", "sports", "books", "automotive", "other"};
+    private static final String[][] NOUNS = {
+        {"Camera", "Laptop", "Headphones", "Smartphone", "Turntable", "Monitor", "Game Console"},
+        {"Leather Jacket", "Sneakers", "Wool Coat", "Silk Scarf", "Denim Jeans", "Wristwatch"},
+        {"Armchair", "Table Lamp", "Espresso Machine", "Rug", "Dining Set", "Bookshelf"},
+        {"Coin Set", "Trading Card", "Comic Book", "Stamp Album", "Action Figure", "Vinyl Record"},
+        {"Road Bike", "Tennis Racket", "Golf Clubs", "Snowboard", "Kayak", "Hockey Skates"},
+        {"First Edition Novel", "Cookbook", "Atlas", "Poetry Collection", "Art Book"},
+        {"Alloy Wheels", "Car Stereo", "Roof Rack", "Motorcycle Helmet", "Tool Kit"},
+        {"Painting", "Guitar", "Telescope", "Sewing Machine", "Board Game"}};
+    private static final String[] ADJECTIVES = {
+        "Vintage", "Used", "Rare", "Classic", "Modern", "Compact", "Handmade", "Refurbished", "Limited Edition"};
+    private static final String[] CONDITIONS = {"new", "like-new", "good", "fair", "poor"};
+    private static final String[] DESCRIPTIONS = {
+        "Works perfectly, light signs of use.", "Original box and accessories included.",
+        "Selling because I upgraded.", "Smoke-free home, well cared for.", "See photos for details.",
+        "Rarely used, no scratches.", "Some wear, priced accordingly."};
+    private static final String[] SHIPPING_DETAILS = {
+        "Ships within 2 business days", "Tracked shipping included", "Local pickup available",
+        "Ships in original packaging", "Insured shipping"};
+    private static final int[] DURATION_DAYS = {1, 3, 5, 7, 7, 7, 10};
+
+    private static final String[] FIRST_NAMES = {
+        "Emma", "Liam", "Olivia", "Noah", "Ava", "William", "Sophia", "James", "Mia", "Benjamin", "Charlotte",
+        "Lucas", "Amelia", "Henry", "Harper", "Jack", "Chloe", "Owen", "Zoe", "Samuel", "Priya", "Wei", "Fatima",
+        "Mateo", "Aisha", "Hiroshi", "Sofia", "Omar", "Ingrid", "Diego"};
+    private static final String[] LAST_NAMES = {
+        "Smith", "Brown", "Tremblay", "Martin", "Roy", "Wilson", "MacDonald", "Gagnon", "Johnson", "Taylor",
+        "Campbell", "Anderson", "Leblanc", "Lee", "Wong", "Singh", "Patel", "Nguyen", "Kim", "Garcia",
+        "O'Brien", "Cote", "Bouchard", "Gauthier", "Morin"};
+    private static final String[] STREET_NAMES = {
+        "Main Street", "King Street", "Queen Street", "Yonge Street", "Maple Avenue", "Oak Drive", "Elm Road",
+        "Park Avenue", "Church Street", "Victoria Street", "Wellington Street", "Bloor Street", "Cedar Lane",
+        "Lakeshore Boulevard", "Dundas Street"};
+    // city, province, first letter of the postal code
+    private static final String[][] CITIES = {
+        {"Toronto", "ON", "M"}, {"Ottawa", "ON", "K"}, {"Hamilton", "ON", "L"}, {"Montreal", "QC", "H"},
+        {"Quebec City", "QC", "G"}, {"Vancouver", "BC", "V"}, {"Victoria", "BC", "V"}, {"Calgary", "AB", "T"},
+        {"Edmonton", "AB", "T"}, {"Winnipeg", "MB", "R"}, {"Halifax", "NS", "B"}, {"Regina", "SK", "S"}};
+
+    private final Path outDir;
+    private final int users;
+    private final int items;
+    private final long bids;
+    private final int days;
+    private final double exponent;
+    private final double paidShare;
+    private final boolean ledger;
+    private final LocalDateTime now;
+    private final long seed;
+
+    private final SplittableRandom random;
+    private final BlockchainUtils blockchainUtils = new BlockchainUtils();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<SeedTable, CsvWriter> out = new EnumMap<>(SeedTable.class);
+
+    private long nextBidId = 1;
+    private long nextPaymentId = 1;
+    private long nextTransactionId = 1;
+
+    // Transactions waiting for their block
+    private final List<Transaction> block = new ArrayList<>(BLOCK_SIZE);
+    private long nextBlockNumber = FIRST_BLOCK_NUMBER;
+    private String previousHash = GENESIS_PREVIOUS_HASH;
+    private LocalDateTime latestTimestamp = LocalDateTime.MIN;
+    private LedgerStore ledgerStore;
+
+    private record Transaction(long id, String hash, String type, long itemId, Long userId, byte[] payload,
+                               LocalDateTime timestamp) {}
+
+    public DataGenerator(Path outDir, int users, int items, long bids, int days, double exponent,
+                         double paidShare, boolean ledger, LocalDateTime now, long seed) {
+        this.outDir = outDir;
+        this.users = users;
+        this.items = items;
+        this.bids = bids;
+        this.days = days;
+        this.exponent = exponent;
+        this.paidShare = paidShare;
+        this.ledger = ledger;
+        this.now = now;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void run() throws Exception {
+        long started = System.nanoTime();
+        AnnotationConfigApplicationContext ledgerContext = ledger ? openLedger() : null;
+        try {
+            for (SeedTable table : SeedTable.values()) {
+                out.put(table, new CsvWriter(outDir, table));
+            }
+            generateUsers();
+            generateItems();
+            sealBlock();
+        } finally {
+            for (CsvWriter writer : out.values()) {
+                writer.close();
+            }
+            if (ledgerContext != null) {
+                ledgerContext.close();
+            }
+        }
+
+        for (SeedTable table : SeedTable.values()) {
+            System.out.printf("%-20s %-24s %,12d rows%n", table.service(), table.table(), out.get(table).rows());
+        }
+        System.out.printf("Generated in %.1fs into %s%n", (System.nanoTime() - started) / 1e9, outDir.toAbsolutePath());
+    }
+
+    // LedgerStore as the service configures it, writing segments under blockchain-service/ledger
+    private AnnotationConfigApplicationContext openLedger() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("seed",
+            Map.of("blockchain.ledger.dir", outDir.resolve("blockchain-service/ledger").toString())));
+        context.register(LedgerStore.class);
+        context.refresh();
+        ledgerStore = context.getBean(LedgerStore.class);
+        return context;
+    }
+
+    // Sign-ups spread over the period before the auction history starts
+    private void generateUsers() throws Exception {
+        String passwordHash = new BCryptPasswordEncoder(BCRYPT_STRENGTH).encode(PASSWORD);
+        LocalDateTime from = now.minusDays(2L * days);
+        long spacing = Duration.ofDays(days).toMillis() / users;
+
+        for (long id = 1; id <= users; id++) {
+            String[] address = address(id);
+            out.get(SeedTable.USERS).row(id, "user" + id, passwordHash, firstName(id), lastName(id),
+                "user" + id + "@example.com", address[0], address[1], address[2], address[3], address[4], address[5],
+                from.plusNanos((id * spacing + random.nextLong(Math.max(1, spacing))) * 1_000_000));
+        }
+    }
+
+    private void generateItems() throws Exception {
+        Zipf userPopularity = new Zipf(users, exponent);
+        Zipf itemPopularity = new Zipf(items, exponent);
+
+        // Popularity rank per item, shuffled so hot items are spread over the whole history
+        int[] rank = new int[items];
+        for (int i = 0; i < items; i++) {
+            rank[i] = i + 1;
+        }
+        for (int i = items - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rank[i];
+            rank[i] = rank[j];
+            rank[j] = swap;
+        }
+
+        LocalDateTime from = now.minusDays(days);
+        // Listings stop a minute before now so every auction has a window to bid in
+        long spacing = (Duration.ofDays(days).toMillis() - 60_000) / items;
+        for (long id = 1; id <= items; id++) {
+            double expected = bids * itemPopularity.probability(rank[(int) id - 1]);
+            int bidCount = (int) expected + (random.nextDouble() < expected - (int) expected ? 1 : 0);
+            LocalDateTime createdAt = from.plusNanos(((id - 1) * spacing + random.nextLong(Math.max(1, spacing))) * 1_000_000);
+            generateAuction(id, createdAt, bidCount, userPopularity);
+        }
+    }
+
+    // One item with its auction, contract, bids, and (once ended and won) its payment and order
+    private void generateAuction(long itemId, LocalDateTime createdAt, int bidCount, Zipf userPopularity) throws Exception {
+        long sellerId = userPopularity.sample(random);
+        int category = pickCategory();
+        String name = pick(ADJECTIVES) + " " + pick(NOUNS[category]);
+        String condition = pick(CONDITIONS);
+        String description = name + " in " + condition + " condition. " + pick(DESCRIPTIONS);
+        LocalDateTime endTime = createdAt.plusDays(pick(DURATION_DAYS));
+        boolean ended = endTime.isBefore(now);
+
+        double startingPrice = round(Math.min(50_000, Math.max(1, Math.exp(3.2 + 1.3 * random.nextGaussian()))));
+        Double reservePrice = random.nextDouble() < 0.3 ? round(startingPrice * (1.2 + random.nextDouble())) : null;
+        double shippingCost = round(5 + random.nextDouble() * 20);
+        double expeditedShippingCost = round(shippingCost + 10 + random.nextDouble() * 15);
+        String shippingDetails = random.nextBoolean() ? pick(SHIPPING_DETAILS) : null;
+
+        // Contract deployment when the item is listed
+        byte[] contractData = payload(PayloadType.AUCTION_CONTRACT, createdAt)
+            .putLong(Field.ITEM_ID, itemId)
+            .putLong(Field.SELLER_ID, sellerId)
+            .putAmount(Field.STARTING_PRICE, startingPrice)
+            .putString(Field.END_TIME, endTime.toString())
+            .putString(Field.AUCTION_TYPE, "FORWARD")
+            .toByteArray();
+        String contractAddress = blockchainUtils.deriveContractAddress(contractData);
+        String deploymentHash = transaction("AUCTION_CREATE", itemId, sellerId, contractData, createdAt);
+
+        // Bids, each outbidding the previous one
+        LocalDateTime biddingEnds = ended ? endTime : now;
+        long[] times = bidTimes(millis(createdAt), millis(biddingEnds), bidCount, ended);
+        double currentPrice = startingPrice;
+        Long highestBidderId = null;
+        Long winningBidId = null;
+        for (int i = 0; i < times.length; i++) {
+            long bidderId = pickBidder(userPopularity, sellerId, highestBidderId);
+            double amount = round(i == 0 ? startingPrice : currentPrice + increment(currentPrice));
+            LocalDateTime bidTime = time(times[i]);
+
+            byte[] bidData = payload(PayloadType.BID, bidTime)
+                .putLong(Field.ITEM_ID, itemId)
+                .putLong(Field.BIDDER_ID, bidderId)
+                .putAmount(Field.AMOUNT, amount)
+                .putHex(Field.CONTRACT_ADDRESS, contractAddress)
+                .toByteArray();
+            String bidHash = transaction("BID", itemId, bidderId, bidData, bidTime);
+
+            long bidId = nextBidId++;
+            out.get(SeedTable.BIDS).row(bidId, itemId, bidderId, amount, bidTime,
+                i == times.length - 1 ? "WINNING" : "OUTBID", bidHash);
+            currentPrice = amount;
+            highestBidderId = bidderId;
+            winningBidId = bidId;
+        }
+
+        // The scheduler ends expired auctions within a few seconds
+        LocalDateTime endedAt = ended ? endTime.plusNanos(random.nextLong(5_000) * 1_000_000) : null;
+        if (ended) {
+            byte[] endData = payload(PayloadType.AUCTION_END, endedAt)
+                .putLong(Field.ITEM_ID, itemId)
+                .putLong(Field.WINNER_ID, highestBidderId)
+                .putAmount(Field.WINNING_BID, currentPrice)
+                .putHex(Field.CONTRACT_ADDRESS, contractAddress)
+                .toByteArray();
+            transaction("AUCTION_END", itemId, highestBidderId, endData, endedAt);
+        }
+
+        String status = ended ? "ENDED" : "ACTIVE";
+        // One version bump per accepted bid, and one for ending
+        long version = times.length + (ended ? 1 : 0);
+        out.get(SeedTable.ITEMS).row(itemId, name, description, startingPrice, reservePrice, CATEGORIES[category],
+            condition, "forward", endTime, shippingCost, expeditedShippingCost, shippingDetails, sellerId, createdAt,
+            status, currentPrice, highestBidderId, times.length, version);
+        out.get(SeedTable.AUCTIONS).row(itemId, itemId, sellerId, startingPrice, reservePrice, createdAt, endTime,
+            status, currentPrice, highestBidderId, winningBidId, times.length, version);
+        out.get(SeedTable.SMART_CONTRACTS).row(itemId, contractAddress, "AUCTION", itemId, sellerId, status,
+            TransactionPayload.toJson(contractData), createdAt, endedAt, deploymentHash);
+
+        if (ended && highestBidderId != null && random.nextDouble() < paidShare) {
+            generatePayment(itemId, highestBidderId, currentPrice, shippingCost, expeditedShippingCost, endedAt);
+        }
+    }
+
+    // Winners pay within hours, rarely more than three days later; unpaid if that is still in the future
+    private void generatePayment(long itemId, long userId, double itemPrice, double shippingCost,
+                                 double expeditedShippingCost, LocalDateTime endedAt) throws Exception {
+        long delayMillis = (long) Math.min(Duration.ofDays(3).toMillis(),
+            -Math.log(1 - random.nextDouble()) * Duration.ofHours(12).toMillis());
+        LocalDateTime createdAt = endedAt.plusNanos((60_000 + delayMillis) * 1_000_000);
+        if (!createdAt.isBefore(now)) {
+            return;
+        }
+        LocalDateTime completedAt = createdAt.plusNanos((300 + random.nextLong(1_500)) * 1_000_000);
+
+        boolean expedited = random.nextDouble() < 0.25;
+        String shippingType = expedited ? "expedited" : "standard";
+        double shipping = expedited ? expeditedShippingCost : shippingCost;
+        double total = round(itemPrice + shipping);
+        String[] address = address(userId);
+        String shippingAddress = String.format("%s %s\n%s, %s %s\n%s",
+            address[0], address[1], address[2], address[3], address[4], address[5]);
+
+        long paymentId = nextPaymentId++;
+        String transactionId = "TXN" + millis(createdAt) + paymentId;
+        out.get(SeedTable.PAYMENTS).row(paymentId, itemId, userId, total, itemPrice, shipping, shippingType,
+            shippingAddress, address[0], address[1], address[2], address[3], address[4], address[5], "COMPLETED",
+            createdAt, completedAt, transactionId, String.format("%04d", random.nextInt(10_000)),
+            firstName(userId) + " " + lastName(userId), "CREDIT_CARD");
+
+        // Orders are created with their payment, so they share its id
+        LocalDateTime estimatedDelivery = completedAt.plusDays(expedited ? 3 : 7);
+        String orderStatus = estimatedDelivery.isBefore(now) ? "DELIVERED"
+            : completedAt.plusDays(1).isBefore(now) ? "SHIPPED" : "PROCESSING";
+        out.get(SeedTable.ORDERS).row(paymentId, "ORD" + millis(completedAt) + paymentId, paymentId, itemId,
+            "Auction Item #" + itemId, "Item purchased through auction", userId, orderStatus, completedAt,
+            estimatedDelivery, "TRK" + millis(completedAt));
+
+        byte[] paymentData = payload(PayloadType.PAYMENT, completedAt)
+            .putLong(Field.ITEM_ID, itemId)
+            .putLong(Field.PAYER_ID, userId)
+            .putAmount(Field.AMOUNT, total)
+            .putString(Field.PAYMENT_ID, transactionId)
+            .toByteArray();
+        transaction("PAYMENT", itemId, userId, paymentData, completedAt);
+    }
+
+    /**
+     * Bid times for one auction, sorted. Bids come in bursts of quick
+     * outbids (bidding wars) whose start times are skewed towards the
+     * close; an ended auction also gets a fifth of its bids as snipes in
+     * its final minute.
+     */
+    private long[] bidTimes(long start, long end, int count, boolean closed) {
+        long[] times = new long[count];
+        long window = end - start;
+        int i = 0;
+        if (closed && count >= 5) {
+            for (; i < count / 5; i++) {
+                times[i] = end - 1 - random.nextLong(Math.min(60_000, window));
+            }
+        }
+        while (i < count) {
+            // The square root of a uniform variable has density 2u: twice as likely near the close
+            long time = start + (long) (window * Math.sqrt(random.nextDouble()));
+            int burst = 1 + (int) (-Math.log(1 - random.nextDouble()) * 3);
+            for (int b = 0; b < burst && i < count && time < end; b++) {
+                times[i++] = time;
+                time += 1_000 + (long) (-Math.log(1 - random.nextDouble()) * 15_000);
+            }
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    // Usual auction-site bid increments by price band, occasionally a jump of several increments
+    private double increment(double price) {
+        double step = price < 5 ? 0.25 : price < 25 ? 0.5 : price < 100 ? 1 : price < 250 ? 2.5
+            : price < 500 ? 5 : price < 1_000 ? 10 : price < 2_500 ? 25 : price < 5_000 ? 50 : 100;
+        return step * (random.nextDouble() < 0.8 ? 1 : 2 + random.nextInt(4));
+    }
+
+    // Popular bidders bid more; nobody bids on their own item or outbids themselves
+    private long pickBidder(Zipf userPopularity, long sellerId, Long highestBidderId) {
+        long bidderId;
+        do {
+            bidderId = userPopularity.sample(random);
+        } while ((bidderId == sellerId || (highestBidderId != null && bidderId == highestBidderId)) && users > 2);
+        return bidderId;
+    }
+
+    private TransactionPayload.Writer payload(PayloadType type, LocalDateTime timestamp) {
+        return TransactionPayload.writer(type, millis(timestamp), random.nextLong());
+    }
+
+    // Queues a confirmed transaction for the current block and returns its hash
+    private String transaction(String type, long itemId, Long userId, byte[] payload, LocalDateTime timestamp)
+            throws Exception {
+        String hash = blockchainUtils.generateTransactionHash(payload);
+        block.add(new Transaction(nextTransactionId++, hash, type, itemId, userId, payload, timestamp));
+        if (block.size() == BLOCK_SIZE) {
+            sealBlock();
+        }
+        return hash;
+    }
+
+    // Same header and Merkle root as BlockProducer.produceBlock
+    private void sealBlock() throws Exception {
+        if (block.isEmpty()) {
+            return;
+        }
+        List<String> hashes = new ArrayList<>(block.size());
+        for (Transaction tx : block) {
+            hashes.add(tx.hash());
+            if (tx.timestamp().isAfter(latestTimestamp)) {
+                latestTimestamp = tx.timestamp();
+            }
+        }
+        long blockNumber = nextBlockNumber++;
+        String merkleRoot = MerkleTree.computeRoot(hashes);
+        String blockHash = blockchainUtils.computeBlockHash(blockNumber, previousHash, merkleRoot, latestTimestamp,
+            block.size());
+        out.get(SeedTable.BLOCKS).row(blockNumber - FIRST_BLOCK_NUMBER + 1, blockNumber, blockHash, previousHash,
+            merkleRoot, block.size(), latestTimestamp);
+
+        List<LedgerEntry> entries = new ArrayList<>(ledger ? block.size() : 0);
+        for (Transaction tx : block) {
+            String gasUsed = blockchainUtils.estimateGas(tx.type());
+            out.get(SeedTable.BLOCKCHAIN_TRANSACTIONS).row(tx.id(), tx.hash(), blockHash, blockNumber, tx.type(),
+                tx.itemId(), tx.userId(), tx.payload(), tx.timestamp(), "CONFIRMED", 1, gasUsed);
+            if (ledger) {
+                BlockchainTransaction entity = new BlockchainTransaction(tx.hash(), tx.type(), tx.itemId(), tx.payload());
+                entity.setUserId(tx.userId());
+                entity.setTimestamp(tx.timestamp());
+                entries.add(LedgerEntry.confirmed(entity, blockNumber, blockHash));
+            }
+        }
+        if (ledger) {
+            ledgerStore.appendAll(entries);
+        }
+        previousHash = blockHash;
+        block.clear();
+    }
+
+    // Categories by popularity, electronics first
+    private int pickCategory() {
+        double u = random.nextDouble();
+        double[] cumulative = {0.25, 0.42, 0.56, 0.68, 0.79, 0.87, 0.94, 1.0};
+        int i = 0;
+        while (u > cumulative[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    // Names and addresses are derived from the user id, so payments can repeat them without a lookup
+    private String firstName(long userId) {
+        return FIRST_NAMES[(int) Math.floorMod(mix(userId, 1), (long) FIRST_NAMES.length)];
+    }
+
+    private String lastName(long userId) {
+        return LAST_NAMES[(int) Math.floorMod(mix(userId, 2), (long) LAST_NAMES.length)];
+    }
+
+    // street number, street name, city, province, postal code, country
+    private String[] address(long userId) {
+        long h = mix(userId, 3);
+        String[] city = CITIES[(int) Math.floorMod(h, (long) CITIES.length)];
+        h = mix(h, 4);
+        String postalCode = String.format("%s%d%c %d%c%d", city[2], Math.floorMod(h, 10L),
+            (char) ('A' + Math.floorMod(h >> 4, 26L)), Math.floorMod(h >> 9, 10L),
+            (char) ('A' + Math.floorMod(h >> 13, 26L)), Math.floorMod(h >> 18, 10L));
+        return new String[] {String.valueOf(1 + Math.floorMod(h >> 23, 9_999L)),
+            STREET_NAMES[(int) Math.floorMod(h >> 37, (long) STREET_NAMES.length)], city[0], city[1], postalCode,
+            "Canada"};
+    }
+
+    // SplitMix64 finalizer over (seed, value, salt)
+    private long mix(long value, long salt) {
+        long z = seed + value * 0x9E3779B97F4A7C15L + salt * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private int pick(int[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private long millis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime time(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.blockbid.seed;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bulk test data for the service databases.
+ *
+ * generate writes one CSV file per table under DIR/&lt;service&gt;/ (and,
+ * unless --ledger false, ledger segments under DIR/blockchain-service/ledger);
+ * load bulk-loads one service's files into its database.
+ *
+ * Usage:
+ * <pre>
+ *   java -jar target/seed-generator.jar generate [--out seed-data] [--users 100000] [--items 50000]
+ *        [--bids 2000000] [--days 30] [--zipf 0.9] [--paid 0.85] [--ledger true] [--seed 42]
+ *        [--now 2025-01-31T12:00]
+ *   java -jar target/seed-generator.jar load --service auction-service --url JDBC_URL
+ *        [--in seed-data] [--user sa] [--password ""] [--mode copy|csvread|batch] [--batch-size 5000]
+ * </pre>
+ */
+public class SeedGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || (!args[0].equals("generate") && !args[0].equals("load"))) {
+            usage();
+        }
+        Map<String, String> options = parseOptions(args);
+
+        if (args[0].equals("generate")) {
+            LocalDateTime now = options.containsKey("now") ? LocalDateTime.parse(options.get("now"))
+                : LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+            new DataGenerator(
+                Paths.get(options.getOrDefault("out", "seed-data")),
+                Integer.parseInt(options.getOrDefault("users", "100000")),
+                Integer.parseInt(options.getOrDefault("items", "50000")),
+                Long.parseLong(options.getOrDefault("bids", "2000000")),
+                Integer.parseInt(options.getOrDefault("days", "30")),
+                Double.parseDouble(options.getOrDefault("zipf", "0.9")),
+                Double.parseDouble(options.getOrDefault("paid", "0.85")),
+                Boolean.parseBoolean(options.getOrDefault("ledger", "true")),
+                now,
+                Long.parseLong(options.getOrDefault("seed", "42"))
+            ).run();
+        } else {
+            if (!options.containsKey("service") || !options.containsKey("url")) {
+                usage();
+            }
+            Path inDir = Paths.get(options.getOrDefault("in", "seed-data"));
+            new BulkLoader(
+                inDir,
+                options.get("service"),
+                options.get("url"),
+                options.getOrDefault("user", "sa"),
+                options.getOrDefault("password", ""),
+                options.get("mode"),
+                Integer.parseInt(options.getOrDefault("batch-size", "5000"))
+            ).run();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                usage();
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static void usage() {
+        System.err.println("usage: seed-generator generate [--out DIR] [--users N] [--items N] [--bids N] [--days N]"
+            + " [--zipf S] [--paid P] [--ledger true|false] [--seed N] [--now yyyy-MM-ddTHH:mm]");
+        System.err.println("       seed-generator load --service NAME --url JDBC_URL [--in DIR] [--user U]"
+            + " [--password P] [--mode copy|csvread|batch] [--batch-size N]");
+        System.exit(2);
+    }
+}
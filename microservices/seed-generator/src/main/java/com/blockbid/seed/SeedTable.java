@@ -0,0 +1,92 @@
+package com.blockbid.seed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tables the generator fills, with their CSV column order.
+ *
+ * The columns match the Flyway schemas of the owning services. CSV files
+ * have no header row; this enum is the one place the column order is
+ * defined, for both the writer and the loaders. Tables are listed in load
+ * order per service.
+ */
+public enum SeedTable {
+
+    USERS("user-service", "users", false,
+        "id", "username", "password", "first_name", "last_name", "email", "street_number", "street_name",
+        "city", "province", "postal_code", "country", "created_at"),
+
+    ITEMS("item-service", "items", false,
+        "id", "name", "description", "starting_price", "reserve_price", "category", "condition", "auction_type",
+        "end_time", "shipping_cost", "expedited_shipping_cost", "shipping_details", "seller_id", "created_at",
+        "status", "current_price", "highest_bidder_id", "bid_count", "version"),
+
+    AUCTIONS("auction-service", "auctions", true,
+        "id", "item_id", "seller_id", "starting_price", "reserve_price", "start_time", "end_time", "status",
+        "current_price", "highest_bidder_id", "winning_bid_id", "total_bids", "version"),
+
+    BIDS("auction-service", "bids", true,
+        "id", "item_id", "bidder_id", "amount", "bid_time", "status", "transaction_hash"),
+
+    PAYMENTS("payment-service", "payments", true,
+        "id", "item_id", "user_id", "total_amount", "item_price", "shipping_cost", "shipping_type",
+        "shipping_address", "street_number", "street_name", "city", "province", "postal_code", "country",
+        "status", "created_at", "completed_at", "transaction_id", "card_last_four", "cardholder_name",
+        "payment_method"),
+
+    ORDERS("payment-service", "orders", true,
+        "id", "order_number", "payment_id", "item_id", "item_name", "item_description", "user_id", "status",
+        "order_date", "estimated_delivery", "tracking_number"),
+
+    BLOCKS("blockchain-service", "blocks", false,
+        "id", "block_number", "block_hash", "previous_hash", "merkle_root", "transaction_count", "timestamp"),
+
+    BLOCKCHAIN_TRANSACTIONS("blockchain-service", "blockchain_transactions", true,
+        "id", "transaction_hash", "block_hash", "block_number", "transaction_type", "item_id", "user_id",
+        "payload", "timestamp", "status", "confirmations", "gas_used"),
+
+    SMART_CONTRACTS("blockchain-service", "smart_contracts", false,
+        "id", "contract_address", "contract_type", "item_id", "owner_id", "status", "contract_data",
+        "deployed_at", "ended_at", "deployment_tx_hash");
+
+    // Columns written as 0x-prefixed hex and stored as binary
+    private static final String BINARY_COLUMN = "payload";
+
+    private final String service;
+    private final String table;
+    private final boolean pooledSequence;
+    private final List<String> columns;
+
+    SeedTable(String service, String table, boolean pooledSequence, String... columns) {
+        this.service = service;
+        this.table = table;
+        this.pooledSequence = pooledSequence;
+        this.columns = List.of(columns);
+    }
+
+    public String service() { return service; }
+    public String table() { return table; }
+    public List<String> columns() { return columns; }
+    public String fileName() { return table + ".csv"; }
+
+    // Ids come from <table>_seq (allocation size 50, V3 migrations) rather than the identity column
+    public boolean pooledSequence() { return pooledSequence; }
+
+    public boolean isBinary(String column) {
+        return this == BLOCKCHAIN_TRANSACTIONS && BINARY_COLUMN.equals(column);
+    }
+
+    public static List<SeedTable> forService(String service) throws Exception {
+        List<SeedTable> tables = new ArrayList<>();
+        for (SeedTable table : values()) {
+            if (table.service.equals(service)) {
+                tables.add(table);
+            }
+        }
+        if (tables.isEmpty()) {
+            throw new Exception("Unknown service: " + service);
+        }
+        return tables;
+    }
+}
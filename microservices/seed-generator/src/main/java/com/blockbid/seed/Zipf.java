@@ -0,0 +1,39 @@
+package com.blockbid.seed;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over ranks 1..n: P(rank k) is proportional to 1 / k^exponent.
+ *
+ * Sampling is a binary search over the precomputed cumulative distribution,
+ * one double per rank, which is fine for the few million ranks the
+ * generator needs.
+ */
+public class Zipf {
+
+    private final double exponent;
+    private final double normalizer;
+    private final double[] cumulative;
+
+    public Zipf(int n, double exponent) {
+        this.exponent = exponent;
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, exponent);
+            cumulative[k - 1] = sum;
+        }
+        this.normalizer = sum;
+    }
+
+    public double probability(int rank) {
+        return 1.0 / Math.pow(rank, exponent) / normalizer;
+    }
+
+    public int sample(SplittableRandom random) {
+        double target = random.nextDouble() * normalizer;
+        int index = Arrays.binarySearch(cumulative, target);
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+}
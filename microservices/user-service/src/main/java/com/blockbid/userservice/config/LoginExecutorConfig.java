@@ -0,0 +1,69 @@
+package com.blockbid.userservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded pool for bcrypt verification.
+ *
+ * Password hashing is deliberately CPU-expensive. Running it here instead of
+ * on Tomcat request threads means a login burst can only ever occupy this
+ * pool; once its queue is full new logins are rejected straight away (503)
+ * and the rest of user-service, including the /internal/users lookups other
+ * services depend on, keeps its request threads. It stays on platform
+ * threads in virtual-thread mode too: the work is CPU-bound, and virtual
+ * threads would only remove its back-pressure.
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+    @Value("${app.login.verify-threads:0}")
+    private int verifyThreads;
+
+    @Value("${app.login.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Bean(name = "passwordVerificationExecutor", destroyMethod = "shutdown")
+    public ExecutorService passwordVerificationExecutor(MeterRegistry meterRegistry) {
+        int threads = verifyThreads > 0 ? verifyThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new NamedThreadFactory("login-verify-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // Publishes executor.* metrics (queued, active, completed) tagged name=login.verify
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "login.verify", Collections.emptyList());
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger(1);
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
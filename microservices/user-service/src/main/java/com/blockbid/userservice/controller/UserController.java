@@ -1,16 +1,27 @@
 package com.blockbid.userservice.controller;
 
 import com.blockbid.userservice.config.JwtUtils;
+import com.blockbid.userservice.dto.UserProfile;
+import com.blockbid.userservice.dto.UserSummary;
 import com.blockbid.userservice.entity.User;
 import com.blockbid.userservice.service.UserService;
 import com.blockbid.userservice.validation.UserValidator;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/")
@@ -23,6 +34,12 @@ public class UserController {
     @Autowired
     private JwtUtils jwtUtils;
     
+    // Proxies (host names or addresses) whose X-Forwarded-For header is believed
+    @Value("${app.login.trusted-proxies}")
+    private List<String> trustedProxies;
+    
+    private static final int MAX_BULK_IDS = 100;
+    
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody Map<String, String> request) {
         try {
@@ -73,42 +90,101 @@ public class UserController {
         }
     }
     
+    // Fast availability check for the signup form (final answer comes from the insert)
+    @GetMapping("/signup/check-username")
+    public ResponseEntity<?> checkUsername(@RequestParam("username") String username) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("username", username);
+        response.put("available", userService.isUsernameAvailable(username));
+        return ResponseEntity.ok(response);
+    }
+    
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody Map<String, String> request) {
-        try {
-            // Validate input
-            Map<String, String> validationErrors = UserValidator.validateLogin(request);
-            if (!validationErrors.isEmpty()) {
-                return ResponseEntity.badRequest().body(validationErrors);
-            }
-            
-            String username = request.get("username");
-            String password = request.get("password");
-            
-            User user = userService.authenticateUser(username, password);
-            String token = jwtUtils.generateJwtToken(user.getUsername(), user.getId());
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Login successful");
-            response.put("token", token);
-            response.put("userId", user.getId());
-            response.put("username", user.getUsername());
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            
+    public CompletableFuture<ResponseEntity<?>> loginUser(@RequestBody Map<String, String> request,
+                                                          HttpServletRequest httpRequest) {
+        // Validate input
+        Map<String, String> validationErrors = UserValidator.validateLogin(request);
+        if (!validationErrors.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(validationErrors));
+        }
+        
+        String username = request.get("username");
+        String password = request.get("password");
+        
+        // Password verification runs on the login pool; the request thread is released here
+        return userService.authenticateUserAsync(username, password, resolveClientIp(httpRequest))
+            .<ResponseEntity<?>>thenApply(user -> {
+                String token = jwtUtils.generateJwtToken(user.getUsername(), user.getId());
+                
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "Login successful");
+                response.put("token", token);
+                response.put("userId", user.getId());
+                response.put("username", user.getUsername());
+                
+                return ResponseEntity.ok(response);
+            })
+            .exceptionally(this::loginErrorResponse);
+    }
+    
+    private ResponseEntity<?> loginErrorResponse(Throwable throwable) {
+        Throwable e = throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+        String message = e.getMessage() != null ? e.getMessage() : "Login failed";
+        
+        Map<String, String> error = new HashMap<>();
+        
+        if (message.contains("Too many login attempts")) {
+            error.put("message", message);
+            return ResponseEntity.status(429).body(error);
+        } else if (message.contains("Login service is busy")) {
+            error.put("message", message);
+            return ResponseEntity.status(503).header("Retry-After", "1").body(error);
+        } else if (message.contains("Invalid username or password")) {
             // Specific error for invalid credentials
-            if (e.getMessage().contains("Invalid username or password")) {
-                error.put("field", "username");
-                error.put("message", "Invalid username or password");
-            } else {
-                error.put("message", e.getMessage());
+            error.put("field", "username");
+            error.put("message", "Invalid username or password");
+        } else {
+            error.put("message", message);
+        }
+        
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    // The gateway appends the caller address to X-Forwarded-For. Only that last entry is
+    // trustworthy: everything before it comes from the client and could rotate per request.
+    // A caller reaching this service directly is keyed by its own address, whatever it sends.
+    private String resolveClientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank() && isTrustedProxy(remoteAddr)) {
+            return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+        }
+        return remoteAddr;
+    }
+    
+    // Host names are resolved on each check (the JVM caches lookups), so a restarted gateway
+    // container with a new address is still recognised
+    private boolean isTrustedProxy(String remoteAddr) {
+        InetAddress remote;
+        try {
+            remote = InetAddress.getByName(remoteAddr); // an IP literal, no lookup
+        } catch (UnknownHostException e) {
+            return false;
+        }
+        for (String proxy : trustedProxies) {
+            try {
+                for (InetAddress address : InetAddress.getAllByName(proxy.trim())) {
+                    if (address.equals(remote)) {
+                        return true;
+                    }
+                }
+            } catch (UnknownHostException e) {
+                // Proxy not resolvable right now (e.g. not started yet); it cannot be the caller
             }
-            
-            return ResponseEntity.badRequest().body(error);
         }
+        return false;
     }
     
     @GetMapping("/users/{id}")
@@ -126,31 +202,13 @@ public class UserController {
             }
             // Allow requests to proceed even without auth header
             
-            Optional<User> userOptional = userService.findById(id);
-            if (userOptional.isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("message", "User not found");
+            Optional<UserProfile> profile = userService.findProfileById(id);
+            if (profile.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
-            User user = userOptional.get();
-            
-            // Return user data (excluding password)
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", user.getId());
-            response.put("username", user.getUsername());
-            response.put("firstName", user.getFirstName());
-            response.put("lastName", user.getLastName());
-            response.put("email", user.getEmail());
-            response.put("streetNumber", user.getStreetNumber());
-            response.put("streetName", user.getStreetName());
-            response.put("city", user.getCity());
-            response.put("province", user.getProvince());
-            response.put("postalCode", user.getPostalCode());
-            response.put("country", user.getCountry());
-            response.put("createdAt", user.getCreatedAt());
-            
-            return ResponseEntity.ok(response);
+            // Projection excludes the password
+            return ResponseEntity.ok(profile.get());
             
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -159,29 +217,45 @@ public class UserController {
         }
     }
     
+    // Bulk lookup, e.g. /users?ids=1,2,3. Public, so summaries only: no email or address
+    @GetMapping("/users")
+    public ResponseEntity<?> getUsers(@RequestParam("ids") List<Long> ids) {
+        if (ids.size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().body(Map.of("message", "At most " + MAX_BULK_IDS + " ids per request"));
+        }
+        List<UserSummary> summaries = userService.findProfilesByIds(ids).stream()
+            .map(UserProfile::toSummary)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(summaries);
+    }
+    
     @GetMapping("/internal/users/{id}")
     public ResponseEntity<?> getUserInternal(@PathVariable Long id) {
         try {
-            Optional<User> userOptional = userService.findById(id);
-            if (userOptional.isEmpty()) {
+            // Don't include sensitive data like email for internal calls
+            Optional<UserSummary> summary = userService.findProfileById(id).map(UserProfile::toSummary);
+            if (summary.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
-            User user = userOptional.get();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("id", user.getId());
-            response.put("username", user.getUsername());
-            response.put("firstName", user.getFirstName());
-            response.put("lastName", user.getLastName());
-            // Don't include sensitive data like email for internal calls
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(summary.get());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         }
     }
     
+    // Bulk internal lookup; unknown ids are simply absent from the result
+    @GetMapping("/internal/users")
+    public ResponseEntity<?> getUsersInternal(@RequestParam("ids") List<Long> ids) {
+        if (ids.size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().body(Map.of("message", "At most " + MAX_BULK_IDS + " ids per request"));
+        }
+        List<UserSummary> summaries = userService.findProfilesByIds(ids).stream()
+            .map(UserProfile::toSummary)
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(summaries);
+    }
+    
     @PostMapping("/validate-token")
     public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String authHeader) {
         try {
@@ -192,19 +266,17 @@ public class UserController {
             }
             
             String token = authHeader.substring(7);
-            if (!jwtUtils.validateJwtToken(token)) {
+            Claims claims = jwtUtils.parseValidClaims(token);
+            if (claims == null) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Invalid or expired token");
                 return ResponseEntity.status(401).body(error);
             }
-            
-            String username = jwtUtils.getUsernameFromJwtToken(token);
-            Long userId = jwtUtils.getUserIdFromJwtToken(token);
-            
+
             Map<String, Object> response = new HashMap<>();
             response.put("valid", true);
-            response.put("username", username);
-            response.put("userId", userId);
+            response.put("username", claims.getSubject());
+            response.put("userId", claims.get("userId", Long.class));
             
             return ResponseEntity.ok(response);
             
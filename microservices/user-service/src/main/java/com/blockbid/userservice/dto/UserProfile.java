@@ -0,0 +1,28 @@
+package com.blockbid.userservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Public profile of a user (everything except the password hash), as
+ * returned by /users/{id}. Loaded with a JPQL constructor query so the
+ * entity is never materialised for read-only lookups.
+ */
+public record UserProfile(
+    Long id,
+    String username,
+    String firstName,
+    String lastName,
+    String email,
+    String streetNumber,
+    String streetName,
+    String city,
+    String province,
+    String postalCode,
+    String country,
+    LocalDateTime createdAt
+) {
+
+    public UserSummary toSummary() {
+        return new UserSummary(id, username, firstName, lastName);
+    }
+}
@@ -0,0 +1,9 @@
+package com.blockbid.userservice.dto;
+
+/**
+ * Minimal user identity for service-to-service calls (/internal/users) and
+ * the public bulk lookup (/users?ids=).
+ * Deliberately excludes email and address.
+ */
+public record UserSummary(Long id, String username, String firstName, String lastName) {
+}
@@ -1,10 +1,16 @@
 package com.blockbid.userservice.repository;
 
+import com.blockbid.userservice.dto.UserProfile;
 import com.blockbid.userservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,4 +22,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    // Streamed so the username filter can be built without loading every entity
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
+    
+    // Read-only profile projections (no password hash, no managed entity)
+    @Query("SELECT new com.blockbid.userservice.dto.UserProfile(u.id, u.username, u.firstName, u.lastName, u.email, " +
+           "u.streetNumber, u.streetName, u.city, u.province, u.postalCode, u.country, u.createdAt) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserProfile> findProfileById(@Param("id") Long id);
+    
+    @Query("SELECT new com.blockbid.userservice.dto.UserProfile(u.id, u.username, u.firstName, u.lastName, u.email, " +
+           "u.streetNumber, u.streetName, u.city, u.province, u.postalCode, u.country, u.createdAt) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserProfile> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,61 @@
+package com.blockbid.userservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window login attempt throttling.
+ *
+ * Failed attempts are counted per username (credential stuffing against one
+ * account) and all attempts are counted per client IP (one client hammering
+ * the endpoint). Counters live for one window after their first attempt and
+ * are bounded in number, so a flood of random usernames cannot grow memory.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, AtomicInteger> usernameFailures;
+    private final Cache<String, AtomicInteger> ipAttempts;
+    private final int maxFailuresPerUsername;
+    private final int maxAttemptsPerIp;
+
+    public LoginThrottle(@Value("${app.login.throttle.window-seconds:60}") long windowSeconds,
+                         @Value("${app.login.throttle.max-failures-per-username:5}") int maxFailuresPerUsername,
+                         @Value("${app.login.throttle.max-attempts-per-ip:30}") int maxAttemptsPerIp) {
+        Duration window = Duration.ofSeconds(windowSeconds);
+        this.usernameFailures = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        this.ipAttempts = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+    }
+
+    // Counts this attempt against the client IP and reports whether it may proceed
+    public boolean tryAcquire(String username, String clientIp) {
+        if (clientIp != null) {
+            int attempts = ipAttempts.get(clientIp, k -> new AtomicInteger()).incrementAndGet();
+            if (attempts > maxAttemptsPerIp) {
+                return false;
+            }
+        }
+
+        AtomicInteger failures = usernameFailures.getIfPresent(normalize(username));
+        return failures == null || failures.get() < maxFailuresPerUsername;
+    }
+
+    public void recordFailure(String username) {
+        usernameFailures.get(normalize(username), k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void recordSuccess(String username) {
+        usernameFailures.invalidate(normalize(username));
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase();
+    }
+}
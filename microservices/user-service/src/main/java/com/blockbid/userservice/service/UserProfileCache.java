@@ -0,0 +1,83 @@
+package com.blockbid.userservice.service;
+
+import com.blockbid.userservice.dto.UserProfile;
+import com.blockbid.userservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of user profile projections, keyed by user id.
+ *
+ * Bounded by size and by time since write, so edits made outside this
+ * instance become visible within one TTL; edits made through
+ * UserService are invalidated immediately. Unknown ids are not cached.
+ */
+@Component
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserProfile> profiles;
+
+    public UserProfileCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.user-cache.max-size:10000}") long maxSize,
+                            @Value("${app.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "userProfiles");
+    }
+
+    public Optional<UserProfile> get(Long id) {
+        UserProfile cached = profiles.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserProfile> loaded = userRepository.findProfileById(id);
+        loaded.ifPresent(profile -> profiles.put(id, profile));
+        return loaded;
+    }
+
+    // Cache misses are loaded with a single IN query; result keeps the requested order
+    public List<UserProfile> getAll(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, UserProfile> found = profiles.getAll(distinctIds, missing ->
+            userRepository.findProfilesByIdIn(toSet(missing)).stream()
+                .collect(Collectors.toMap(UserProfile::id, Function.identity())));
+
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(profile -> profile != null)
+                .collect(Collectors.toList());
+    }
+
+    public void invalidate(Long id) {
+        if (id != null) {
+            profiles.invalidate(id);
+        }
+    }
+
+    private static Set<Long> toSet(Iterable<? extends Long> ids) {
+        Set<Long> set = new LinkedHashSet<>();
+        ids.forEach(set::add);
+        return set;
+    }
+}
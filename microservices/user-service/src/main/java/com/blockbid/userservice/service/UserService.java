@@ -1,38 +1,114 @@
 package com.blockbid.userservice.service;
 
+import com.blockbid.userservice.dto.UserProfile;
 import com.blockbid.userservice.entity.User;
 import com.blockbid.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class UserService {
     
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    @Qualifier("passwordVerificationExecutor")
+    private ExecutorService passwordVerificationExecutor;
+    
+    @Autowired
+    private LoginThrottle loginThrottle;
+    
+    @Autowired
+    private UserProfileCache userProfileCache;
+    
+    @Autowired
+    private UsernameFilter usernameFilter;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Login metrics are kept under their own login.* names, apart from http.server.requests
+    private Timer queueWaitTimer;
+    private Timer verifyTimer;
+    private Counter throttledCounter;
+    private Counter overloadedCounter;
+    private Counter rehashCounter;
+    
+    @PostConstruct
+    void initLoginMetrics() {
+        queueWaitTimer = Timer.builder("login.queue.wait")
+                .description("Time a login waits for a password verification thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        verifyTimer = Timer.builder("login.password.verify")
+                .description("bcrypt verification time per login")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        throttledCounter = Counter.builder("login.rejected").tag("reason", "throttled").register(meterRegistry);
+        overloadedCounter = Counter.builder("login.rejected").tag("reason", "overloaded").register(meterRegistry);
+        rehashCounter = Counter.builder("login.password.rehashed").register(meterRegistry);
+    }
+    
     public User registerUser(User user) throws Exception {
-        // Check if username exists
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new Exception("Username is already taken");
-        }
-        
-        // Check if email exists
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new Exception("Email is already in use");
-        }
-        
         // Encode password
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         
-        // Save user
-        return userRepository.save(user);
+        // Single insert; the unique indexes on username and email decide conflicts
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String detail = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+            if (detail.contains(User.USERNAME_CONSTRAINT)) {
+                throw new Exception("Username is already taken");
+            }
+            if (detail.contains(User.EMAIL_CONSTRAINT)) {
+                throw new Exception("Email is already in use");
+            }
+            // Constraint created under another name (older schema): classify on the slow path
+            if (userRepository.existsByUsername(user.getUsername())) {
+                throw new Exception("Username is already taken");
+            }
+            if (userRepository.existsByEmail(user.getEmail())) {
+                throw new Exception("Email is already in use");
+            }
+            throw e;
+        }
+        
+        usernameFilter.add(savedUser.getUsername());
+        return savedUser;
+    }
+    
+    // Filter says "definitely not taken" for most names; only possible hits touch the database
+    public boolean isUsernameAvailable(String username) {
+        if (!usernameFilter.mightBeTaken(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
     }
     
     public User authenticateUser(String username, String password) throws Exception {
@@ -51,6 +127,61 @@ public class UserService {
         return user;
     }
     
+    // Authenticate on the dedicated verification pool (request thread is released)
+    public CompletableFuture<User> authenticateUserAsync(String username, String password, String clientIp) {
+        if (!loginThrottle.tryAcquire(username, clientIp)) {
+            throttledCounter.increment();
+            return CompletableFuture.failedFuture(new Exception("Too many login attempts. Please try again later."));
+        }
+        
+        Optional<User> userOptional = userRepository.findByUsername(username);
+        if (userOptional.isEmpty()) {
+            loginThrottle.recordFailure(username);
+            return CompletableFuture.failedFuture(new Exception("Invalid username or password"));
+        }
+        
+        User user = userOptional.get();
+        long queuedAt = System.nanoTime();
+        
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                
+                long verifyStart = System.nanoTime();
+                boolean matches = passwordEncoder.matches(password, user.getPassword());
+                verifyTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
+                
+                if (!matches) {
+                    loginThrottle.recordFailure(username);
+                    throw new CompletionException(new Exception("Invalid username or password"));
+                }
+                
+                loginThrottle.recordSuccess(username);
+                upgradePasswordHashIfNeeded(user, password);
+                return user;
+            }, passwordVerificationExecutor);
+            
+        } catch (RejectedExecutionException e) {
+            overloadedCounter.increment();
+            return CompletableFuture.failedFuture(new Exception("Login service is busy. Please try again shortly."));
+        }
+    }
+    
+    // Re-hash with the configured cost factor while the plaintext is at hand
+    private void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+            rehashCounter.increment();
+        } catch (Exception e) {
+            // The login itself succeeded; the upgrade is retried on the next login
+            logger.warn("Failed to upgrade password hash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+    
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
@@ -59,7 +190,18 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
     
+    // Read-only lookups go through the profile cache
+    public Optional<UserProfile> findProfileById(Long id) {
+        return userProfileCache.get(id);
+    }
+    
+    public List<UserProfile> findProfilesByIds(Collection<Long> ids) {
+        return userProfileCache.getAll(ids);
+    }
+    
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userProfileCache.invalidate(saved.getId());
+        return saved;
     }
 }
\ No newline at end of file
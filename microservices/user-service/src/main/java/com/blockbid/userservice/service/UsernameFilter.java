@@ -0,0 +1,64 @@
+package com.blockbid.userservice.service;
+
+import com.blockbid.userservice.repository.UserRepository;
+import com.blockbid.userservice.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Probabilistic "username taken" pre-filter.
+ *
+ * Populated from the users table once the application is ready and updated
+ * on every successful signup. A negative answer is definitive, so most
+ * availability checks never reach the database. Positive answers must be
+ * confirmed against the unique index. Until loading completes, every name
+ * is reported as possibly taken.
+ */
+@Component
+public class UsernameFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameFilter.class);
+
+    private final UserRepository userRepository;
+    private final BloomFilter filter;
+    private volatile boolean loaded = false;
+
+    public UsernameFilter(UserRepository userRepository,
+                          @Value("${app.signup.username-filter.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${app.signup.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+            Iterator<String> iterator = usernames.iterator();
+            while (iterator.hasNext()) {
+                filter.put(iterator.next());
+                count++;
+            }
+        }
+        loaded = true;
+        logger.info("Username filter loaded {} usernames in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    public boolean mightBeTaken(String username) {
+        return !loaded || filter.mightContain(username);
+    }
+
+    public void add(String username) {
+        filter.put(username);
+    }
+}
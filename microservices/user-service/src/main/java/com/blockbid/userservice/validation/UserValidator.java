@@ -9,6 +9,8 @@ public class UserValidator {
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
     private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]+$");
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s'-]+$");
+    private static final Pattern LETTER_PATTERN = Pattern.compile("[A-Za-z]");
+    private static final Pattern DIGIT_PATTERN = Pattern.compile("[0-9]");
     
     public static Map<String, String> validateSignup(Map<String, String> request) {
         Map<String, String> errors = new HashMap<>();
@@ -66,12 +68,12 @@ public class UserValidator {
             errors.put("message", "Password cannot exceed 50 characters");
             return errors;
         }
-        if (!password.matches(".*[A-Za-z].*")) {
+        if (!LETTER_PATTERN.matcher(password).find()) {
             errors.put("field", "password");
             errors.put("message", "Password must contain at least one letter");
             return errors;
         }
-        if (!password.matches(".*[0-9].*")) {
+        if (!DIGIT_PATTERN.matcher(password).find()) {
             errors.put("field", "password");
             errors.put("message", "Password must contain at least one number");
             return errors;
@@ -0,0 +1,148 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bid throughput against a single running auction-service, used by
+ * logging-compare.sh.
+ *
+ * Starts stubs for the services auction-service calls on every bid
+ * (item-service on 8082, user-service on 8081, blockchain-service on 8085)
+ * so that only auction-service itself is measured; the service must resolve
+ * their hostnames to this machine (logging-compare.sh passes a
+ * -Djdk.net.hosts.file). Opens one auction per item, then each client
+ * thread bids on a random item, raising that item's price by one each time.
+ * Bids that lose a race to a concurrent higher bid are counted as rejected,
+ * not as errors.
+ *
+ * Usage: java BidBenchmark.java <baseUrl> [clients] [seconds] [items]
+ */
+public class BidBenchmark {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8083";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int items = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        startStub(8082, "{\"message\":\"ok\"}");
+        startStub(8081, "{\"id\":1,\"username\":\"bidder\"}");
+        startStub(8085, "{\"transactionHash\":\"0x00\"}");
+
+        // Fresh item ids per run so auctions never collide with earlier runs
+        long firstItemId = System.currentTimeMillis() * 1000;
+        AtomicLong[] prices = new AtomicLong[items];
+        for (int i = 0; i < items; i++) {
+            String body = "{\"itemId\":" + (firstItemId + i) + ",\"sellerId\":1,\"startingPrice\":10.0,"
+                    + "\"endTime\":\"" + LocalDateTime.now().plusDays(1) + "\"}";
+            HttpResponse<String> response = post(baseUrl + "/", body);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Auction creation failed: " + response.body());
+            }
+            prices[i] = new AtomicLong(10);
+        }
+
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            latencies[client] = new long[1 << 14];
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int item = random.nextInt(items);
+                    String body = "{\"bidderId\":" + (2 + random.nextInt(1000))
+                            + ",\"amount\":" + prices[item].incrementAndGet() + "}";
+                    long start = System.nanoTime();
+                    try {
+                        int status = post(baseUrl + "/" + (firstItemId + item) + "/bid", body).statusCode();
+                        if (status == 200) {
+                            if (counts[client] == latencies[client].length) {
+                                latencies[client] = Arrays.copyOf(latencies[client], counts[client] * 2);
+                            }
+                            latencies[client][counts[client]++] = (System.nanoTime() - start) / 1000;
+                        } else if (status == 400) {
+                            rejected.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        long[] all = new long[0];
+        for (int c = 0; c < clients; c++) {
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + counts[c]);
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%10s %10s %8s %10s %10s %10s%n", "bids/s", "rejected/s", "errors", "p50_ms", "p95_ms", "p99_ms");
+        System.out.printf("%10.1f %10.1f %8d %10.2f %10.2f %10.2f%n", (double) all.length / seconds,
+                (double) rejected.get() / seconds, errors.get(),
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99));
+        System.exit(0);
+    }
+
+    // Answers every request on the port with the same JSON body
+    private static void startStub(int port, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 256);
+        server.createContext("/", exchange -> respond(exchange, body));
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static HttpResponse<String> post(String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1000.0;
+    }
+}
@@ -0,0 +1,149 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixed read/write load against a running blockchain-service, used by
+ * datastore-compare.sh to compare the H2 and PostgreSQL setups.
+ *
+ * Deploys one contract per item, then for the given duration each client
+ * thread loops over: record a bid (80%) or read a history page (20%) for a
+ * random item. With a batch size, each write posts that many bids to
+ * /transactions/batch instead. Prints request and event throughput and
+ * latency percentiles per operation.
+ *
+ * Usage: java DatastoreBenchmark.java <baseUrl> [clients] [seconds] [items] [batchSize]
+ */
+public class DatastoreBenchmark {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8085";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int items = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        int batchSize = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        // Fresh item ids per run so contracts never collide with earlier runs
+        long firstItemId = System.currentTimeMillis() * 1000;
+        for (int i = 0; i < items; i++) {
+            String body = "{\"itemId\":" + (firstItemId + i) + ",\"sellerId\":1,\"startingPrice\":10.0,"
+                    + "\"auctionType\":\"forward\",\"endTime\":\"" + LocalDateTime.now().plusDays(1) + "\"}";
+            HttpResponse<String> response = post(baseUrl + "/contracts/deploy", body);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Contract deployment failed: " + response.body());
+            }
+        }
+
+        Recorder bids = new Recorder();
+        Recorder reads = new Recorder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    long itemId = firstItemId + random.nextInt(items);
+                    long start = System.nanoTime();
+                    try {
+                        if (random.nextInt(10) >= 8) {
+                            reads.record(start, get(baseUrl + "/auctions/" + itemId + "/history?limit=50").statusCode(), 1);
+                        } else if (batchSize > 0) {
+                            StringBuilder body = new StringBuilder("[");
+                            for (int i = 0; i < batchSize; i++) {
+                                body.append(i == 0 ? "" : ",").append("{\"type\":\"BID\",")
+                                        .append(bidJson(firstItemId + random.nextInt(items), random)).append('}');
+                            }
+                            bids.record(start, post(baseUrl + "/transactions/batch", body.append(']').toString())
+                                    .statusCode(), batchSize);
+                        } else {
+                            String body = "{" + bidJson(itemId, random) + "}";
+                            bids.record(start, post(baseUrl + "/transactions/bid", body).statusCode(), 1);
+                        }
+                    } catch (Exception e) {
+                        (random.nextBoolean() ? bids : reads).record(start, -1, 0);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        System.out.printf("%-8s %10s %10s %8s %10s %10s %10s%n",
+                "op", "req/s", "events/s", "errors", "p50_ms", "p95_ms", "p99_ms");
+        bids.print(batchSize > 0 ? "batch" : "bid", seconds);
+        reads.print("history", seconds);
+    }
+
+    private static String bidJson(long itemId, ThreadLocalRandom random) {
+        return "\"itemId\":" + itemId + ",\"bidderId\":" + (2 + random.nextInt(1000))
+                + ",\"bidAmount\":" + (10 + random.nextInt(10_000)) + ".50";
+    }
+
+    private static HttpResponse<String> post(String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(String url) throws Exception {
+        return CLIENT.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Latencies in microseconds, appended under a lock; the client threads
+     * spend almost all of their time waiting on the network.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong events = new AtomicLong();
+
+        void record(long startNanos, int status, int eventCount) {
+            if (status != 200) {
+                errors.incrementAndGet();
+                return;
+            }
+            long micros = (System.nanoTime() - startNanos) / 1000;
+            events.addAndGet(eventCount);
+            synchronized (this) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = micros;
+            }
+        }
+
+        synchronized void print(String op, int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-8s %10.1f %10.1f %8d %10.2f %10.2f %10.2f%n", op, (double) count / seconds,
+                    (double) events.get() / seconds, errors.get(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1000.0;
+        }
+    }
+}
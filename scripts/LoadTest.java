@@ -0,0 +1,809 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load against the API gateway, used by load-test.sh.
+ *
+ * Setup (not measured) signs up and logs in the users, lists the catalogue
+ * and opens its auctions. Then, for the given duration, these run at once:
+ * <ul>
+ *   <li>browsers: catalogue, search, item and auction pages and bid history,
+ *       items picked with Zipfian popularity</li>
+ *   <li>watchers: WebSocket subscribers, mostly on the popular items; the
+ *       time from a bid request to its NEW_BID message is recorded</li>
+ *   <li>bid storm: bursts of bids on a few hot items</li>
+ *   <li>sniping: auctions that end during the run, with a wave of bids in
+ *       their last second; each is then closed and paid by its winner</li>
+ *   <li>payments: auctions won during setup are closed, paid and their
+ *       receipt fetched</li>
+ * </ul>
+ * Latency percentiles and throughput are printed per endpoint. A 4xx answer
+ * (a bid that lost a race, a snipe that came too late) counts as rejected,
+ * anything else that is not 2xx as an error. Randomness comes from the seed,
+ * so two runs with the same arguments issue the same request mix.
+ *
+ * Other scenarios measure one path in isolation instead:
+ * <ul>
+ *   <li>ingest: ledger events recorded one per request and in batches of
+ *       1 to 1000, straight against blockchain-service (-Dblockchain.url,
+ *       default http://localhost:8085)</li>
+ *   <li>clients: 10,000 concurrent clients reading pages, for comparing
+ *       the services with and without virtual threads</li>
+ *   <li>signup: a storm of 100,000 registrations</li>
+ *   <li>login: a burst of logins, counting throttled (429) and shed (503)
+ *       attempts</li>
+ * </ul>
+ *
+ * Auction end times are sent in the services' local time: pass
+ * -Dserver.zone=UTC when they run in the Docker images.
+ *
+ * Usage: java LoadTest.java <baseUrl> [seconds] [scale] [seed] [mixed|ingest|clients|signup|login]
+ */
+public class LoadTest {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static final Pattern AMOUNT = Pattern.compile("\"amount\":([0-9.Ee+-]+)");
+    private static final Pattern ITEM_ID = Pattern.compile("\"itemId\":(\\d+)");
+    private static final String[] KEYWORDS = {"camera", "vintage", "watch", "guitar", "lamp", "bike"};
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final long STARTING_PRICE = 100;
+
+    private static final Map<String, Recorder> RECORDERS = new ConcurrentHashMap<>();
+
+    // "<itemId>:<amount>" -> when the bid request was sent, matched against NEW_BID messages
+    private static final Map<String, Long> BIDS_SENT = new ConcurrentHashMap<>();
+
+    private static String baseUrl;
+    private static String blockchainUrl;
+    private static String run;
+    private static ZoneId serverZone;
+    private static volatile long deadline;
+
+    record User(long id, String username, String token) {}
+
+    record Win(long amount, User bidder) {}
+
+    public static void main(String[] args) throws Exception {
+        baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int scale = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        String scenario = args.length > 4 ? args[4] : "mixed";
+        serverZone = ZoneId.of(System.getProperty("server.zone", ZoneId.systemDefault().getId()));
+        blockchainUrl = System.getProperty("blockchain.url", "http://localhost:8085");
+
+        // Fresh names per run so sign-ups never collide with earlier runs
+        run = Long.toString(System.currentTimeMillis() / 1000 % 2_176_782_336L, 36);
+
+        switch (scenario) {
+            case "mixed" -> mixed(seconds, scale, seed);
+            case "ingest" -> ingest(seconds, scale, seed);
+            case "clients" -> clients(seconds, scale, seed);
+            case "signup" -> signupStorm(scale, seed);
+            case "login" -> loginBurst(seconds, scale, seed);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+        System.exit(0);
+    }
+
+    private static void mixed(int seconds, int scale, long seed) throws Exception {
+        int userCount = 40 * scale;
+        int catalogueSize = 50 * scale;
+        int hotItems = 3;
+        int snipeItems = 4;
+        int soldItems = 10 * scale;
+        int browsers = 16 * scale;
+        int watchers = 100 * scale;
+        int stormBidders = 12 * scale;
+        int snipers = 8 * scale;
+        int payers = 2 * scale;
+
+        SplittableRandom setupRandom = new SplittableRandom(seed);
+
+        System.out.printf("Setup: %d users, %d catalogue items, %d snipe and %d sold auctions%n",
+                userCount, catalogueSize, snipeItems, soldItems);
+        List<User> users = signUp(userCount);
+        User seller = users.get(0);
+        List<User> bidders = users.subList(1, users.size());
+
+        // Catalogue order is popularity rank: the first items are the hot ones
+        long[] catalogue = new long[catalogueSize];
+        for (int i = 0; i < catalogueSize; i++) {
+            String name = "Used " + KEYWORDS[i % KEYWORDS.length] + " " + i;
+            catalogue[i] = createItem(seller, name, LocalDateTime.now(serverZone).plusDays(1));
+        }
+        AtomicLong[] prices = new AtomicLong[catalogueSize];
+        for (int i = 0; i < catalogueSize; i++) {
+            prices[i] = new AtomicLong(STARTING_PRICE);
+        }
+        Zipf popularity = new Zipf(catalogueSize, ZIPF_EXPONENT);
+
+        // Auctions won before the run starts, closed and paid by the payers
+        List<long[]> sold = new ArrayList<>();
+        List<User> soldWinners = new ArrayList<>();
+        for (int i = 0; i < soldItems; i++) {
+            long itemId = createItem(seller, "Sold item " + i, LocalDateTime.now(serverZone).plusDays(1));
+            User winner = bidders.get(setupRandom.nextInt(bidders.size()));
+            expectOk(send(null, post("/api/auctions/" + itemId + "/bid", winner,
+                    "{\"bidderId\":" + winner.id() + ",\"amount\":" + (STARTING_PRICE + 25) + "}")), "Setup bid");
+            sold.add(new long[]{itemId, STARTING_PRICE + 25});
+            soldWinners.add(winner);
+        }
+
+        // Snipe auctions end between 30% and 90% of the run; created last so the offsets hold
+        long startMillis = System.currentTimeMillis() + 1000;
+        long[] snipeIds = new long[snipeItems];
+        long[] snipeEnds = new long[snipeItems];
+        List<AtomicReference<Win>> snipeWins = new ArrayList<>();
+        AtomicLong[] snipePrices = new AtomicLong[snipeItems];
+        for (int i = 0; i < snipeItems; i++) {
+            snipeEnds[i] = startMillis + (long) (seconds * 1000L * (0.3 + 0.6 * i / Math.max(1, snipeItems - 1)));
+            LocalDateTime end = LocalDateTime.ofInstant(Instant.ofEpochMilli(snipeEnds[i]), serverZone)
+                    .truncatedTo(ChronoUnit.MILLIS);
+            snipeIds[i] = createItem(seller, "Snipe item " + i, end);
+            snipeWins.add(new AtomicReference<>());
+            snipePrices[i] = new AtomicLong(STARTING_PRICE);
+        }
+
+        while (System.currentTimeMillis() < startMillis) {
+            Thread.sleep(10);
+        }
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        System.out.printf("Running for %ds: %d browsers, %d watchers, %d storm bidders, %d snipers, %d payers%n",
+                seconds, browsers, watchers, stormBidders, snipers, payers);
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        List<WebSocket> sockets = new ArrayList<>();
+        AtomicLong messages = new AtomicLong();
+
+        // Watchers
+        for (int w = 0; w < watchers; w++) {
+            SplittableRandom random = new SplittableRandom(seed * 1_000 + w);
+            long itemId = catalogue[popularity.sample(random)];
+            User user = bidders.get(random.nextInt(bidders.size()));
+            WebSocket socket = watch(itemId, user, messages);
+            if (socket != null) {
+                sockets.add(socket);
+            }
+        }
+
+        // Browsers
+        for (int b = 0; b < browsers; b++) {
+            SplittableRandom random = new SplittableRandom(seed * 2_000 + b);
+            executor.execute(() -> {
+                while (running()) {
+                    send("GET /api/items/", get("/api/items/"));
+                    if (random.nextInt(10) < 3) {
+                        send("GET /api/items/search", get("/api/items/search?keyword="
+                                + KEYWORDS[random.nextInt(KEYWORDS.length)]));
+                    }
+                    long itemId = catalogue[popularity.sample(random)];
+                    send("GET /api/items/{id}", get("/api/items/" + itemId));
+                    send("GET /api/auctions/{id}", get("/api/auctions/" + itemId));
+                    send("GET /api/auctions/{id}/bids", get("/api/auctions/" + itemId + "/bids"));
+                    pause(200 + random.nextInt(600));
+                }
+            });
+        }
+
+        // Bid storm: bursts of 5-20 back-to-back bids on the hot items, then a pause
+        for (int s = 0; s < stormBidders; s++) {
+            SplittableRandom random = new SplittableRandom(seed * 3_000 + s);
+            executor.execute(() -> {
+                while (running()) {
+                    int burst = 5 + random.nextInt(16);
+                    for (int i = 0; i < burst && running(); i++) {
+                        int item = random.nextInt(hotItems);
+                        User bidder = bidders.get(random.nextInt(bidders.size()));
+                        bid("POST /api/auctions/{id}/bid [storm]", catalogue[item], bidder,
+                                prices[item].incrementAndGet(), null);
+                    }
+                    pause(250 + random.nextInt(1500));
+                }
+            });
+        }
+
+        // Sniping: every sniper bids back-to-back from 1.5s before each end to 0.5s after it
+        for (int s = 0; s < snipers; s++) {
+            SplittableRandom random = new SplittableRandom(seed * 4_000 + s);
+            executor.execute(() -> {
+                for (int i = 0; i < snipeItems && running(); i++) {
+                    waitUntil(snipeEnds[i] - 1500);
+                    while (System.currentTimeMillis() < snipeEnds[i] + 500 && running()) {
+                        User bidder = bidders.get(random.nextInt(bidders.size()));
+                        bid("POST /api/auctions/{id}/bid [snipe]", snipeIds[i], bidder,
+                                snipePrices[i].incrementAndGet(), snipeWins.get(i));
+                    }
+                }
+            });
+        }
+        for (int i = 0; i < snipeItems; i++) {
+            int item = i;
+            executor.execute(() -> {
+                waitUntil(snipeEnds[item] + 1000);
+                Win win = snipeWins.get(item).get();
+                if (running() && win != null) {
+                    closeAndPay(snipeIds[item], win.amount(), win.bidder(), seller);
+                }
+            });
+        }
+
+        // Payments for the auctions won during setup
+        AtomicInteger nextSold = new AtomicInteger();
+        for (int p = 0; p < payers; p++) {
+            SplittableRandom random = new SplittableRandom(seed * 5_000 + p);
+            executor.execute(() -> {
+                int i;
+                while (running() && (i = nextSold.getAndIncrement()) < sold.size()) {
+                    closeAndPay(sold.get(i)[0], sold.get(i)[1], soldWinners.get(i), seller);
+                    pause(500 + random.nextInt(1000));
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        for (WebSocket socket : sockets) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+
+        printReport(seconds);
+        System.out.printf("%nWebSocket: %d of %d watchers connected, %d messages received%n",
+                sockets.size(), watchers, messages.get());
+    }
+
+    /**
+     * Ledger ingestion straight into blockchain-service, which the gateway
+     * does not proxy for JSON arrays: BID events one per request on the
+     * single-event endpoint, then in batches of 1, 10, 100 and 1000 on the
+     * batch endpoint. Each step runs for a quarter of the duration with the
+     * same number of clients; events/s is what to compare.
+     */
+    private static void ingest(int seconds, int scale, long seed) throws Exception {
+        int itemCount = 20;
+        int clients = 4 * scale;
+        int stepSeconds = Math.max(5, seconds / 4);
+
+        System.out.printf("Setup: %d items with contracts%n", itemCount);
+        User seller = signUp(1).get(0);
+        long[] items = new long[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            items[i] = createItem(seller, "Ingest item " + i, LocalDateTime.now(serverZone).plusDays(1));
+        }
+
+        List<Integer> sizes = List.of(0, 1, 10, 100, 1000);
+        Map<String, Integer> eventsPerRequest = new LinkedHashMap<>();
+        for (int size : sizes) {
+            String label = size == 0 ? "POST /transactions/bid" : "POST /transactions/batch [" + size + "]";
+            eventsPerRequest.put(label, Math.max(1, size));
+            System.out.printf("Running %s for %ds with %d clients%n", label, stepSeconds, clients);
+
+            deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(stepSeconds);
+            ExecutorService executor = Executors.newFixedThreadPool(clients);
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = new SplittableRandom(seed * 6_000 + c);
+                executor.execute(() -> {
+                    while (running()) {
+                        if (size == 0) {
+                            send(label, postTo(blockchainUrl + "/transactions/bid", bidEvent(items, random)));
+                        } else {
+                            StringBuilder events = new StringBuilder("[");
+                            for (int i = 0; i < size; i++) {
+                                events.append(i > 0 ? "," : "").append(bidEvent(items, random));
+                            }
+                            send(label, postTo(blockchainUrl + "/transactions/batch", events.append(']').toString()));
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(stepSeconds + 60L, TimeUnit.SECONDS);
+        }
+
+        printReport(stepSeconds);
+        System.out.println();
+        for (Map.Entry<String, Integer> entry : eventsPerRequest.entrySet()) {
+            Recorder recorder = RECORDERS.get(entry.getKey());
+            long requests = recorder != null ? recorder.count() : 0;
+            System.out.printf("%-40s %,12.0f events/s%n", entry.getKey(),
+                    (double) requests * entry.getValue() / stepSeconds);
+        }
+    }
+
+    /**
+     * 10,000 concurrent clients (times the scale) reading item and auction
+     * pages through the gateway, each waiting for its answer and then up to
+     * a second before the next request. Requests are asynchronous, so the
+     * driver needs no thread per client. Most useful run once with and once
+     * without app.virtual-threads.enabled: on platform threads every
+     * proxied call holds one of Tomcat's 200 request threads while it waits
+     * for the downstream service. Ends with a Summary line for comparing runs.
+     */
+    private static void clients(int seconds, int scale, long seed) throws Exception {
+        int clients = 10_000 * scale;
+        int catalogueSize = 50;
+
+        System.out.printf("Setup: %d catalogue items%n", catalogueSize);
+        User seller = signUp(1).get(0);
+        long[] catalogue = new long[catalogueSize];
+        for (int i = 0; i < catalogueSize; i++) {
+            catalogue[i] = createItem(seller, "Used " + KEYWORDS[i % KEYWORDS.length] + " " + i,
+                    LocalDateTime.now(serverZone).plusDays(1));
+        }
+        Zipf popularity = new Zipf(catalogueSize, ZIPF_EXPONENT);
+
+        System.out.printf("Running for %ds: %d concurrent clients%n", seconds, clients);
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            SplittableRandom random = new SplittableRandom(seed * 7_000 + c);
+            // Starts spread over the first second rather than 10k connects at once
+            CompletableFuture.delayedExecutor(random.nextInt(1000), TimeUnit.MILLISECONDS)
+                    .execute(() -> readPages(catalogue, popularity, random, done));
+        }
+        done.await(seconds + 60L, TimeUnit.SECONDS);
+
+        printReport(seconds);
+        long requests = 0;
+        long errors = 0;
+        double p99 = 0;
+        for (Recorder recorder : RECORDERS.values()) {
+            requests += recorder.count();
+            errors += recorder.errors.get();
+            p99 = Math.max(p99, recorder.percentile(0.99));
+        }
+        System.out.printf("%nSummary: %d clients, %.1f req/s, %d errors, worst p99 %.2f ms%n",
+                clients, (double) requests / seconds, errors, p99);
+    }
+
+    // One client: a page, then a pause, until the run ends; each step is scheduled, never blocked on
+    private static void readPages(long[] catalogue, Zipf popularity, SplittableRandom random, CountDownLatch done) {
+        if (!running()) {
+            done.countDown();
+            return;
+        }
+        long itemId = catalogue[popularity.sample(random)];
+        boolean auction = random.nextBoolean();
+        String label = auction ? "GET /api/auctions/{id} [clients]" : "GET /api/items/{id} [clients]";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (auction ? "/api/auctions/" : "/api/items/")
+                + itemId)).timeout(Duration.ofSeconds(30)).GET().build();
+        long pause = random.nextInt(1000);
+        sendAsync(label, request).whenComplete((response, error) -> CompletableFuture
+                .delayedExecutor(pause, TimeUnit.MILLISECONDS)
+                .execute(() -> readPages(catalogue, popularity, random, done)));
+    }
+
+    /**
+     * Registration storm: 100,000 sign-ups (times the scale) from 64 clients
+     * (times the scale) back to back, through the gateway. One attempt in 20
+     * repeats the client's previous username, which has to be turned away
+     * by the unique index (counted as rejected). Runs until every new user
+     * is registered, so the duration argument does not apply.
+     */
+    private static void signupStorm(int scale, long seed) throws Exception {
+        int total = 100_000 * scale;
+        int clients = 64 * scale;
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger progress = new AtomicInteger();
+
+        System.out.printf("Running: %d sign-ups from %d clients%n", total, clients);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            SplittableRandom random = new SplittableRandom(seed * 8_000 + c);
+            executor.execute(() -> {
+                String previous = null;
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    if (previous != null && random.nextInt(20) == 0) {
+                        send("POST /api/users/signup [duplicate]", post("/api/users/signup", null,
+                                signupBody(previous)));
+                    }
+                    String username = "lt" + run + "_" + i;
+                    HttpResponse<String> response = send("POST /api/users/signup [new]",
+                            post("/api/users/signup", null, signupBody(username)));
+                    if (response != null && response.statusCode() == 200) {
+                        previous = username;
+                    }
+                    int done = progress.incrementAndGet();
+                    if (done % Math.max(1, total / 10) == 0) {
+                        System.out.printf("%,d of %,d sign-ups after %.0fs%n", done, total,
+                                (System.nanoTime() - start) / 1e9);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.DAYS);
+
+        printReport((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Login burst: 50 clients (times the scale) logging in back to back as
+     * 200 registered users (times the scale). One attempt in 10 is a wrong
+     * password for one of 5 targeted accounts, which the per-username
+     * throttle has to answer with 429 after a few failures; 503 means the
+     * bcrypt pool's queue was full. All clients share one address, so the
+     * per-IP limit must be raised on user-service (load-test.sh does) or
+     * nearly every attempt is a 429. Ends with the count of each answer.
+     */
+    private static void loginBurst(int seconds, int scale, long seed) throws Exception {
+        int userCount = 200 * scale;
+        int clients = 50 * scale;
+        int targeted = 5;
+
+        System.out.printf("Setup: %d users%n", userCount);
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            String username = "lt" + run + "_" + i;
+            expectOk(send(null, post("/api/users/signup", null, signupBody(username))), "Sign-up");
+            usernames.add(username);
+        }
+
+        System.out.printf("Running for %ds: %d clients%n", seconds, clients);
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            SplittableRandom random = new SplittableRandom(seed * 9_000 + c);
+            executor.execute(() -> {
+                while (running()) {
+                    if (random.nextInt(10) == 0) {
+                        String username = usernames.get(random.nextInt(targeted));
+                        send("POST /api/users/login [wrong password]", post("/api/users/login", null,
+                                "{\"username\":\"" + username + "\",\"password\":\"wrong-password\"}"));
+                    } else {
+                        String username = usernames.get(targeted + random.nextInt(userCount - targeted));
+                        send("POST /api/users/login", post("/api/users/login", null,
+                                "{\"username\":\"" + username + "\",\"password\":\"loadtest1\"}"));
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        printReport(seconds);
+        System.out.println();
+        for (Map.Entry<String, Recorder> entry : new TreeMap<>(RECORDERS).entrySet()) {
+            Recorder recorder = entry.getValue();
+            System.out.printf("%-40s %8d ok, %8d x 429, %8d x 503, %8d other%n", entry.getKey(), recorder.count(),
+                    recorder.statusCount(429), recorder.statusCount(503),
+                    recorder.rejected.get() + recorder.errors.get() - recorder.statusCount(429)
+                            - recorder.statusCount(503));
+        }
+    }
+
+    private static String bidEvent(long[] items, SplittableRandom random) {
+        return "{\"type\":\"BID\",\"itemId\":" + items[random.nextInt(items.length)] + ",\"bidderId\":"
+                + (1 + random.nextInt(10_000)) + ",\"bidAmount\":" + (STARTING_PRICE + random.nextInt(10_000)) + "}";
+    }
+
+    private static void printReport(double seconds) {
+        System.out.println();
+        System.out.printf("%-40s %8s %9s %10s %8s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "rejected/s", "errors", "p50_ms", "p99_ms", "p99.9_ms", "max_ms");
+        for (Map.Entry<String, Recorder> entry : new TreeMap<>(RECORDERS).entrySet()) {
+            entry.getValue().print(entry.getKey(), seconds);
+        }
+    }
+
+    private static List<User> signUp(int count) throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String username = "lt" + run + "_" + i;
+            expectOk(send(null, post("/api/users/signup", null, signupBody(username))), "Sign-up");
+            HttpResponse<String> login = expectOk(send(null, post("/api/users/login", null,
+                    "{\"username\":\"" + username + "\",\"password\":\"loadtest1\"}")), "Login");
+            users.add(new User(jsonLong(login.body(), "userId"), username, jsonString(login.body(), "token")));
+        }
+        return users;
+    }
+
+    private static String signupBody(String username) {
+        return "{\"username\":\"" + username + "\",\"password\":\"loadtest1\","
+                + "\"firstName\":\"Load\",\"lastName\":\"Tester\",\"email\":\"" + username + "@example.com\","
+                + "\"streetNumber\":\"1\",\"streetName\":\"Main Street\",\"city\":\"Toronto\","
+                + "\"province\":\"ON\",\"postalCode\":\"M5V 2T6\",\"country\":\"Canada\"}";
+    }
+
+    private static long createItem(User seller, String name, LocalDateTime endTime) throws Exception {
+        String body = "{\"name\":\"" + name + "\",\"description\":\"Generated by the load test for " + name + "\","
+                + "\"startingPrice\":" + STARTING_PRICE + ",\"category\":\"Electronics\",\"condition\":\"Used\","
+                + "\"auctionType\":\"forward\",\"shippingCost\":10.0,\"expeditedShippingCost\":25.0,"
+                + "\"endTime\":\"" + endTime + "\",\"sellerId\":" + seller.id() + "}";
+        return jsonLong(expectOk(send(null, post("/api/items/", seller, body)), "Item creation").body(), "id");
+    }
+
+    private static void bid(String label, long itemId, User bidder, long amount, AtomicReference<Win> win) {
+        BIDS_SENT.put(itemId + ":" + amount, System.nanoTime());
+        HttpResponse<String> response = send(label, post("/api/auctions/" + itemId + "/bid", bidder,
+                "{\"bidderId\":" + bidder.id() + ",\"amount\":" + amount + "}"));
+        if (win != null && response != null && response.statusCode() == 200) {
+            win.accumulateAndGet(new Win(amount, bidder), (a, b) -> a == null || b.amount() > a.amount() ? b : a);
+        }
+    }
+
+    // The seller ends the auction, the winner pays and opens the receipt
+    private static void closeAndPay(long itemId, long amount, User winner, User seller) {
+        send("PUT /api/auctions/{id}/end", put("/api/auctions/" + itemId + "/end", seller));
+        String body = "{\"itemId\":" + itemId + ",\"userId\":" + winner.id() + ",\"itemPrice\":" + amount
+                + ",\"shippingCost\":10.0,\"totalAmount\":" + (amount + 10) + ",\"shippingType\":\"standard\","
+                + "\"paymentDetails\":{\"cardNumber\":\"4111111111111111\",\"expiryDate\":\"12/"
+                + (LocalDateTime.now().getYear() % 100 + 3) + "\",\"cvv\":\"123\",\"cardholderName\":\"Load Tester\"}}";
+        HttpResponse<String> payment = send("POST /api/payments/process", post("/api/payments/process", winner, body));
+        if (payment != null && payment.statusCode() == 200) {
+            send("GET /api/payments/{id}/receipt",
+                    get("/api/payments/" + jsonLong(payment.body(), "paymentId") + "/receipt"));
+        }
+    }
+
+    private static WebSocket watch(long itemId, User user, AtomicLong messages) {
+        String wsUrl = baseUrl.replaceFirst("^http", "ws") + "/ws/auction/" + itemId + "?token=" + user.token();
+        Recorder connect = RECORDERS.computeIfAbsent("WS connect /ws/auction/{id}", k -> new Recorder());
+        Recorder delivery = RECORDERS.computeIfAbsent("WS NEW_BID delivery", k -> new Recorder());
+        long start = System.nanoTime();
+        try {
+            WebSocket socket = CLIENT.newWebSocketBuilder()
+                    .buildAsync(URI.create(wsUrl), new WebSocket.Listener() {
+                        private final StringBuilder text = new StringBuilder();
+
+                        @Override
+                        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                            text.append(data);
+                            if (last) {
+                                long now = System.nanoTime();
+                                messages.incrementAndGet();
+                                String message = text.toString();
+                                text.setLength(0);
+                                if (message.contains("\"NEW_BID\"")) {
+                                    Matcher amount = AMOUNT.matcher(message);
+                                    Matcher item = ITEM_ID.matcher(message);
+                                    if (amount.find() && item.find()) {
+                                        Long sent = BIDS_SENT.get(item.group(1) + ":"
+                                                + (long) Double.parseDouble(amount.group(1)));
+                                        if (sent != null && running()) {
+                                            delivery.recordMicros((now - sent) / 1000);
+                                        }
+                                    }
+                                }
+                            }
+                            webSocket.request(1);
+                            return null;
+                        }
+                    })
+                    .get(10, TimeUnit.SECONDS);
+            connect.record(start, 200);
+            socket.sendText("{\"type\":\"SUBSCRIBE\",\"itemId\":" + itemId + ",\"userId\":" + user.id() + "}", true);
+            return socket;
+        } catch (Exception e) {
+            connect.record(start, -1);
+            return null;
+        }
+    }
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private static HttpRequest post(String path, User user, String json) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)), user)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // POST to a service directly rather than through the gateway
+    private static HttpRequest postTo(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest put(String path, User user) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)), user)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static HttpRequest.Builder authorized(HttpRequest.Builder builder, User user) {
+        return user != null ? builder.header("Authorization", "Bearer " + user.token()) : builder;
+    }
+
+    // Sends the request, recording it under the label while the run is measured; null on I/O failure
+    private static HttpResponse<String> send(String label, HttpRequest request) {
+        Recorder recorder = label != null && running() ? RECORDERS.computeIfAbsent(label, k -> new Recorder()) : null;
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+            if (recorder != null) {
+                recorder.record(start, response.statusCode());
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            if (recorder != null) {
+                recorder.record(start, -1);
+            }
+            return null;
+        }
+    }
+
+    // Like send, without holding a thread while the request is in flight
+    private static CompletableFuture<HttpResponse<Void>> sendAsync(String label, HttpRequest request) {
+        Recorder recorder = RECORDERS.computeIfAbsent(label, k -> new Recorder());
+        long start = System.nanoTime();
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (running()) {
+                        recorder.record(start, error != null ? -1 : response.statusCode());
+                    }
+                });
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response, String what) {
+        if (response == null || response.statusCode() != 200) {
+            throw new IllegalStateException(what + " failed: " + (response != null ? response.body() : "no response"));
+        }
+        return response;
+    }
+
+    private static long jsonLong(String json, String field) {
+        Matcher matcher = Pattern.compile("\"" + field + "\"\\s*:\\s*(\\d+)").matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No " + field + " in " + json);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static String jsonString(String json, String field) {
+        Matcher matcher = Pattern.compile("\"" + field + "\"\\s*:\\s*\"([^\"]*)\"").matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No " + field + " in " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private static boolean running() {
+        return deadline == 0 || System.nanoTime() < deadline;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(long epochMillis) {
+        long wait = epochMillis - System.currentTimeMillis();
+        if (wait > 0) {
+            pause(wait);
+        }
+    }
+
+    /**
+     * Item ranks drawn with probability proportional to 1 / rank^exponent,
+     * by binary search over the cumulative distribution.
+     */
+    private static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int size, double exponent) {
+            cumulative = new double[size];
+            double sum = 0;
+            for (int rank = 1; rank <= size; rank++) {
+                sum += 1 / Math.pow(rank, exponent);
+                cumulative[rank - 1] = sum;
+            }
+            for (int i = 0; i < size; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    /**
+     * Latencies in microseconds, appended under a lock; the client threads
+     * spend almost all of their time waiting on the network.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1 << 14];
+        private int count;
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+
+        void record(long startNanos, int status) {
+            if (status < 200 || status >= 300) {
+                statuses.computeIfAbsent(status, k -> new AtomicLong()).incrementAndGet();
+            }
+            if (status >= 400 && status < 500) {
+                rejected.incrementAndGet();
+            } else if (status < 200 || status >= 300) {
+                errors.incrementAndGet();
+            } else {
+                recordMicros((System.nanoTime() - startNanos) / 1000);
+            }
+        }
+
+        synchronized void recordMicros(long micros) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        // Answers with this status; -1 counts requests that got no answer
+        long statusCount(int status) {
+            AtomicLong counter = statuses.get(status);
+            return counter != null ? counter.get() : 0;
+        }
+
+        synchronized double percentile(double p) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return percentile(sorted, p);
+        }
+
+        synchronized void print(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-40s %8d %9.1f %10.1f %8d %9.2f %9.2f %9.2f %9.2f%n", endpoint, count,
+                    count / seconds, rejected.get() / seconds, errors.get(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length > 0 ? sorted[sorted.length - 1] / 1000.0 : 0);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+#
+# JMH microbenchmarks (microservices/benchmarks) at two commits.
+#
+# Builds benchmarks.jar from BASELINE_REF (in a temporary git worktree) and
+# from the working tree, runs both with the same JMH options and writes the
+# results as JSON to benchmark-results/<commit>.json (<commit>-dirty for
+# uncommitted changes), then prints a per-benchmark comparison. A baseline
+# result that already exists for the commit is reused instead of re-run.
+# Exits non-zero if any benchmark regressed by more than THRESHOLD percent
+# (default 5) beyond the runs' error margins.
+#
+# Usage: scripts/benchmark-compare.sh <baseline-ref> [jmh options...]
+#   e.g. scripts/benchmark-compare.sh HEAD~1
+#        scripts/benchmark-compare.sh main -f 2 BroadcastBenchmark
+#
+# BASELINE_REF must already contain the benchmarks module. Needs git, mvn
+# and java.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BASELINE_REF="${1:?usage: $0 <baseline-ref> [jmh options...]}"
+shift
+THRESHOLD="${THRESHOLD:-5}"
+RESULTS="$ROOT/benchmark-results"
+mkdir -p "$RESULTS"
+
+WORK="$(mktemp -d)"
+cleanup() {
+    git -C "$ROOT" worktree remove --force "$WORK/baseline" 2>/dev/null || true
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+build() {
+    local tree="$1"
+    mvn -q -B -f "$tree/microservices/benchmarks/pom.xml" -DskipTests clean package
+    echo "$tree/microservices/benchmarks/target/benchmarks.jar"
+}
+
+run() {
+    local jar="$1" out="$2"
+    shift 2
+    echo "== $(basename "$out" .json)"
+    java -jar "$jar" -rf json -rff "$out" "$@"
+}
+
+BASELINE_SHA=$(git -C "$ROOT" rev-parse --short "$BASELINE_REF")
+BASELINE_JSON="$RESULTS/$BASELINE_SHA.json"
+CURRENT_SHA=$(git -C "$ROOT" rev-parse --short HEAD)
+if [ -n "$(git -C "$ROOT" status --porcelain -- microservices)" ]; then
+    CURRENT_SHA="$CURRENT_SHA-dirty"
+fi
+CURRENT_JSON="$RESULTS/$CURRENT_SHA.json"
+
+if [ ! -f "$BASELINE_JSON" ]; then
+    git -C "$ROOT" worktree add --detach "$WORK/baseline" "$BASELINE_REF" > /dev/null
+    run "$(build "$WORK/baseline")" "$BASELINE_JSON" "$@"
+fi
+CURRENT_JAR=$(build "$ROOT")
+run "$CURRENT_JAR" "$CURRENT_JSON" "$@"
+
+echo
+java -cp "$CURRENT_JAR" com.blockbid.benchmarks.ResultDiff "$BASELINE_JSON" "$CURRENT_JSON" "$THRESHOLD"
@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+#
+# H2 vs PostgreSQL throughput for blockchain-service, side by side.
+#
+# Starts the service twice with the same load (DatastoreBenchmark.java):
+#   h2     file database with AUTO_SERVER, as the other services run today
+#   prod   the prod profile against PostgreSQL
+# PostgreSQL must already be running with the blockbid_blockchain database,
+# e.g. docker-compose --profile prod up -d postgres. Each run drops and
+# recreates that database's schema so both start empty.
+#
+# Usage: scripts/datastore-compare.sh [clients] [seconds]
+#
+# Needs mvn, java, curl and psql.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+CLIENTS="${1:-32}"
+SECONDS_PER_RUN="${2:-30}"
+SERVICE_DIR="$ROOT/microservices/blockchain-service"
+PORT=8085
+
+export DB_HOST="${DB_HOST:-localhost}" DB_PORT="${DB_PORT:-5432}"
+export DB_USERNAME="${DB_USERNAME:-blockbid}" DB_PASSWORD="${DB_PASSWORD:-blockbid}"
+
+WORK="$(mktemp -d)"
+trap 'rm -rf "$WORK"' EXIT
+
+mvn -q -B -f "$ROOT/microservices/common/pom.xml" -DskipTests install
+mvn -q -B -f "$SERVICE_DIR/pom.xml" -DskipTests clean package
+JAR=$(ls "$SERVICE_DIR"/target/blockchain-service-*.jar | head -n 1)
+
+run() {
+    local label="$1"
+    shift
+
+    rm -rf "$WORK/run" && mkdir -p "$WORK/run"
+    (cd "$WORK/run" && exec java "$@" -jar "$JAR" > "$WORK/run/out.log" 2>&1) &
+    local pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            cat "$WORK/run/out.log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+
+    echo
+    echo "== $label ($CLIENTS clients, ${SECONDS_PER_RUN}s)"
+    java "$ROOT/scripts/DatastoreBenchmark.java" "http://localhost:$PORT" "$CLIENTS" "$SECONDS_PER_RUN"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run h2 "-Dspring.datasource.url=jdbc:h2:file:./data/blockchaindb;AUTO_SERVER=TRUE"
+
+PGPASSWORD="$DB_PASSWORD" psql -q -h "$DB_HOST" -p "$DB_PORT" -U "$DB_USERNAME" -d blockbid_blockchain \
+    -c 'DROP SCHEMA public CASCADE; CREATE SCHEMA public;'
+run prod -Dspring.profiles.active=prod
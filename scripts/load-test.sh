@@ -0,0 +1,166 @@
+#!/usr/bin/env bash
+#
+# End-to-end load test of the whole system, offline.
+#
+# Builds the six services from the working tree, starts them as local
+# processes on their usual ports (8080-8085), each in its own directory with
+# fresh H2 databases, and runs LoadTest against the gateway. Service
+# hostnames resolve to localhost through a JDK hosts file, so nothing outside
+# this machine is contacted. The report is also written to
+# load-results/<commit>-<time>.txt, service logs to load-results/logs/.
+#
+# With BASE_URL set, nothing is built or started and the load goes to that
+# gateway instead, e.g. a stack started with docker-compose (whose containers
+# run in UTC, hence SERVER_ZONE):
+#   BASE_URL=http://localhost:8080 SERVER_ZONE=UTC scripts/load-test.sh 120
+# All load comes from one address, so raise that user-service's per-IP login
+# limit as this script does for the services it starts, or logins past the
+# 30th a minute get 429:
+#   APP_LOGIN_THROTTLE_MAX_ATTEMPTS_PER_IP=1000000 docker-compose up -d
+#
+# The scenario defaults to the mixed workload; see LoadTest for the others,
+# e.g. ingest compares single-event and batch ledger ingestion.
+#
+# VIRTUAL_THREADS=true or false sets app.virtual-threads.enabled on every
+# service. VIRTUAL_THREADS=compare runs the scenario twice on fresh services,
+# first on platform threads and then on virtual threads, and prints both
+# Summary lines; it needs a Java 21+ runtime and defaults to the clients
+# scenario:
+#   VIRTUAL_THREADS=compare scripts/load-test.sh 60
+#
+# Usage: scripts/load-test.sh [seconds] [scale] [seed] [scenario]
+#   e.g. scripts/load-test.sh 60 2
+#        scripts/load-test.sh 120 1 42 ingest
+#
+# Needs mvn, java and curl.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+SECONDS_PER_RUN="${1:-60}"
+SCALE="${2:-1}"
+SEED="${3:-42}"
+VIRTUAL_THREADS="${VIRTUAL_THREADS:-}"
+if [ "$VIRTUAL_THREADS" = compare ]; then
+    SCENARIO="${4:-clients}"
+else
+    SCENARIO="${4:-mixed}"
+fi
+SERVICES=(user-service:8081 item-service:8082 auction-service:8083 payment-service:8084
+          blockchain-service:8085 api-gateway:8080)
+
+RESULTS="$ROOT/load-results"
+mkdir -p "$RESULTS/logs"
+REPORT="$RESULTS/$(git -C "$ROOT" rev-parse --short HEAD)-$(date +%Y%m%d-%H%M%S)"
+
+# Every client holds a socket, and so does the gateway for each of them
+ulimit -n "$(ulimit -Hn)" 2>/dev/null || true
+
+WORK="$(mktemp -d)"
+PIDS=()
+stop_services() {
+    for pid in ${PIDS[@]+"${PIDS[@]}"}; do
+        kill "$pid" 2>/dev/null || true
+    done
+    wait 2>/dev/null || true
+    PIDS=()
+}
+cleanup() {
+    stop_services
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+start() {
+    local name="$1" port="$2" virtual_threads="$3"
+    local jar
+    jar=$(ls "$ROOT"/microservices/"$name"/target/"$name"-*.jar | head -n 1)
+
+    if curl -sf -o /dev/null "http://localhost:$port/health"; then
+        echo "Port $port already answers; stop the running services first" >&2
+        exit 1
+    fi
+    local opts=("-Djdk.net.hosts.file=$WORK/hosts")
+    if [ "$name" = user-service ]; then
+        # Every simulated client logs in from the loopback address; the per-username limit still applies
+        opts+=("-Dapp.login.throttle.max-attempts-per-ip=1000000")
+    fi
+    if [ -n "$virtual_threads" ]; then
+        opts+=("-Dapp.virtual-threads.enabled=$virtual_threads")
+    fi
+    rm -rf "${WORK:?}/$name"
+    mkdir -p "$WORK/$name"
+    (cd "$WORK/$name" && exec java "${opts[@]}" -jar "$jar" \
+        > "$RESULTS/logs/$name.log" 2>&1) &
+    PIDS+=($!)
+}
+
+await() {
+    local name="$1" port="$2" pid="$3"
+    until curl -sf -o /dev/null "http://localhost:$port/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$name exited during startup, see $RESULTS/logs/$name.log" >&2
+            exit 1
+        fi
+        sleep 0.5
+    done
+}
+
+# Starts every service on fresh databases
+boot() {
+    local virtual_threads="$1"
+    for service in "${SERVICES[@]}"; do
+        start "${service%%:*}" "${service##*:}" "$virtual_threads"
+    done
+    for i in "${!SERVICES[@]}"; do
+        await "${SERVICES[$i]%%:*}" "${SERVICES[$i]##*:}" "${PIDS[$i]}"
+    done
+}
+
+load() {
+    local report="$1"
+    local zone_opts=()
+    if [ -n "${SERVER_ZONE:-}" ]; then
+        zone_opts=("-Dserver.zone=$SERVER_ZONE")
+    fi
+    java ${zone_opts[@]+"${zone_opts[@]}"} "$ROOT/scripts/LoadTest.java" "${BASE_URL:-http://localhost:8080}" \
+        "$SECONDS_PER_RUN" "$SCALE" "$SEED" "$SCENARIO" | tee "$report"
+    echo "Report: $report"
+}
+
+if [ "$VIRTUAL_THREADS" = compare ]; then
+    version=$(java -XshowSettings:properties -version 2>&1 | sed -n 's/.*java.specification.version = //p')
+    if [ "${version%%.*}" -lt 21 ]; then
+        echo "Virtual threads need a Java 21+ runtime; java is $version" >&2
+        exit 1
+    fi
+fi
+
+if [ -z "${BASE_URL:-}" ]; then
+    printf '127.0.0.1 localhost api-gateway user-service item-service auction-service payment-service blockchain-service\n' \
+        > "$WORK/hosts"
+    mvn -q -B -f "$ROOT/microservices/common/pom.xml" -DskipTests install
+    for service in "${SERVICES[@]}"; do
+        mvn -q -B -f "$ROOT/microservices/${service%%:*}/pom.xml" -DskipTests clean package
+    done
+elif [ -n "$VIRTUAL_THREADS" ]; then
+    echo "VIRTUAL_THREADS needs the services started by this script; unset BASE_URL" >&2
+    exit 1
+fi
+
+if [ "$VIRTUAL_THREADS" = compare ]; then
+    for mode in false true; do
+        echo "== app.virtual-threads.enabled=$mode"
+        boot "$mode"
+        load "$REPORT-vt-$mode.txt"
+        stop_services
+    done
+    echo
+    echo "Platform threads: $(grep '^Summary:' "$REPORT-vt-false.txt" || echo 'no summary')"
+    echo "Virtual threads:  $(grep '^Summary:' "$REPORT-vt-true.txt" || echo 'no summary')"
+else
+    if [ -z "${BASE_URL:-}" ]; then
+        boot "$VIRTUAL_THREADS"
+    fi
+    load "$REPORT.txt"
+fi
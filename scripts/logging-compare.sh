@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+#
+# Bid throughput of auction-service before and after a logging change.
+#
+# Builds auction-service at BASELINE_REF (in a temporary git worktree) and
+# from the working tree, then runs BidBenchmark against each with the same
+# client count. The item, user and blockchain services are stubbed by the
+# benchmark; their hostnames resolve to localhost through a JDK hosts file.
+# Service output goes to a file in both runs, as it would under Docker.
+#
+# Usage: scripts/logging-compare.sh <baseline-ref> [clients] [seconds] [items]
+#   e.g. scripts/logging-compare.sh HEAD~1 64 30 5
+#
+# Needs git, mvn, java and curl.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BASELINE_REF="${1:?usage: $0 <baseline-ref> [clients] [seconds] [items]}"
+CLIENTS="${2:-32}"
+SECONDS_PER_RUN="${3:-30}"
+ITEMS="${4:-10}"
+PORT=8083
+
+WORK="$(mktemp -d)"
+cleanup() {
+    git -C "$ROOT" worktree remove --force "$WORK/baseline" 2>/dev/null || true
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+printf '127.0.0.1 localhost item-service user-service blockchain-service\n' > "$WORK/hosts"
+
+build() {
+    local tree="$1"
+    # Trees from before the shared module have no common to install
+    if [ -f "$tree/microservices/common/pom.xml" ]; then
+        mvn -q -B -f "$tree/microservices/common/pom.xml" -DskipTests install
+    fi
+    mvn -q -B -f "$tree/microservices/auction-service/pom.xml" -DskipTests clean package
+    ls "$tree"/microservices/auction-service/target/auction-service-*.jar | head -n 1
+}
+
+run() {
+    local label="$1" jar="$2"
+
+    rm -rf "$WORK/run" && mkdir -p "$WORK/run"
+    (cd "$WORK/run" && exec java "-Djdk.net.hosts.file=$WORK/hosts" \
+        "-Dspring.datasource.url=jdbc:h2:file:./data/auctiondb;AUTO_SERVER=TRUE" \
+        -jar "$jar" > "$WORK/run/out.log" 2>&1) &
+    local pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            cat "$WORK/run/out.log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+
+    echo
+    echo "== $label ($CLIENTS clients, ${SECONDS_PER_RUN}s, $ITEMS items)"
+    java "$ROOT/scripts/BidBenchmark.java" "http://localhost:$PORT" "$CLIENTS" "$SECONDS_PER_RUN" "$ITEMS"
+    echo "service log: $(wc -l < "$WORK/run/out.log") lines"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+git -C "$ROOT" worktree add --detach "$WORK/baseline" "$BASELINE_REF" > /dev/null
+BASELINE_JAR=$(build "$WORK/baseline")
+CURRENT_JAR=$(build "$ROOT")
+
+run "baseline ($BASELINE_REF)" "$BASELINE_JAR"
+run "current" "$CURRENT_JAR"
@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+#
+# Fills the five service databases of the PostgreSQL (prod profile) stack with
+# generated data at production-like volume.
+#
+# Builds microservices/seed-generator, generates CSV files into seed-data/
+# (reused if present; delete it to regenerate) and COPYs each service's
+# tables into its database, blockbid_<service> on DB_HOST:DB_PORT. The
+# schemas must already exist and be empty: start the stack once so Flyway
+# creates them, then stop the services (not postgres) before seeding, since
+# they rebuild their caches and counters from the database on startup:
+#   SPRING_PROFILES_ACTIVE=docker,prod docker-compose --profile prod up -d --build
+#   docker-compose stop user-service item-service auction-service payment-service blockchain-service
+#   scripts/seed.sh --users 1000000 --items 500000 --bids 20000000
+#   docker-compose start user-service item-service auction-service payment-service blockchain-service
+#
+# Options are passed to the generate command (see SeedGenerator). The
+# generated ledger segments are in seed-data/blockchain-service/ledger;
+# copy them into blockchain-service's blockchain.ledger.dir to match.
+# Every generated user's password is "seedpass1".
+#
+# Needs mvn and java.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+DATA="$ROOT/seed-data"
+DB_HOST="${DB_HOST:-localhost}"
+DB_PORT="${DB_PORT:-5432}"
+DB_USERNAME="${DB_USERNAME:-blockbid}"
+DB_PASSWORD="${DB_PASSWORD:-blockbid}"
+
+mvn -q -B -f "$ROOT/microservices/seed-generator/pom.xml" -DskipTests clean package
+JAR="$ROOT/microservices/seed-generator/target/seed-generator.jar"
+
+if [ ! -d "$DATA" ]; then
+    java -jar "$JAR" generate --out "$DATA" "$@"
+fi
+
+for service in user item auction payment blockchain; do
+    echo "== $service-service"
+    java -jar "$JAR" load --in "$DATA" --service "$service-service" \
+        --url "jdbc:postgresql://$DB_HOST:$DB_PORT/blockbid_$service" \
+        --user "$DB_USERNAME" --password "$DB_PASSWORD"
+done
@@ -0,0 +1,106 @@
+#!/usr/bin/env bash
+#
+# Startup time and RSS comparison for the six services.
+#
+# Each service is started RUNS times (default 5) in three modes:
+#   update   executable jar, Hibernate ddl-auto=update (the previous setup)
+#   migrate  executable jar, schema from the Flyway migrations (current default)
+#   cds      thin jar from the cds Maven profile with an AppCDS archive
+# and the time until /health answers plus the resident set size at that
+# point are recorded. Every run starts on an empty ./data directory.
+#
+# Usage: scripts/startup-compare.sh [runs] [service ...]
+#   e.g. scripts/startup-compare.sh 10 user-service auction-service
+#
+# Needs mvn, java (the JDK the services will run on) and curl.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${1:-5}"
+shift || true
+SERVICES=("$@")
+if [ ${#SERVICES[@]} -eq 0 ]; then
+    SERVICES=(api-gateway user-service item-service auction-service payment-service blockchain-service)
+fi
+
+WORK="$(mktemp -d)"
+RESULTS="$WORK/results.tsv"
+trap 'rm -rf "$WORK"' EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the service, waits for /health, prints "<ready ms> <rss MB>" and stops it
+measure() {
+    local port="$1" rundir="$2"
+    shift 2
+
+    rm -rf "$rundir" && mkdir -p "$rundir"
+    local start pid
+    start=$(now_ms)
+    (cd "$rundir" && exec java "$@" > "$rundir/out.log" 2>&1) &
+    pid=$!
+
+    until curl -sf -o /dev/null "http://localhost:$port/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "service exited during startup, see $rundir/out.log" >&2
+            cat "$rundir/out.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+
+    local ready rss_kb
+    ready=$(( $(now_ms) - start ))
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$ready $(( rss_kb / 1024 ))"
+}
+
+mvn -q -B -f "$ROOT/microservices/common/pom.xml" -DskipTests install
+
+for service in "${SERVICES[@]}"; do
+    dir="$ROOT/microservices/$service"
+    port=$(sed -n 's/^server\.port=//p' "$dir/src/main/resources/application.properties")
+
+    echo "== $service: building" >&2
+    mvn -q -B -f "$dir/pom.xml" -DskipTests -Pcds clean package
+    fat_jar=$(ls "$dir"/target/"$service"-*.jar | grep -v -- '-cds\.jar$' | head -n 1)
+    cds_jar=$(ls "$dir"/target/cds/*-cds.jar)
+
+    echo "== $service: CDS training run" >&2
+    archive="$WORK/$service.jsa"
+    rm -rf "$WORK/training" && mkdir -p "$WORK/training"
+    (cd "$WORK/training" && java -XX:ArchiveClassesAtExit="$archive" -Dapp.cds.training=true -jar "$cds_jar" \
+        > "$WORK/training/out.log" 2>&1)
+
+    for run in $(seq 1 "$RUNS"); do
+        echo "== $service: run $run/$RUNS" >&2
+        read -r ms mb < <(measure "$port" "$WORK/run" \
+            -Dspring.jpa.hibernate.ddl-auto=update -Dspring.flyway.enabled=false -jar "$fat_jar")
+        printf '%s\tupdate\t%s\t%s\n' "$service" "$ms" "$mb" >> "$RESULTS"
+
+        read -r ms mb < <(measure "$port" "$WORK/run" -jar "$fat_jar")
+        printf '%s\tmigrate\t%s\t%s\n' "$service" "$ms" "$mb" >> "$RESULTS"
+
+        read -r ms mb < <(measure "$port" "$WORK/run" -XX:SharedArchiveFile="$archive" -jar "$cds_jar")
+        printf '%s\tcds\t%s\t%s\n' "$service" "$ms" "$mb" >> "$RESULTS"
+    done
+done
+
+# Median ready time and RSS per service and mode
+echo
+printf '%-20s %-8s %12s %10s\n' service mode ready_ms rss_mb
+for service in "${SERVICES[@]}"; do
+    for mode in update migrate cds; do
+        ms=$(awk -F'\t' -v s="$service" -v m="$mode" '$1 == s && $2 == m {print $3}' "$RESULTS" | sort -n \
+            | awk '{v[NR] = $1} END {print v[int((NR + 1) / 2)]}')
+        mb=$(awk -F'\t' -v s="$service" -v m="$mode" '$1 == s && $2 == m {print $4}' "$RESULTS" | sort -n \
+            | awk '{v[NR] = $1} END {print v[int((NR + 1) / 2)]}')
+        printf '%-20s %-8s %12s %10s\n' "$service" "$mode" "$ms" "$mb"
+    done
+done
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Write throughput of blockchain-service before and after a change.
+#
+# Builds the service at BASELINE_REF (in a temporary git worktree) and from
+# the working tree, then runs the same write-heavy load against each: single
+# bids, then /transactions/batch with BATCH_SIZE bids per request. Both use
+# a file-backed H2 database (AUTO_SERVER), as the other services do.
+#
+# Usage: scripts/write-compare.sh <baseline-ref> [clients] [seconds] [batch-size]
+#   e.g. scripts/write-compare.sh HEAD~1 32 30 100
+#
+# Needs git, mvn, java and curl.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BASELINE_REF="${1:?usage: $0 <baseline-ref> [clients] [seconds] [batch-size]}"
+CLIENTS="${2:-32}"
+SECONDS_PER_RUN="${3:-30}"
+BATCH_SIZE="${4:-100}"
+PORT=8085
+
+WORK="$(mktemp -d)"
+cleanup() {
+    git -C "$ROOT" worktree remove --force "$WORK/baseline" 2>/dev/null || true
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+build() {
+    local tree="$1"
+    # Trees from before the shared module have no common to install
+    if [ -f "$tree/microservices/common/pom.xml" ]; then
+        mvn -q -B -f "$tree/microservices/common/pom.xml" -DskipTests install
+    fi
+    mvn -q -B -f "$tree/microservices/blockchain-service/pom.xml" -DskipTests clean package
+    ls "$tree"/microservices/blockchain-service/target/blockchain-service-*.jar | head -n 1
+}
+
+run() {
+    local label="$1" jar="$2"
+
+    for batch in 0 "$BATCH_SIZE"; do
+        rm -rf "$WORK/run" && mkdir -p "$WORK/run"
+        (cd "$WORK/run" && exec java "-Dspring.datasource.url=jdbc:h2:file:./data/blockchaindb;AUTO_SERVER=TRUE" \
+            -jar "$jar" > "$WORK/run/out.log" 2>&1) &
+        local pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/health"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                cat "$WORK/run/out.log" >&2
+                exit 1
+            fi
+            sleep 0.2
+        done
+
+        echo
+        echo "== $label, batch size $batch ($CLIENTS clients, ${SECONDS_PER_RUN}s)"
+        java "$ROOT/scripts/DatastoreBenchmark.java" "http://localhost:$PORT" "$CLIENTS" "$SECONDS_PER_RUN" 50 "$batch"
+
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+    done
+}
+
+git -C "$ROOT" worktree add --detach "$WORK/baseline" "$BASELINE_REF" > /dev/null
+BASELINE_JAR=$(build "$WORK/baseline")
+CURRENT_JAR=$(build "$ROOT")
+
+run "baseline ($BASELINE_REF)" "$BASELINE_JAR"
+run "current" "$CURRENT_JAR"